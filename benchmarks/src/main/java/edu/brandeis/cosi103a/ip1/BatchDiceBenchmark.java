@@ -0,0 +1,57 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Games per second of the batch simulator's vector and scalar kernels, next to
+ * the headless engine playing the same policies one game at a time.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class BatchDiceBenchmark {
+    private static final int GAMES = 65536;
+    
+    @Param({"vector", "scalar", "engine"})
+    public String kernel;
+    
+    private BatchDiceSimulator simulator;
+    private DiceGame game;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        OptimalRerollSolver solver = OptimalRerollSolver.standard();
+        int[] thresholds = solver.getKeepThresholds();
+        if (kernel.equals("engine")) {
+            game = new DiceGame(solver.getPolicy(), solver.getPolicy(), 42L);
+        } else {
+            simulator = new BatchDiceSimulator(DiceRules.STANDARD, thresholds, thresholds,
+                BatchDiceSimulator.DEFAULT_LANES, kernel.equals("vector"), 42L);
+            if (kernel.equals("vector") && !simulator.isVectorized()) {
+                throw new IllegalStateException("Vector API is not available in this JVM");
+            }
+        }
+    }
+    
+    /**
+     * Plays a block of games; the score is games per second.
+     */
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public long playGames() {
+        if (game == null) {
+            return simulator.run(GAMES).getPlayer1Wins();
+        }
+        long wins = 0;
+        for (int i = 0; i < GAMES; i++) {
+            if (game.play() == 0) {
+                wins++;
+            }
+        }
+        return wins;
+    }
+}
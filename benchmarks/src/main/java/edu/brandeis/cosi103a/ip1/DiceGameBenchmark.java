@@ -0,0 +1,30 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Throughput of the headless dice engine with no listener attached.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class DiceGameBenchmark {
+    private DiceGame game;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        game = new DiceGame(RerollPolicy.threshold(4), RerollPolicy.threshold(5), 42L);
+    }
+    
+    /**
+     * Plays one complete 10-turn game; the score is games per second.
+     */
+    @Benchmark
+    public int playGame() {
+        return game.play();
+    }
+}
@@ -0,0 +1,31 @@
+package edu.brandeis.cosi103a.ip2;
+
+/**
+ * Named buy strategies used as benchmark parameters.
+ */
+final class BenchmarkStrategies {
+    private static final BuyStrategy BIG_MONEY = new PriorityBuyStrategy(new CardType[] {
+        CardType.FRAMEWORK,
+        CardType.DOGECOIN,
+        CardType.ETHEREUM
+    });
+    
+    private BenchmarkStrategies() {
+    }
+    
+    /**
+     * Looks up a strategy by its benchmark parameter name.
+     * @param name "greedy" or "bigMoney"
+     * @return the strategy
+     */
+    static BuyStrategy byName(String name) {
+        switch (name) {
+            case "greedy":
+                return PriorityBuyStrategy.greedy();
+            case "bigMoney":
+                return BIG_MONEY;
+            default:
+                throw new IllegalArgumentException("Unknown strategy: " + name);
+        }
+    }
+}
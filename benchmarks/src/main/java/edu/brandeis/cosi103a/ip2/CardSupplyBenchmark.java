@@ -0,0 +1,42 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Cost of supply queries and purchases.
+ * The supply is replaced whenever the benchmarked pile empties, once every
+ * few dozen operations, so the refill cost is amortized into the score.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CardSupplyBenchmark {
+    private CardSupply supply;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        supply = new CardSupply();
+    }
+    
+    @Benchmark
+    public Card buyCard() {
+        if (!supply.isAvailable(CardType.BITCOIN)) {
+            supply = new CardSupply();
+        }
+        return supply.buyCard(CardType.BITCOIN);
+    }
+    
+    @Benchmark
+    public int availableMask() {
+        return supply.getAvailableMask();
+    }
+    
+    @Benchmark
+    public boolean isGameOver() {
+        return supply.isGameOver();
+    }
+}
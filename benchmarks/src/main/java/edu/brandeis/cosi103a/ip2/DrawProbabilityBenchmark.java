@@ -0,0 +1,45 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Cost of a next-hand coin distribution query, answered from the cache and
+ * computed from scratch.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class DrawProbabilityBenchmark {
+    private static final int[] DRAW = {5, 2, 1, 3, 1, 0};
+    private static final int[] DISCARD = {4, 1, 1, 1, 0, 1};
+    
+    private DrawProbability cached;
+    private DrawProbability uncached;
+    private int[] missDraw;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        cached = new DrawProbability();
+        cached.distribution(DRAW, DISCARD, 5);
+        uncached = new DrawProbability(1);
+        missDraw = DRAW.clone();
+    }
+    
+    @Benchmark
+    public CoinDistribution cacheHit() {
+        return cached.distribution(DRAW, DISCARD, 5);
+    }
+    
+    /**
+     * Alternates between two compositions in a one-entry cache, so every query computes.
+     */
+    @Benchmark
+    public CoinDistribution cacheMiss() {
+        missDraw[0] ^= 1;
+        return uncached.distribution(missDraw, DISCARD, 5);
+    }
+}
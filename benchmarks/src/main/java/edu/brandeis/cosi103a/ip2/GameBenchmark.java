@@ -0,0 +1,69 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Whole-game throughput and per-turn latency of the object engine.
+ * Seeds advance deterministically from a fixed start, so every fork of every
+ * run plays the same sequence of games and results are comparable across commits.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class GameBenchmark {
+    @Param({"greedy", "bigMoney"})
+    public String strategy;
+    
+    @Param({"2", "4", "6"})
+    public int players;
+    
+    private String[] names;
+    private BuyStrategy[] strategies;
+    private long seed;
+    private Game turnGame;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        names = Tournament.playerNames(players);
+        strategies = new BuyStrategy[players];
+        Arrays.fill(strategies, BenchmarkStrategies.byName(strategy));
+        seed = 0;
+        turnGame = newGame();
+        turnGame.initialize();
+    }
+    
+    private Game newGame() {
+        return new Game(names, strategies, seed++);
+    }
+    
+    /**
+     * Plays one complete game; the score is games per second.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public int playGame() {
+        Game game = newGame();
+        game.playGame();
+        return game.getTurnCount();
+    }
+    
+    /**
+     * Executes one turn, starting a new game whenever the current one ends.
+     * The sample distribution gives per-turn latency percentiles.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int executeTurn() {
+        if (!turnGame.isGameInProgress()) {
+            turnGame = newGame();
+            turnGame.initialize();
+        }
+        turnGame.executeTurn();
+        return turnGame.getTurnCount();
+    }
+}
@@ -0,0 +1,48 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Single-threaded games per second of the lockstep structure-of-arrays engine
+ * against the object engine, playing the same greedy games.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class LockstepBenchmark {
+    private static final int GAMES = 1024;
+    
+    @Param({"2", "4"})
+    public int players;
+    
+    private LockstepSimulator simulator;
+    private String[] names;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        simulator = new LockstepSimulator(42L, players, PriorityBuyStrategy.greedy(), GAMES);
+        names = Tournament.playerNames(players);
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public TournamentResult lockstep() {
+        return simulator.run(GAMES);
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public TournamentResult objects() {
+        TournamentResult result = new TournamentResult(players);
+        for (int i = 0; i < GAMES; i++) {
+            Game game = new Game(names, Tournament.gameSeed(42L, i));
+            game.playGame();
+            result.record(game);
+        }
+        return result;
+    }
+}
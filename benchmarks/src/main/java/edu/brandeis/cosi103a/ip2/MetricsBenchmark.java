@@ -0,0 +1,80 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import jdk.jfr.Recording;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Cost of game instrumentation: whole-game throughput with GameMetrics off,
+ * with counters on, with counters and latency histograms on, and with a Flight
+ * Recorder recording of the turn, buy, and reshuffle events running as well.
+ * "uninstrumented" plays games with instrumentation switched off per game,
+ * which skips even the volatile read of the global switch, so comparing it with
+ * "off" measures the disabled overhead within one build.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MetricsBenchmark {
+    @Param({"uninstrumented", "off", "counters", "timing", "recording"})
+    public String metrics;
+    
+    private String[] names;
+    private BuyStrategy[] strategies;
+    private long seed;
+    private boolean uninstrumented;
+    private Recording recording;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        names = Tournament.playerNames(2);
+        strategies = new BuyStrategy[2];
+        Arrays.fill(strategies, BenchmarkStrategies.byName("greedy"));
+        seed = 0;
+        uninstrumented = metrics.equals("uninstrumented");
+        GameMetrics.reset();
+        if (metrics.equals("off") || uninstrumented) {
+            GameMetrics.disable();
+        } else {
+            GameMetrics.enable();
+        }
+        if (metrics.equals("timing") || metrics.equals("recording")) {
+            GameMetrics.enableTiming();
+        } else {
+            GameMetrics.disableTiming();
+        }
+        if (metrics.equals("recording")) {
+            recording = new Recording();
+            recording.enable("edu.brandeis.cosi103a.ip2.Turn");
+            recording.enable("edu.brandeis.cosi103a.ip2.Buy");
+            recording.enable("edu.brandeis.cosi103a.ip2.Reshuffle");
+            recording.start();
+        }
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (recording != null) {
+            recording.close();
+        }
+        GameMetrics.disable();
+        GameMetrics.disableTiming();
+    }
+    
+    /**
+     * Plays one complete game; the score is games per second.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public int playGame() {
+        Game game = new Game(names, strategies, seed++);
+        if (uninstrumented) {
+            game.setInstrumented(false);
+        }
+        game.playGame();
+        return game.getTurnCount();
+    }
+}
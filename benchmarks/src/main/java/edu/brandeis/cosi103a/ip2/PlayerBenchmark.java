@@ -0,0 +1,57 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Hand cycling cost of Player on a mid-game sized deck.
+ * A steady-state cycle should report zero bytes allocated per operation under -prof gc.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PlayerBenchmark {
+    @Param({"10", "40"})
+    public int deckSize;
+    
+    private Player player;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        player = new Player("Benchmark", new SplittableRandom(42));
+        CardType[] mix = {
+            CardType.BITCOIN, CardType.ETHEREUM, CardType.METHOD,
+            CardType.BITCOIN, CardType.DOGECOIN, CardType.MODULE
+        };
+        for (int i = 0; i < deckSize; i++) {
+            player.addStartingCard(Card.of(mix[i % mix.length]));
+        }
+        player.shuffleDrawPile();
+    }
+    
+    /**
+     * Draws a hand and discards it, reshuffling whenever the draw pile runs out.
+     */
+    @Benchmark
+    public int drawCards() {
+        player.drawCards(5);
+        int size = player.getHandSize();
+        player.discardHand();
+        return size;
+    }
+    
+    /**
+     * Draws a hand, plays all cryptocurrency cards, and discards hand and played cards.
+     */
+    @Benchmark
+    public int playAllCryptocurrencyCards() {
+        player.drawCards(5);
+        int coins = player.playAllCryptocurrencyCards();
+        player.discardHand();
+        return coins;
+    }
+}
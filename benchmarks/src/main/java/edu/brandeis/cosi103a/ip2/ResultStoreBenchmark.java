@@ -0,0 +1,77 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Append and scan throughput of the memory-mapped result store.
+ * The scan store holds four million synthetic records (160 MB) written once per trial.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ResultStoreBenchmark {
+    private static final int RECORDS = 4_000_000;
+    private static final int[] STRATEGY_IDS = {0, 1};
+    
+    private Path scanPath;
+    private Path appendPath;
+    private ResultStore scanStore;
+    private ResultStore appendStore;
+    private int[] aps;
+    private long seed;
+    
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        scanPath = Files.createTempFile("scan", ".results");
+        appendPath = Files.createTempFile("append", ".results");
+        scanStore = ResultStore.create(scanPath);
+        for (int i = 0; i < RECORDS; i++) {
+            scanStore.append(i, STRATEGY_IDS, 30 + i % 40, new int[] {i % 50, i % 45}, i % 2);
+        }
+        scanStore.flush();
+        appendStore = ResultStore.create(appendPath);
+        aps = new int[] {40, 35};
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        scanStore.close();
+        appendStore.close();
+        Files.deleteIfExists(scanPath);
+        Files.deleteIfExists(appendPath);
+    }
+    
+    /**
+     * Appends one record; the score is records per second.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public long append() {
+        return appendStore.append(seed++, STRATEGY_IDS, 60, aps, 0);
+    }
+    
+    /**
+     * Sums the turn counts and seat 0 wins of every record on all cores.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long[] scan() {
+        return scanStore.scan(() -> new long[2], (acc, record) -> {
+            acc[0] += record.getTurnCount();
+            if (record.getWinner() == 0) {
+                acc[1]++;
+            }
+        }, (a, b) -> {
+            a[0] += b[0];
+            a[1] += b[1];
+            return a;
+        });
+    }
+}
@@ -0,0 +1,52 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Cost of capturing and restoring a mid-game state, as used by search-based bots.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SnapshotBenchmark {
+    @Param({"2", "4"})
+    public int players;
+    
+    private Game game;
+    private GameSnapshot snapshot;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        game = new Game(Tournament.playerNames(players), 42L);
+        game.initialize();
+        for (int i = 0; i < 30 * players; i++) {
+            game.executeTurn();
+        }
+        snapshot = game.snapshot();
+    }
+    
+    @Benchmark
+    public GameSnapshot snapshotInPlace() {
+        return game.snapshot(snapshot);
+    }
+    
+    @Benchmark
+    public GameSnapshot snapshotNew() {
+        return game.snapshot();
+    }
+    
+    @Benchmark
+    public int restoreInPlace() {
+        game.restore(snapshot);
+        return game.getTurnCount();
+    }
+    
+    @Benchmark
+    public Game copy() {
+        return game.copy(7L);
+    }
+}
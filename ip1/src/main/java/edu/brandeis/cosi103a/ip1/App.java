@@ -7,15 +7,19 @@ import java.util.Random;
  * Two-Player Dice Game
  * Players take turns rolling a 6-sided die, with up to 2 re-rolls per turn.
  * Each player gets 10 turns, and the player with the highest score wins.
+ * This class is the interactive console front end; the rules run in DiceGame.
+ * Run with --computer to play against an opponent that re-rolls optimally.
  */
 public class App 
 {
     public static final int NUM_TURNS = 10;
     public static final int MAX_REROLLS = 2;
     public static final int DIE_FACES = 6;
+    public static final String COMPUTER_NAME = "Computer";
     
     private static Scanner scanner = new Scanner(System.in);
     private static Random random = new Random();
+    private static RerollPolicy consolePolicy = new ConsoleRerollPolicy(scanner);
     
     public static void main( String[] args )
     {
@@ -24,6 +28,17 @@ public class App
         System.out.println("========================================");
         System.out.println();
         
+        if (args.length > 0 && args[0].equals("--computer")) {
+            System.out.print("Enter your name: ");
+            String playerName = scanner.nextLine().trim();
+            if (playerName.isEmpty()) playerName = "Player 1";
+            
+            System.out.println();
+            playGameAgainstComputer(playerName);
+            scanner.close();
+            return;
+        }
+        
         // Get player names
         System.out.print("Enter name for Player 1: ");
         String player1Name = scanner.nextLine().trim();
@@ -47,34 +62,26 @@ public class App
      * @param player2Name Name of player 2
      */
     public static void playGame(String player1Name, String player2Name) {
-        // Initialize scores
-        int player1Score = 0;
-        int player2Score = 0;
-        
-        // Play 10 turns for each player
-        for (int turn = 1; turn <= NUM_TURNS; turn++) {
-            System.out.println("========== TURN " + turn + " / " + NUM_TURNS + " ==========");
-            
-            // Player 1's turn
-            System.out.println();
-            System.out.println(player1Name + "'s turn:");
-            int player1TurnScore = playerTurn(player1Name);
-            player1Score += player1TurnScore;
-            System.out.println(player1Name + " scored: " + player1TurnScore);
-            System.out.println(player1Name + " total score: " + player1Score);
-            System.out.println();
-            
-            // Player 2's turn
-            System.out.println(player2Name + "'s turn:");
-            int player2TurnScore = playerTurn(player2Name);
-            player2Score += player2TurnScore;
-            System.out.println(player2Name + " scored: " + player2TurnScore);
-            System.out.println(player2Name + " total score: " + player2Score);
-            System.out.println();
-        }
+        DiceGame game = new DiceGame(consolePolicy, consolePolicy, random);
+        game.setListener(new ConsoleDiceRenderer(player1Name, player2Name, game.getRules().getTurns()));
+        game.play();
         
         // Display results
-        displayResults(player1Name, player1Score, player2Name, player2Score);
+        displayResults(player1Name, game.getScore(0), player2Name, game.getScore(1));
+    }
+    
+    /**
+     * Plays a complete game between a human and the computer
+     * The computer's re-roll decisions come from the optimal policy table
+     * @param playerName Name of the human player
+     */
+    public static void playGameAgainstComputer(String playerName) {
+        RerollPolicy computerPolicy = OptimalRerollSolver.standard().getPolicy();
+        DiceGame game = new DiceGame(consolePolicy, computerPolicy, random);
+        game.setListener(new ConsoleDiceRenderer(playerName, COMPUTER_NAME, game.getRules().getTurns()));
+        game.play();
+        
+        displayResults(playerName, game.getScore(0), COMPUTER_NAME, game.getScore(1));
     }
     
     /**
@@ -122,23 +129,9 @@ public class App
      * @return The final score for this turn
      */
     public static int playerTurn(String playerName) {
-        int currentValue = rollDie();
-        System.out.println("  Initial roll: " + currentValue);
-        
-        int rerollsUsed = 0;
-        
-        while (rerollsUsed < MAX_REROLLS) {
-            System.out.print("  Do you want to re-roll? (yes/no): ");
-            String response = scanner.nextLine().trim().toLowerCase();
-            
-            if (response.equals("yes") || response.equals("y")) {
-                currentValue = rollDie();
-                rerollsUsed++;
-                System.out.println("  Re-roll #" + rerollsUsed + ": " + currentValue);
-            } else {
-                break;
-            }
-        }
+        DiceGame game = new DiceGame(consolePolicy, consolePolicy, random);
+        game.setListener(new ConsoleDiceRenderer(playerName, playerName, game.getRules().getTurns()));
+        int currentValue = game.playTurn(0);
         
         System.out.println("  Turn ended. Final value: " + currentValue);
         return currentValue;
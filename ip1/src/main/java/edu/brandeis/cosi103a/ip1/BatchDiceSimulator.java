@@ -0,0 +1,147 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Simulates dice games in large batches between two threshold policies.
+ * <p>
+ * A threshold policy keeps a value once it reaches the threshold for the
+ * number of re-rolls already used, like the tables of OptimalRerollSolver.
+ * Games are played lane by lane from structure-of-arrays state, one game per
+ * lane and one batch of lanes at a time, instead of one DiceGame call per turn.
+ * <p>
+ * When the jdk.incubator.vector module is present (run with
+ * --add-modules jdk.incubator.vector), batches run on SIMD lanes; otherwise a
+ * scalar kernel plays them. Both kernels play exactly the same games for the
+ * same seed. Rolls come from per-lane 32-bit xorshift generators rather than
+ * the SplittableRandom of DiceGame, so individual games differ from the
+ * headless engine while their distribution does not.
+ */
+public class BatchDiceSimulator {
+    /** The default number of games played side by side. */
+    public static final int DEFAULT_LANES = 4096;
+    
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_KERNEL = "edu.brandeis.cosi103a.ip1.VectorDiceKernel";
+    private static final int MAX_FACES = 256;
+    
+    private final DiceRules rules;
+    private final int[] rng;
+    private final DiceBatchKernel kernel;
+    private final boolean vectorized;
+    
+    /**
+     * Creates a simulator with the default lane count that uses the Vector API when it can.
+     * @param rules the die faces, re-rolls, and turns
+     * @param player1Thresholds player 1's keep threshold per re-rolls used
+     * @param player2Thresholds player 2's keep threshold per re-rolls used
+     * @param seed the seed for every lane's generator
+     */
+    public BatchDiceSimulator(DiceRules rules, int[] player1Thresholds, int[] player2Thresholds, long seed) {
+        this(rules, player1Thresholds, player2Thresholds, DEFAULT_LANES, true, seed);
+    }
+    
+    /**
+     * Creates a simulator.
+     * @param rules the die faces, re-rolls, and turns
+     * @param player1Thresholds player 1's keep threshold per re-rolls used
+     * @param player2Thresholds player 2's keep threshold per re-rolls used
+     * @param lanes the number of games played side by side
+     * @param preferVector whether to use the Vector API if it is available
+     * @param seed the seed for every lane's generator
+     */
+    public BatchDiceSimulator(DiceRules rules, int[] player1Thresholds, int[] player2Thresholds,
+                              int lanes, boolean preferVector, long seed) {
+        if (rules.getFaces() > MAX_FACES) {
+            throw new IllegalArgumentException("Batch simulation supports at most " + MAX_FACES + " faces");
+        }
+        if (player1Thresholds.length != rules.getMaxRerolls() || player2Thresholds.length != rules.getMaxRerolls()) {
+            throw new IllegalArgumentException("Need one threshold per re-roll");
+        }
+        if (lanes < 1) {
+            throw new IllegalArgumentException("lanes must be at least 1");
+        }
+        this.rules = rules;
+        
+        // xorshift must never start from zero
+        SplittableRandom seeds = new SplittableRandom(seed);
+        this.rng = new int[lanes];
+        for (int lane = 0; lane < lanes; lane++) {
+            rng[lane] = seeds.nextInt() | 1;
+        }
+        
+        int[] thresholds1 = player1Thresholds.clone();
+        int[] thresholds2 = player2Thresholds.clone();
+        DiceBatchKernel vectorKernel = preferVector ? loadVectorKernel(rules, thresholds1, thresholds2) : null;
+        this.vectorized = vectorKernel != null;
+        this.kernel = vectorized ? vectorKernel : new ScalarDiceKernel(rules, thresholds1, thresholds2);
+    }
+    
+    /**
+     * Creates the same threshold for every re-roll.
+     * @param rules the rules giving the number of re-rolls
+     * @param keepAtLeast the smallest value to keep
+     * @return the thresholds
+     */
+    public static int[] thresholds(DiceRules rules, int keepAtLeast) {
+        int[] thresholds = new int[rules.getMaxRerolls()];
+        Arrays.fill(thresholds, keepAtLeast);
+        return thresholds;
+    }
+    
+    /**
+     * Checks whether the Vector API module is loaded in this JVM.
+     * @return true if batches can run on SIMD lanes
+     */
+    public static boolean isVectorApiAvailable() {
+        return ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent();
+    }
+    
+    /**
+     * Loads the vector kernel by name, so this class never links against the
+     * incubator module when it is absent.
+     */
+    private static DiceBatchKernel loadVectorKernel(DiceRules rules, int[] thresholds1, int[] thresholds2) {
+        if (!isVectorApiAvailable()) {
+            return null;
+        }
+        try {
+            return (DiceBatchKernel) Class.forName(VECTOR_KERNEL)
+                .getDeclaredConstructor(DiceRules.class, int[].class, int[].class)
+                .newInstance(rules, thresholds1, thresholds2);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Plays a number of games, continuing each lane's generator from the previous run.
+     * @param games the number of games to play
+     * @return the outcome counts
+     */
+    public DiceBatchResult run(long games) {
+        DiceBatchResult result = new DiceBatchResult();
+        for (long played = 0; played < games; played += rng.length) {
+            int lanes = (int) Math.min(rng.length, games - played);
+            kernel.play(rng, 0, lanes, result);
+        }
+        return result;
+    }
+    
+    /**
+     * Gets the rules being simulated.
+     * @return the rules
+     */
+    public DiceRules getRules() {
+        return rules;
+    }
+    
+    /**
+     * Checks whether this simulator runs on SIMD lanes.
+     * @return true if the Vector API kernel is in use
+     */
+    public boolean isVectorized() {
+        return vectorized;
+    }
+}
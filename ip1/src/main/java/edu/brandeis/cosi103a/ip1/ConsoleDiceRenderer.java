@@ -0,0 +1,48 @@
+package edu.brandeis.cosi103a.ip1;
+
+/**
+ * Prints a dice game to the console as it is played.
+ */
+public class ConsoleDiceRenderer implements DiceGameListener {
+    private final String[] names;
+    private final int turns;
+    
+    /**
+     * Creates a renderer for two named players.
+     * @param player1Name the name of player 1
+     * @param player2Name the name of player 2
+     * @param turns the number of turns the game is played for
+     */
+    public ConsoleDiceRenderer(String player1Name, String player2Name, int turns) {
+        this.names = new String[] {player1Name, player2Name};
+        this.turns = turns;
+    }
+    
+    @Override
+    public void onTurnStart(int turn) {
+        System.out.println("========== TURN " + turn + " / " + turns + " ==========");
+        System.out.println();
+    }
+    
+    @Override
+    public void onPlayerTurnStart(int player) {
+        System.out.println(names[player] + "'s turn:");
+    }
+    
+    @Override
+    public void onRoll(int player, int value, int rerollNumber) {
+        if (rerollNumber == 0) {
+            System.out.println("  Initial roll: " + value);
+        } else {
+            System.out.println("  Re-roll #" + rerollNumber + ": " + value);
+        }
+    }
+    
+    @Override
+    public void onPlayerTurnEnd(int player, int value, int totalScore) {
+        System.out.println("  Turn ended. Final value: " + value);
+        System.out.println(names[player] + " scored: " + value);
+        System.out.println(names[player] + " total score: " + totalScore);
+        System.out.println();
+    }
+}
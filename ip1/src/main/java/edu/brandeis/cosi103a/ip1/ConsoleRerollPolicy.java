@@ -0,0 +1,25 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.util.Scanner;
+
+/**
+ * Asks a human at the console whether to re-roll.
+ */
+public class ConsoleRerollPolicy implements RerollPolicy {
+    private final Scanner scanner;
+    
+    /**
+     * Creates a policy that reads answers from a scanner.
+     * @param scanner the console input
+     */
+    public ConsoleRerollPolicy(Scanner scanner) {
+        this.scanner = scanner;
+    }
+    
+    @Override
+    public boolean shouldReroll(int currentValue, int rerollsUsed) {
+        System.out.print("  Do you want to re-roll? (yes/no): ");
+        String response = scanner.nextLine().trim().toLowerCase();
+        return response.equals("yes") || response.equals("y");
+    }
+}
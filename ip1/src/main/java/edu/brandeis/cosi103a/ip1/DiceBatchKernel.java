@@ -0,0 +1,19 @@
+package edu.brandeis.cosi103a.ip1;
+
+/**
+ * Plays one batch of dice games, one game per lane.
+ * <p>
+ * Every lane owns a 32-bit xorshift state. A roll advances the state and maps
+ * its top 24 bits onto the die faces. Lanes only advance when they actually
+ * roll, so each lane plays the same game whichever kernel runs it.
+ */
+interface DiceBatchKernel {
+    /**
+     * Plays one complete game in each lane of a range and adds the outcomes to a result.
+     * @param rng the per-lane generator states, updated in place
+     * @param from the first lane
+     * @param to one past the last lane
+     * @param result the result to add outcomes to
+     */
+    void play(int[] rng, int from, int to, DiceBatchResult result);
+}
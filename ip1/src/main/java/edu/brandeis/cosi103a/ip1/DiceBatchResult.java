@@ -0,0 +1,82 @@
+package edu.brandeis.cosi103a.ip1;
+
+/**
+ * Outcome counts of a batch of simulated dice games.
+ */
+public class DiceBatchResult {
+    private long player1Wins;
+    private long ties;
+    private long player2Wins;
+    private long player1Total;
+    private long player2Total;
+    
+    /**
+     * Adds the outcomes of some games.
+     */
+    void add(long player1Wins, long ties, long player2Wins, long player1Total, long player2Total) {
+        this.player1Wins += player1Wins;
+        this.ties += ties;
+        this.player2Wins += player2Wins;
+        this.player1Total += player1Total;
+        this.player2Total += player2Total;
+    }
+    
+    /**
+     * Gets the number of games played.
+     * @return the game count
+     */
+    public long getGames() {
+        return player1Wins + ties + player2Wins;
+    }
+    
+    /**
+     * Gets the number of games player 1 won.
+     * @return the win count
+     */
+    public long getPlayer1Wins() {
+        return player1Wins;
+    }
+    
+    /**
+     * Gets the number of tied games.
+     * @return the tie count
+     */
+    public long getTies() {
+        return ties;
+    }
+    
+    /**
+     * Gets the number of games player 2 won.
+     * @return the win count
+     */
+    public long getPlayer2Wins() {
+        return player2Wins;
+    }
+    
+    /**
+     * Gets a player's mean final score.
+     * @param player the player index (0 or 1)
+     * @return the average score, or 0 if no games were played
+     */
+    public double getAverageScore(int player) {
+        long games = getGames();
+        if (games == 0) {
+            return 0;
+        }
+        return (double) (player == 0 ? player1Total : player2Total) / games;
+    }
+    
+    /**
+     * Gets the observed outcome frequencies.
+     * @return the frequencies as odds
+     */
+    public MatchupOdds toOdds() {
+        double games = Math.max(1, getGames());
+        return new MatchupOdds(player1Wins / games, ties / games, player2Wins / games);
+    }
+    
+    @Override
+    public String toString() {
+        return getGames() + " games: " + toOdds();
+    }
+}
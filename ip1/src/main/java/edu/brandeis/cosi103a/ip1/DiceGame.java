@@ -0,0 +1,165 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Headless engine for the two-player dice game.
+ * The number of die faces, re-rolls, and turns come from a DiceRules.
+ * Re-roll decisions come from a RerollPolicy per player, rendering is left to
+ * an optional DiceGameListener, and every roll comes from the game's own
+ * random source. An instance can play any number of games in a row.
+ */
+public class DiceGame {
+    private final DiceRules rules;
+    private final RerollPolicy[] policies;
+    private final RandomGenerator random;
+    private final int[] scores;
+    private DiceGameListener listener;
+    
+    /**
+     * Creates a game with the standard rules whose rolls derive from a seed.
+     * @param player1Policy the re-roll policy of player 1
+     * @param player2Policy the re-roll policy of player 2
+     * @param seed the seed for all rolls
+     */
+    public DiceGame(RerollPolicy player1Policy, RerollPolicy player2Policy, long seed) {
+        this(DiceRules.STANDARD, player1Policy, player2Policy, new SplittableRandom(seed));
+    }
+    
+    /**
+     * Creates a game with the standard rules that rolls with the given generator.
+     * @param player1Policy the re-roll policy of player 1
+     * @param player2Policy the re-roll policy of player 2
+     * @param random the source of all rolls
+     */
+    public DiceGame(RerollPolicy player1Policy, RerollPolicy player2Policy, RandomGenerator random) {
+        this(DiceRules.STANDARD, player1Policy, player2Policy, random);
+    }
+    
+    /**
+     * Creates a game with custom rules whose rolls derive from a seed.
+     * @param rules the die faces, re-rolls, and turns to play with
+     * @param player1Policy the re-roll policy of player 1
+     * @param player2Policy the re-roll policy of player 2
+     * @param seed the seed for all rolls
+     */
+    public DiceGame(DiceRules rules, RerollPolicy player1Policy, RerollPolicy player2Policy, long seed) {
+        this(rules, player1Policy, player2Policy, new SplittableRandom(seed));
+    }
+    
+    /**
+     * Creates a game with custom rules that rolls with the given generator.
+     * @param rules the die faces, re-rolls, and turns to play with
+     * @param player1Policy the re-roll policy of player 1
+     * @param player2Policy the re-roll policy of player 2
+     * @param random the source of all rolls
+     */
+    public DiceGame(DiceRules rules, RerollPolicy player1Policy, RerollPolicy player2Policy,
+                    RandomGenerator random) {
+        this.rules = rules;
+        this.policies = new RerollPolicy[] {player1Policy, player2Policy};
+        this.random = random;
+        this.scores = new int[2];
+    }
+    
+    /**
+     * Attaches a listener that observes the game.
+     * @param listener the listener, or null for none
+     */
+    public void setListener(DiceGameListener listener) {
+        this.listener = listener;
+    }
+    
+    /**
+     * Plays a complete game, resetting both scores first.
+     * @return the winner index (0 or 1), or -1 for a tie
+     */
+    public int play() {
+        scores[0] = 0;
+        scores[1] = 0;
+        
+        for (int turn = 1; turn <= rules.getTurns(); turn++) {
+            if (listener != null) {
+                listener.onTurnStart(turn);
+            }
+            for (int player = 0; player < 2; player++) {
+                if (listener != null) {
+                    listener.onPlayerTurnStart(player);
+                }
+                int value = playTurn(player);
+                scores[player] += value;
+                if (listener != null) {
+                    listener.onPlayerTurnEnd(player, value, scores[player]);
+                }
+            }
+        }
+        
+        if (listener != null) {
+            listener.onGameEnd(scores[0], scores[1]);
+        }
+        return getWinnerIndex();
+    }
+    
+    /**
+     * Rolls for one player: an initial roll plus up to the allowed re-rolls
+     * while the player's policy asks for them. Scores are not updated.
+     * @param player the player index (0 or 1)
+     * @return the value kept for this turn
+     */
+    public int playTurn(int player) {
+        RerollPolicy policy = policies[player];
+        int currentValue = rollDie();
+        if (listener != null) {
+            listener.onRoll(player, currentValue, 0);
+        }
+        
+        int rerollsUsed = 0;
+        while (rerollsUsed < rules.getMaxRerolls() && policy.shouldReroll(currentValue, rerollsUsed)) {
+            currentValue = rollDie();
+            rerollsUsed++;
+            if (listener != null) {
+                listener.onRoll(player, currentValue, rerollsUsed);
+            }
+        }
+        return currentValue;
+    }
+    
+    /**
+     * Rolls the die once.
+     * @return a value between 1 and the number of faces
+     */
+    public int rollDie() {
+        return random.nextInt(rules.getFaces()) + 1;
+    }
+    
+    /**
+     * Gets the rules this game is played by.
+     * @return the rules
+     */
+    public DiceRules getRules() {
+        return rules;
+    }
+    
+    /**
+     * Gets a player's score in the current or most recent game.
+     * @param player the player index (0 or 1)
+     * @return the score
+     */
+    public int getScore(int player) {
+        return scores[player];
+    }
+    
+    /**
+     * Determines the winner from the current scores.
+     * @return the winner index (0 or 1), or -1 for a tie
+     */
+    public int getWinnerIndex() {
+        if (scores[0] > scores[1]) {
+            return 0;
+        } else if (scores[1] > scores[0]) {
+            return 1;
+        }
+        return -1;
+    }
+}
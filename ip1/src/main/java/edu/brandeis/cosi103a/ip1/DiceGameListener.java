@@ -0,0 +1,47 @@
+package edu.brandeis.cosi103a.ip1;
+
+/**
+ * Observes a dice game as it is played, for example to render it.
+ * Every method has an empty default, so headless runs attach no listener at all.
+ */
+public interface DiceGameListener {
+    /**
+     * Called when a new turn (one roll sequence for each player) begins.
+     * @param turn the turn number, starting at 1
+     */
+    default void onTurnStart(int turn) {
+    }
+    
+    /**
+     * Called when a player starts rolling.
+     * @param player the player index (0 or 1)
+     */
+    default void onPlayerTurnStart(int player) {
+    }
+    
+    /**
+     * Called after every roll of the die.
+     * @param player the player index (0 or 1)
+     * @param value the rolled value
+     * @param rerollNumber 0 for the initial roll, otherwise the re-roll number
+     */
+    default void onRoll(int player, int value, int rerollNumber) {
+    }
+    
+    /**
+     * Called when a player keeps a value.
+     * @param player the player index (0 or 1)
+     * @param value the value scored this turn
+     * @param totalScore the player's total after this turn
+     */
+    default void onPlayerTurnEnd(int player, int value, int totalScore) {
+    }
+    
+    /**
+     * Called once all turns have been played.
+     * @param player1Score the final score of player 1
+     * @param player2Score the final score of player 2
+     */
+    default void onGameEnd(int player1Score, int player2Score) {
+    }
+}
@@ -0,0 +1,78 @@
+package edu.brandeis.cosi103a.ip1;
+
+/**
+ * The settings of a dice game: die faces, re-rolls per turn, and turns per game.
+ * Instances are immutable and compare by value, so they can key caches.
+ */
+public final class DiceRules {
+    /** The rules the console game is played by. */
+    public static final DiceRules STANDARD = new DiceRules(App.DIE_FACES, App.MAX_REROLLS, App.NUM_TURNS);
+    
+    private final int faces;
+    private final int maxRerolls;
+    private final int turns;
+    
+    /**
+     * Creates a set of rules.
+     * @param faces the number of faces on the die, at least 1
+     * @param maxRerolls the number of re-rolls allowed per turn, at least 0
+     * @param turns the number of turns per player, at least 1
+     */
+    public DiceRules(int faces, int maxRerolls, int turns) {
+        if (faces < 1) {
+            throw new IllegalArgumentException("faces must be at least 1");
+        }
+        if (maxRerolls < 0) {
+            throw new IllegalArgumentException("maxRerolls must not be negative");
+        }
+        if (turns < 1) {
+            throw new IllegalArgumentException("turns must be at least 1");
+        }
+        this.faces = faces;
+        this.maxRerolls = maxRerolls;
+        this.turns = turns;
+    }
+    
+    /**
+     * Gets the number of faces on the die.
+     * @return the face count
+     */
+    public int getFaces() {
+        return faces;
+    }
+    
+    /**
+     * Gets the number of re-rolls allowed per turn.
+     * @return the re-roll limit
+     */
+    public int getMaxRerolls() {
+        return maxRerolls;
+    }
+    
+    /**
+     * Gets the number of turns each player takes.
+     * @return the turn count
+     */
+    public int getTurns() {
+        return turns;
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof DiceRules)) {
+            return false;
+        }
+        DiceRules other = (DiceRules) obj;
+        return faces == other.faces && maxRerolls == other.maxRerolls && turns == other.turns;
+    }
+    
+    @Override
+    public int hashCode() {
+        return (faces * 31 + maxRerolls) * 31 + turns;
+    }
+    
+    @Override
+    public String toString() {
+        return faces + " faces, " + maxRerolls + " re-rolls, " + turns + " turns";
+    }
+}
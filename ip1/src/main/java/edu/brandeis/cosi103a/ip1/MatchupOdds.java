@@ -0,0 +1,52 @@
+package edu.brandeis.cosi103a.ip1;
+
+/**
+ * The chances of each outcome of a game, seen from player 1's side.
+ */
+public final class MatchupOdds {
+    private final double player1Win;
+    private final double tie;
+    private final double player2Win;
+    
+    /**
+     * Creates the odds of a game.
+     * @param player1Win the probability that player 1 scores more
+     * @param tie the probability of equal scores
+     * @param player2Win the probability that player 2 scores more
+     */
+    public MatchupOdds(double player1Win, double tie, double player2Win) {
+        this.player1Win = player1Win;
+        this.tie = tie;
+        this.player2Win = player2Win;
+    }
+    
+    /**
+     * Gets the probability that player 1 wins.
+     * @return the probability
+     */
+    public double getPlayer1Win() {
+        return player1Win;
+    }
+    
+    /**
+     * Gets the probability of a tie.
+     * @return the probability
+     */
+    public double getTie() {
+        return tie;
+    }
+    
+    /**
+     * Gets the probability that player 2 wins.
+     * @return the probability
+     */
+    public double getPlayer2Win() {
+        return player2Win;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("player 1 %.4f%%, tie %.4f%%, player 2 %.4f%%",
+            100 * player1Win, 100 * tie, 100 * player2Win);
+    }
+}
@@ -0,0 +1,126 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Computes the re-roll policy that maximizes a player's expected score.
+ * <p>
+ * With r re-rolls left, a player showing value v should re-roll exactly when
+ * v is less than E(r-1), the expected value of a turn with one fewer re-roll.
+ * E(0) is the mean face and E(r) = (1/faces) * sum over v of max(v, E(r-1)).
+ * Turns are independent and scores add up, so the same per-turn decision is
+ * optimal on every turn and the expected game score is turns * E(maxRerolls).
+ * <p>
+ * The solution is stored as one keep threshold per re-roll already used, so a
+ * decision is a single array lookup. Solvers are memoized per DiceRules.
+ */
+public final class OptimalRerollSolver {
+    private static final Map<DiceRules, OptimalRerollSolver> CACHE = new ConcurrentHashMap<>();
+    
+    private final DiceRules rules;
+    private final double[] expectedByRerollsLeft;
+    private final int[] keepThresholds;
+    private final RerollPolicy policy;
+    
+    private OptimalRerollSolver(DiceRules rules) {
+        this.rules = rules;
+        int faces = rules.getFaces();
+        int maxRerolls = rules.getMaxRerolls();
+        
+        expectedByRerollsLeft = new double[maxRerolls + 1];
+        expectedByRerollsLeft[0] = (faces + 1) / 2.0;
+        for (int left = 1; left <= maxRerolls; left++) {
+            double previous = expectedByRerollsLeft[left - 1];
+            double sum = 0;
+            for (int value = 1; value <= faces; value++) {
+                sum += Math.max(value, previous);
+            }
+            expectedByRerollsLeft[left] = sum / faces;
+        }
+        
+        // Keep any value at least as large as what re-rolling is expected to give
+        keepThresholds = new int[maxRerolls];
+        for (int used = 0; used < maxRerolls; used++) {
+            keepThresholds[used] = (int) Math.ceil(expectedByRerollsLeft[maxRerolls - used - 1]);
+        }
+        
+        int[] thresholds = keepThresholds;
+        policy = (currentValue, rerollsUsed) -> currentValue < thresholds[rerollsUsed];
+    }
+    
+    /**
+     * Gets the solver for a set of rules, solving them on first use.
+     * @param rules the game settings
+     * @return the shared solver
+     */
+    public static OptimalRerollSolver forRules(DiceRules rules) {
+        return CACHE.computeIfAbsent(rules, OptimalRerollSolver::new);
+    }
+    
+    /**
+     * Gets the solver for the standard console rules.
+     * @return the shared solver
+     */
+    public static OptimalRerollSolver standard() {
+        return forRules(DiceRules.STANDARD);
+    }
+    
+    /**
+     * Gets the rules this solver was computed for.
+     * @return the rules
+     */
+    public DiceRules getRules() {
+        return rules;
+    }
+    
+    /**
+     * Gets the optimal policy as a table lookup.
+     * @return the policy
+     */
+    public RerollPolicy getPolicy() {
+        return policy;
+    }
+    
+    /**
+     * Gets the smallest value the optimal policy keeps after a number of re-rolls.
+     * @param rerollsUsed the re-rolls already taken this turn, below the limit
+     * @return the keep threshold
+     */
+    public int getKeepThreshold(int rerollsUsed) {
+        return keepThresholds[rerollsUsed];
+    }
+    
+    /**
+     * Gets the keep thresholds for every number of re-rolls used, in order.
+     * @return a copy of the threshold table
+     */
+    public int[] getKeepThresholds() {
+        return keepThresholds.clone();
+    }
+    
+    /**
+     * Gets the expected value of a turn played optimally with some re-rolls left.
+     * @param rerollsLeft the re-rolls still available, at most the limit
+     * @return the expected kept value
+     */
+    public double getExpectedTurnValue(int rerollsLeft) {
+        return expectedByRerollsLeft[rerollsLeft];
+    }
+    
+    /**
+     * Gets the expected value of a whole turn played optimally.
+     * @return the expected kept value
+     */
+    public double getExpectedTurnValue() {
+        return expectedByRerollsLeft[rules.getMaxRerolls()];
+    }
+    
+    /**
+     * Gets the expected final score of a game played optimally.
+     * @return the expected score
+     */
+    public double getExpectedGameScore() {
+        return rules.getTurns() * getExpectedTurnValue();
+    }
+}
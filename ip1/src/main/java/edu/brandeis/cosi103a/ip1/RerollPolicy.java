@@ -0,0 +1,33 @@
+package edu.brandeis.cosi103a.ip1;
+
+/**
+ * Decides whether a player re-rolls the die during their turn.
+ * Policies are consulted after every roll while re-rolls remain.
+ */
+@FunctionalInterface
+public interface RerollPolicy {
+    /**
+     * Decides whether to re-roll.
+     * @param currentValue the value currently showing on the die
+     * @param rerollsUsed the number of re-rolls already taken this turn
+     * @return true to re-roll, false to keep the current value
+     */
+    boolean shouldReroll(int currentValue, int rerollsUsed);
+    
+    /**
+     * Creates a policy that re-rolls any value below a threshold.
+     * @param keepAtLeast the smallest value the policy keeps
+     * @return the threshold policy
+     */
+    static RerollPolicy threshold(int keepAtLeast) {
+        return (currentValue, rerollsUsed) -> currentValue < keepAtLeast;
+    }
+    
+    /**
+     * Creates a policy that always keeps the first roll.
+     * @return the policy
+     */
+    static RerollPolicy never() {
+        return (currentValue, rerollsUsed) -> false;
+    }
+}
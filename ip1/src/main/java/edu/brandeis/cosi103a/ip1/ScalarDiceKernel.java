@@ -0,0 +1,77 @@
+package edu.brandeis.cosi103a.ip1;
+
+/**
+ * Plays a batch of dice games lane by lane with plain integer code.
+ * This is the reference kernel and the fallback when the Vector API is missing.
+ */
+final class ScalarDiceKernel implements DiceBatchKernel {
+    private final int faces;
+    private final int turns;
+    private final int[] player1Thresholds;
+    private final int[] player2Thresholds;
+    
+    ScalarDiceKernel(DiceRules rules, int[] player1Thresholds, int[] player2Thresholds) {
+        this.faces = rules.getFaces();
+        this.turns = rules.getTurns();
+        this.player1Thresholds = player1Thresholds;
+        this.player2Thresholds = player2Thresholds;
+    }
+    
+    @Override
+    public void play(int[] rng, int from, int to, DiceBatchResult result) {
+        long player1Wins = 0;
+        long ties = 0;
+        long player2Wins = 0;
+        long player1Total = 0;
+        long player2Total = 0;
+        
+        for (int lane = from; lane < to; lane++) {
+            int state = rng[lane];
+            int score1 = 0;
+            int score2 = 0;
+            for (int turn = 0; turn < turns; turn++) {
+                state = next(state);
+                int value = roll(state);
+                for (int used = 0; used < player1Thresholds.length && value < player1Thresholds[used]; used++) {
+                    state = next(state);
+                    value = roll(state);
+                }
+                score1 += value;
+                
+                state = next(state);
+                value = roll(state);
+                for (int used = 0; used < player2Thresholds.length && value < player2Thresholds[used]; used++) {
+                    state = next(state);
+                    value = roll(state);
+                }
+                score2 += value;
+            }
+            rng[lane] = state;
+            
+            if (score1 > score2) {
+                player1Wins++;
+            } else if (score2 > score1) {
+                player2Wins++;
+            } else {
+                ties++;
+            }
+            player1Total += score1;
+            player2Total += score2;
+        }
+        result.add(player1Wins, ties, player2Wins, player1Total, player2Total);
+    }
+    
+    /**
+     * Advances a 32-bit xorshift generator.
+     */
+    static int next(int x) {
+        x ^= x << 13;
+        x ^= x >>> 17;
+        x ^= x << 5;
+        return x;
+    }
+    
+    private int roll(int state) {
+        return ((state >>> 8) * faces >>> 24) + 1;
+    }
+}
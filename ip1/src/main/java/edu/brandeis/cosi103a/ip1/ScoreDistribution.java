@@ -0,0 +1,300 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The exact probability distribution of a player's total score under a re-roll policy.
+ * <p>
+ * The distribution of one turn is computed by following every re-roll the policy
+ * would take. A game of n turns is the n-fold convolution of that distribution.
+ * Convolutions are built by repeated doubling and cached per policy, and
+ * finished game totals are cached per turn count. Sweeping many turn counts or
+ * opponents therefore reuses the same partial results.
+ * <p>
+ * Policies are identified by their decision on every (value, re-rolls used)
+ * pair, so two policy objects that always decide the same share one cache entry.
+ * The cache keeps the {@value #MAX_POLICIES} most recently used policies.
+ * Policies must be deterministic.
+ */
+public final class ScoreDistribution {
+    static final int MAX_POLICIES = 64;
+    private static final Map<PolicyKey, Convolutions> CACHE =
+        new LinkedHashMap<PolicyKey, Convolutions>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<PolicyKey, Convolutions> eldest) {
+                return size() > MAX_POLICIES;
+            }
+        };
+    
+    private final int minScore;
+    private final double[] probabilities;
+    private volatile double[] cumulative;
+    
+    private ScoreDistribution(int minScore, double[] probabilities) {
+        this.minScore = minScore;
+        this.probabilities = probabilities;
+    }
+    
+    /**
+     * Gets the distribution of the value kept in a single turn.
+     * @param rules the die faces and re-rolls per turn
+     * @param policy the re-roll policy
+     * @return the per-turn distribution
+     */
+    public static ScoreDistribution ofTurn(DiceRules rules, RerollPolicy policy) {
+        return convolutions(rules, policy).power(0);
+    }
+    
+    /**
+     * Gets the distribution of a player's final score over all turns of a game.
+     * @param rules the die faces, re-rolls, and turns
+     * @param policy the re-roll policy
+     * @return the final score distribution
+     */
+    public static ScoreDistribution ofGame(DiceRules rules, RerollPolicy policy) {
+        return convolutions(rules, policy).total(rules.getTurns());
+    }
+    
+    /**
+     * Computes the exact odds of a game between two policies.
+     * @param rules the die faces, re-rolls, and turns
+     * @param player1Policy the re-roll policy of player 1
+     * @param player2Policy the re-roll policy of player 2
+     * @return the chances of each outcome
+     */
+    public static MatchupOdds matchup(DiceRules rules, RerollPolicy player1Policy,
+                                      RerollPolicy player2Policy) {
+        return ofGame(rules, player1Policy).against(ofGame(rules, player2Policy));
+    }
+    
+    private static Convolutions convolutions(DiceRules rules, RerollPolicy policy) {
+        PolicyKey key = new PolicyKey(rules, policy);
+        synchronized (CACHE) {
+            return CACHE.computeIfAbsent(key, Convolutions::new);
+        }
+    }
+    
+    /**
+     * Gets the number of policies currently cached.
+     * @return the cache size
+     */
+    static int cachedPolicies() {
+        synchronized (CACHE) {
+            return CACHE.size();
+        }
+    }
+    
+    /**
+     * Computes the odds of this score beating an independent opponent's score,
+     * with ties decided as App.determineWinner does.
+     * @param opponent the opponent's score distribution
+     * @return the chances of each outcome, from this player's side
+     */
+    public MatchupOdds against(ScoreDistribution opponent) {
+        double[] below = opponent.cumulative();
+        double win = 0;
+        double tie = 0;
+        for (int score = getMinScore(); score <= getMaxScore(); score++) {
+            double p = getProbability(score);
+            if (p == 0) {
+                continue;
+            }
+            int index = score - 1 - opponent.minScore;
+            if (index >= 0) {
+                win += p * below[Math.min(index, below.length - 1)];
+            }
+            tie += p * opponent.getProbability(score);
+        }
+        return new MatchupOdds(win, tie, Math.max(0, 1 - win - tie));
+    }
+    
+    /**
+     * Gets the probability of one exact score.
+     * @param score the score
+     * @return the probability, 0 outside the possible range
+     */
+    public double getProbability(int score) {
+        int index = score - minScore;
+        return index >= 0 && index < probabilities.length ? probabilities[index] : 0;
+    }
+    
+    /**
+     * Gets the probability of scoring at most a value.
+     * @param score the score
+     * @return the cumulative probability
+     */
+    public double getCumulativeProbability(int score) {
+        int index = score - minScore;
+        if (index < 0) {
+            return 0;
+        }
+        double[] prefix = cumulative();
+        return prefix[Math.min(index, prefix.length - 1)];
+    }
+    
+    /**
+     * Gets the running totals of the probabilities, computing them on first use.
+     * Racing threads compute identical arrays, so either may win.
+     */
+    private double[] cumulative() {
+        double[] prefix = cumulative;
+        if (prefix == null) {
+            prefix = new double[probabilities.length];
+            double total = 0;
+            for (int i = 0; i < probabilities.length; i++) {
+                total += probabilities[i];
+                prefix[i] = total;
+            }
+            cumulative = prefix;
+        }
+        return prefix;
+    }
+    
+    /**
+     * Gets the smallest possible score.
+     * @return the minimum score
+     */
+    public int getMinScore() {
+        return minScore;
+    }
+    
+    /**
+     * Gets the largest possible score.
+     * @return the maximum score
+     */
+    public int getMaxScore() {
+        return minScore + probabilities.length - 1;
+    }
+    
+    /**
+     * Gets the expected score.
+     * @return the mean
+     */
+    public double getMean() {
+        double mean = 0;
+        for (int i = 0; i < probabilities.length; i++) {
+            mean += (minScore + i) * probabilities[i];
+        }
+        return mean;
+    }
+    
+    /**
+     * Convolves two distributions: the distribution of the sum of independent scores.
+     */
+    private ScoreDistribution plus(ScoreDistribution other) {
+        double[] sum = new double[probabilities.length + other.probabilities.length - 1];
+        for (int i = 0; i < probabilities.length; i++) {
+            if (probabilities[i] == 0) {
+                continue;
+            }
+            for (int j = 0; j < other.probabilities.length; j++) {
+                sum[i + j] += probabilities[i] * other.probabilities[j];
+            }
+        }
+        return new ScoreDistribution(minScore + other.minScore, sum);
+    }
+    
+    /**
+     * Follows every roll the policy would make in one turn.
+     */
+    private static ScoreDistribution turnDistribution(int faces, int maxRerolls, BitSet rerolls) {
+        // kept[used] is the distribution of the final value once used re-rolls have been taken
+        double[] kept = new double[faces];
+        for (int used = maxRerolls; used >= 0; used--) {
+            double[] next = new double[faces];
+            for (int value = 1; value <= faces; value++) {
+                if (used < maxRerolls && rerolls.get(used * faces + value - 1)) {
+                    for (int i = 0; i < faces; i++) {
+                        next[i] += kept[i] / faces;
+                    }
+                } else {
+                    next[value - 1] += 1.0 / faces;
+                }
+            }
+            kept = next;
+        }
+        return new ScoreDistribution(1, kept);
+    }
+    
+    /**
+     * Identifies a policy by its full decision table under some faces and re-rolls.
+     */
+    private static final class PolicyKey {
+        final int faces;
+        final int maxRerolls;
+        final BitSet rerolls;
+        
+        PolicyKey(DiceRules rules, RerollPolicy policy) {
+            this.faces = rules.getFaces();
+            this.maxRerolls = rules.getMaxRerolls();
+            this.rerolls = new BitSet(faces * maxRerolls);
+            for (int used = 0; used < maxRerolls; used++) {
+                for (int value = 1; value <= faces; value++) {
+                    if (policy.shouldReroll(value, used)) {
+                        rerolls.set(used * faces + value - 1);
+                    }
+                }
+            }
+        }
+        
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof PolicyKey)) {
+                return false;
+            }
+            PolicyKey other = (PolicyKey) obj;
+            return faces == other.faces && maxRerolls == other.maxRerolls
+                && rerolls.equals(other.rerolls);
+        }
+        
+        @Override
+        public int hashCode() {
+            return (faces * 31 + maxRerolls) * 31 + rerolls.hashCode();
+        }
+    }
+    
+    /**
+     * The cached convolutions of one policy: powers of two and finished totals.
+     */
+    private static final class Convolutions {
+        private final List<ScoreDistribution> powers = new ArrayList<>();
+        private final Map<Integer, ScoreDistribution> totals = new ConcurrentHashMap<>();
+        
+        Convolutions(PolicyKey key) {
+            powers.add(turnDistribution(key.faces, key.maxRerolls, key.rerolls));
+        }
+        
+        /**
+         * Gets the distribution of 2^k turns, doubling the largest cached power as needed.
+         */
+        synchronized ScoreDistribution power(int k) {
+            while (powers.size() <= k) {
+                ScoreDistribution last = powers.get(powers.size() - 1);
+                powers.add(last.plus(last));
+            }
+            return powers.get(k);
+        }
+        
+        /**
+         * Gets the distribution of a number of turns from its binary decomposition.
+         */
+        ScoreDistribution total(int turns) {
+            return totals.computeIfAbsent(turns, this::compose);
+        }
+        
+        private ScoreDistribution compose(int turns) {
+            ScoreDistribution result = null;
+            for (int k = 0; (turns >> k) != 0; k++) {
+                if ((turns >> k & 1) != 0) {
+                    result = result == null ? power(k) : result.plus(power(k));
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package edu.brandeis.cosi103a.ip1;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Plays a batch of dice games with one game per SIMD lane.
+ * <p>
+ * A whole game stays in registers: the generator states and both scores of
+ * the lanes are vectors, and a re-roll blends fresh rolls into exactly the
+ * lanes still rolling: a lane stops for the rest of the turn once it keeps a
+ * value, just as DiceGame stops consulting the policy. Lanes left over after the last
+ * full vector are handed to the scalar kernel, which produces the same games.
+ * <p>
+ * Only BatchDiceSimulator loads this class, and only when the
+ * jdk.incubator.vector module is present.
+ */
+final class VectorDiceKernel implements DiceBatchKernel {
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    
+    private final int faces;
+    private final int turns;
+    private final int[] player1Thresholds;
+    private final int[] player2Thresholds;
+    private final ScalarDiceKernel tail;
+    
+    VectorDiceKernel(DiceRules rules, int[] player1Thresholds, int[] player2Thresholds) {
+        this.faces = rules.getFaces();
+        this.turns = rules.getTurns();
+        this.player1Thresholds = player1Thresholds;
+        this.player2Thresholds = player2Thresholds;
+        this.tail = new ScalarDiceKernel(rules, player1Thresholds, player2Thresholds);
+    }
+    
+    @Override
+    public void play(int[] rng, int from, int to, DiceBatchResult result) {
+        long player1Wins = 0;
+        long ties = 0;
+        long player2Wins = 0;
+        long player1Total = 0;
+        long player2Total = 0;
+        
+        int bound = from + SPECIES.loopBound(to - from);
+        for (int lane = from; lane < bound; lane += SPECIES.length()) {
+            IntVector state = IntVector.fromArray(SPECIES, rng, lane);
+            IntVector score1 = IntVector.zero(SPECIES);
+            IntVector score2 = IntVector.zero(SPECIES);
+            for (int turn = 0; turn < turns; turn++) {
+                state = next(state);
+                IntVector value = roll(state);
+                VectorMask<Integer> rolling = SPECIES.maskAll(true);
+                for (int used = 0; used < player1Thresholds.length; used++) {
+                    rolling = rolling.and(value.lt(player1Thresholds[used]));
+                    if (!rolling.anyTrue()) {
+                        break;
+                    }
+                    state = state.blend(next(state), rolling);
+                    value = value.blend(roll(state), rolling);
+                }
+                score1 = score1.add(value);
+                
+                state = next(state);
+                value = roll(state);
+                rolling = SPECIES.maskAll(true);
+                for (int used = 0; used < player2Thresholds.length; used++) {
+                    rolling = rolling.and(value.lt(player2Thresholds[used]));
+                    if (!rolling.anyTrue()) {
+                        break;
+                    }
+                    state = state.blend(next(state), rolling);
+                    value = value.blend(roll(state), rolling);
+                }
+                score2 = score2.add(value);
+            }
+            state.intoArray(rng, lane);
+            
+            player1Wins += score1.compare(VectorOperators.GT, score2).trueCount();
+            player2Wins += score2.compare(VectorOperators.GT, score1).trueCount();
+            ties += score1.compare(VectorOperators.EQ, score2).trueCount();
+            player1Total += score1.reduceLanes(VectorOperators.ADD);
+            player2Total += score2.reduceLanes(VectorOperators.ADD);
+        }
+        result.add(player1Wins, ties, player2Wins, player1Total, player2Total);
+        
+        if (bound < to) {
+            tail.play(rng, bound, to, result);
+        }
+    }
+    
+    private static IntVector next(IntVector x) {
+        x = x.lanewise(VectorOperators.XOR, x.lanewise(VectorOperators.LSHL, 13));
+        x = x.lanewise(VectorOperators.XOR, x.lanewise(VectorOperators.LSHR, 17));
+        return x.lanewise(VectorOperators.XOR, x.lanewise(VectorOperators.LSHL, 5));
+    }
+    
+    private IntVector roll(IntVector state) {
+        return state.lanewise(VectorOperators.LSHR, 8).mul(faces).lanewise(VectorOperators.LSHR, 24).add(1);
+    }
+}
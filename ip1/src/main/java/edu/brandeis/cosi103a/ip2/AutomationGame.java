@@ -1,15 +1,29 @@
 package edu.brandeis.cosi103a.ip2;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
 /**
  * Main entry point for Automation: The Game.
  * Runs the game simulation with two automated players.
+ * Pass a game count (and optionally a seed, player count, and card set file)
+ * as arguments to run a parallel tournament instead.
  */
 public class AutomationGame {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
         System.out.println("========================================");
         System.out.println("  Welcome to Automation: The Game!");
         System.out.println("========================================\n");
         
+        if (args.length > 0) {
+            long seed = args.length > 1 ? Long.parseLong(args[1]) : System.nanoTime();
+            int players = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+            CardSet cardSet = args.length > 3 ? CardSet.load(Paths.get(args[3])) : CardSet.STANDARD;
+            runTournament(Long.parseLong(args[0]), seed, players, cardSet);
+            return;
+        }
+        
         // Create and run a game
         Game game = new Game("Alice", "Bob");
         
@@ -19,4 +33,29 @@ public class AutomationGame {
         // Display results
         System.out.println(game.getGameSummary());
     }
+    
+    /**
+     * Plays many games across all cores and prints the aggregated statistics.
+     * @param games the number of games to play
+     * @param seed the tournament seed
+     * @param players the number of players per game
+     * @param cardSet the card set to play with
+     */
+    private static void runTournament(long games, long seed, int players, CardSet cardSet) {
+        String[] names = Tournament.playerNames(players);
+        BuyStrategy[] strategies = new BuyStrategy[players];
+        Arrays.fill(strategies, PriorityBuyStrategy.greedy());
+        Tournament tournament = new Tournament(seed, players,
+            gameSeed -> new Game(names, strategies, cardSet, gameSeed),
+            Runtime.getRuntime().availableProcessors());
+        System.out.printf("Running %d %d-player games with the %s card set on %d threads (seed %d)...%n%n",
+            games, players, cardSet.getName(), tournament.getThreads(), seed);
+        
+        long start = System.nanoTime();
+        TournamentResult result = tournament.run(games);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        
+        System.out.println(result.getSummary());
+        System.out.printf("Elapsed: %.2f s (%.0f games/s)%n", seconds, games / seconds);
+    }
 }
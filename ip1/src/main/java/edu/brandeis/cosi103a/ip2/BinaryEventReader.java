@@ -0,0 +1,93 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Decodes a stream written by BinaryEventWriter and replays it into a listener.
+ * The file is read in fixed-size batches, so logs of any length can be replayed.
+ */
+public class BinaryEventReader {
+    private static final int BUFFER_SIZE = 1 << 16;
+    
+    private BinaryEventReader() {
+    }
+    
+    /**
+     * Replays every record in a file.
+     * @param path the event log to read
+     * @param listener receives the decoded events
+     * @return the number of records replayed
+     * @throws IOException if the file cannot be read
+     */
+    public static long replay(Path path, GameEventListener listener) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return replay(channel, listener);
+        }
+    }
+    
+    /**
+     * Replays every record read from a channel until end of stream.
+     * An EXTENSION record supplies the high bits of the next record's payload.
+     * A trailing partial record is ignored.
+     * @param channel the channel to read
+     * @param listener receives the decoded events
+     * @return the number of records read, including EXTENSION records
+     * @throws IOException if the channel cannot be read
+     */
+    public static long replay(ReadableByteChannel channel, GameEventListener listener) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        long records = 0;
+        int high = 0;
+        while (channel.read(buffer) >= 0) {
+            buffer.flip();
+            while (buffer.remaining() >= BinaryEventWriter.RECORD_SIZE) {
+                byte type = buffer.get();
+                int seat = buffer.get() & 0xFF;
+                int payload = buffer.getShort() & 0xFFFF;
+                if (type == BinaryEventWriter.EXTENSION) {
+                    high = payload << 16;
+                } else {
+                    dispatch(type, seat, high | payload, listener);
+                    high = 0;
+                }
+                records++;
+            }
+            buffer.compact();
+        }
+        return records;
+    }
+    
+    /**
+     * Sends one decoded record to the listener.
+     */
+    private static void dispatch(byte type, int seat, int payload, GameEventListener listener) {
+        switch (type) {
+            case BinaryEventWriter.TURN_START:
+                listener.onTurnStart(payload, seat);
+                break;
+            case BinaryEventWriter.DRAW:
+                listener.onDraw(seat, CardType.fromOrdinal(payload));
+                break;
+            case BinaryEventWriter.PLAY:
+                listener.onPlay(seat, CardType.fromOrdinal(payload));
+                break;
+            case BinaryEventWriter.BUY:
+                listener.onBuy(seat, CardType.fromOrdinal(payload & 0xFF), payload >>> 8);
+                break;
+            case BinaryEventWriter.RESHUFFLE:
+                listener.onReshuffle(seat, payload);
+                break;
+            case BinaryEventWriter.GAME_END:
+                listener.onGameEnd(payload, seat == BinaryEventWriter.NO_SEAT ? -1 : seat);
+                break;
+            default:
+                throw new IllegalStateException("Unknown event type: " + type);
+        }
+    }
+}
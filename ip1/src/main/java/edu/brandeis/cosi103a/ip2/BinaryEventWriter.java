@@ -0,0 +1,187 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Encodes game events into fixed-width 4-byte records and writes them to a
+ * FileChannel in large batches.
+ * <p>
+ * Record layout (little-endian): one byte event type, one byte seat, and an
+ * unsigned 16-bit payload:
+ * <ul>
+ * <li>{@link #TURN_START}: payload is the turn number</li>
+ * <li>{@link #DRAW}, {@link #PLAY}: payload is the CardType ordinal</li>
+ * <li>{@link #BUY}: low byte is the CardType ordinal, high byte the available coins</li>
+ * <li>{@link #RESHUFFLE}: payload is the number of cards reshuffled</li>
+ * <li>{@link #GAME_END}: seat is the winner (0xFF for a tie), payload is the turn count</li>
+ * <li>{@link #EXTENSION}: payload is the high 16 bits of the next record's payload</li>
+ * </ul>
+ * A payload above 65535, such as the turn number of a very long game, is written
+ * as an EXTENSION record followed by the event record carrying the low 16 bits,
+ * so ordinary games keep one record per event. Coins above 255 and negative
+ * values are rejected with an IllegalArgumentException rather than stored truncated.
+ * Records from many games may be appended to one file; each game ends with a
+ * GAME_END record. Instances are not thread-safe; use one writer per game thread.
+ */
+public class BinaryEventWriter implements GameEventListener, Closeable {
+    public static final byte TURN_START = 1;
+    public static final byte DRAW = 2;
+    public static final byte PLAY = 3;
+    public static final byte BUY = 4;
+    public static final byte RESHUFFLE = 5;
+    public static final byte GAME_END = 6;
+    public static final byte EXTENSION = 7;
+    
+    /**
+     * The size of one encoded event in bytes.
+     */
+    public static final int RECORD_SIZE = 4;
+    
+    /**
+     * The seat value written for a game that ended in a tie.
+     */
+    public static final int NO_SEAT = 0xFF;
+    
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+    
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private long recordsWritten;
+    
+    /**
+     * Creates a writer that batches records through a 64 KiB buffer.
+     * @param channel the channel to write to; it is closed with this writer
+     */
+    public BinaryEventWriter(FileChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+    
+    /**
+     * Creates a writer with a custom batch size.
+     * @param channel the channel to write to; it is closed with this writer
+     * @param bufferSize the batch size in bytes (at least one record)
+     */
+    public BinaryEventWriter(FileChannel channel, int bufferSize) {
+        if (bufferSize < RECORD_SIZE) {
+            throw new IllegalArgumentException("bufferSize must hold at least one record");
+        }
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize - bufferSize % RECORD_SIZE)
+            .order(ByteOrder.LITTLE_ENDIAN);
+    }
+    
+    /**
+     * Opens a file for writing, creating or truncating it.
+     * @param path the file to write
+     * @return a writer that owns the file's channel
+     * @throws IOException if the file cannot be opened
+     */
+    public static BinaryEventWriter open(Path path) throws IOException {
+        return new BinaryEventWriter(FileChannel.open(path,
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE));
+    }
+    
+    @Override
+    public void onTurnStart(int turn, int seat) {
+        write(TURN_START, seat, turn);
+    }
+    
+    @Override
+    public void onDraw(int seat, CardType card) {
+        write(DRAW, seat, card.ordinal());
+    }
+    
+    @Override
+    public void onPlay(int seat, CardType card) {
+        write(PLAY, seat, card.ordinal());
+    }
+    
+    @Override
+    public void onBuy(int seat, CardType card, int coins) {
+        if (coins < 0 || coins > 0xFF) {
+            throw new IllegalArgumentException("A BUY record holds 0 to 255 coins, got " + coins);
+        }
+        write(BUY, seat, card.ordinal() | coins << 8);
+    }
+    
+    @Override
+    public void onReshuffle(int seat, int cardCount) {
+        write(RESHUFFLE, seat, cardCount);
+    }
+    
+    @Override
+    public void onGameEnd(int turns, int winnerSeat) {
+        write(GAME_END, winnerSeat < 0 ? NO_SEAT : winnerSeat, turns);
+    }
+    
+    /**
+     * Appends one event, preceded by an EXTENSION record if its payload needs more than 16 bits.
+     */
+    private void write(byte type, int seat, int payload) {
+        if (payload < 0) {
+            throw new IllegalArgumentException("Payload must not be negative: " + payload);
+        }
+        if (payload > 0xFFFF) {
+            put(EXTENSION, 0, payload >>> 16);
+        }
+        put(type, seat, payload & 0xFFFF);
+    }
+    
+    /**
+     * Appends one record, flushing the batch first if it is full.
+     */
+    private void put(byte type, int seat, int payload) {
+        if (buffer.remaining() < RECORD_SIZE) {
+            flush();
+        }
+        buffer.put(type);
+        buffer.put((byte) seat);
+        buffer.putShort((short) payload);
+        recordsWritten++;
+    }
+    
+    /**
+     * Writes all buffered records to the channel.
+     */
+    public void flush() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write game events", e);
+        } finally {
+            buffer.clear();
+        }
+    }
+    
+    /**
+     * Gets the number of records encoded so far, including any still buffered.
+     * EXTENSION records are counted, so this times RECORD_SIZE is the bytes written.
+     * @return the record count
+     */
+    public long getRecordsWritten() {
+        return recordsWritten;
+    }
+    
+    /**
+     * Flushes buffered records and closes the channel.
+     * @throws IOException if the channel cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
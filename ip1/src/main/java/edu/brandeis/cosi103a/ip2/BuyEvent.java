@@ -0,0 +1,22 @@
+package edu.brandeis.cosi103a.ip2;
+
+import jdk.jfr.*;
+
+/**
+ * Flight Recorder event for one purchase.
+ */
+@Name("edu.brandeis.cosi103a.ip2.Buy")
+@Label("Buy")
+@Category("Automation")
+@StackTrace(false)
+@Description("A card bought from the supply")
+final class BuyEvent extends Event {
+    @Label("Seat")
+    int seat;
+    
+    @Label("Card")
+    String card;
+    
+    @Label("Coins")
+    int coins;
+}
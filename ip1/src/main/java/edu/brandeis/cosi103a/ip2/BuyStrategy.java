@@ -0,0 +1,19 @@
+package edu.brandeis.cosi103a.ip2;
+
+/**
+ * Decides which card a player buys during the Buy Phase.
+ * Game asks the current player's strategy once per turn, after all of the
+ * player's cryptocurrency cards have been played.
+ */
+public interface BuyStrategy {
+    /**
+     * Chooses the card to buy this turn.
+     * Implementations should only return types that are available and affordable;
+     * Game ignores any other choice.
+     * @param game the game being played
+     * @param player the player whose turn it is
+     * @param availableCoins the coins produced by the played cryptocurrency cards
+     * @return the CardType to buy, or null to buy nothing
+     */
+    CardType chooseCardToBuy(Game game, Player player, int availableCoins);
+}
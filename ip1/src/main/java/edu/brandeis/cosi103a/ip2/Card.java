@@ -3,18 +3,40 @@ package edu.brandeis.cosi103a.ip2;
 /**
  * Represents a single card in Automation: The Game.
  * Cards have a type that defines their cost, value, and whether they're cryptocurrency or automation cards.
+ * Cards are immutable and defined entirely by their type, so the engine hands out
+ * one shared instance per type from {@link #of(CardType)} instead of allocating.
+ * The cost and value reported here are the standard ones; games played with a
+ * custom CardSet read them from the set instead.
  */
 public class Card {
+    private static final Card[] CANONICAL = new Card[CardType.values().length];
+    
+    static {
+        for (CardType type : CardType.values()) {
+            CANONICAL[type.ordinal()] = new Card(type);
+        }
+    }
+    
     private final CardType type;
     
     /**
      * Creates a new card of the specified type.
+     * Prefer {@link #of(CardType)}, which returns the shared instance.
      * @param type the CardType of this card
      */
     public Card(CardType type) {
         this.type = type;
     }
     
+    /**
+     * Gets the shared card instance for a type.
+     * @param type the CardType
+     * @return the canonical card of that type
+     */
+    public static Card of(CardType type) {
+        return CANONICAL[type.ordinal()];
+    }
+    
     /**
      * Gets the card's type.
      * @return the CardType
@@ -0,0 +1,253 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * A compact, ordered pile of cards stored as CardType ordinals.
+ * Cards live in a power-of-two byte ring buffer, so drawing from the front and
+ * adding to the back never allocate once the pile has reached its working size.
+ * The pile also keeps a running count per card type, updated by every operation,
+ * so composition queries never scan the cards.
+ * <p>
+ * A pile copied with {@link #CardPile(CardPile)} shares both arrays with its
+ * source until either one changes; the first write clones them (copy on write).
+ */
+class CardPile {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int TYPE_COUNT = CardType.values().length;
+    
+    private byte[] cards;
+    private int head;
+    private int size;
+    private int[] counts;
+    private boolean shared;
+    
+    /**
+     * Creates an empty pile.
+     */
+    CardPile() {
+        this.cards = new byte[INITIAL_CAPACITY];
+        this.counts = new int[TYPE_COUNT];
+    }
+    
+    /**
+     * Creates a pile with the same cards as another, sharing its arrays until
+     * either pile is modified.
+     * @param source the pile to copy
+     */
+    CardPile(CardPile source) {
+        this.cards = source.cards;
+        this.counts = source.counts;
+        this.head = source.head;
+        this.size = source.size;
+        this.shared = true;
+        source.shared = true;
+    }
+    
+    /**
+     * Takes private copies of the arrays before the first write to a shared pile.
+     */
+    private void unshare() {
+        cards = cards.clone();
+        counts = counts.clone();
+        shared = false;
+    }
+    
+    /**
+     * Gets the number of cards in the pile.
+     * @return the pile size
+     */
+    int size() {
+        return size;
+    }
+    
+    /**
+     * Checks if the pile has no cards.
+     * @return true if the pile is empty
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+    
+    /**
+     * Gets the number of cards of one type in the pile.
+     * @param ordinal the CardType ordinal
+     * @return the count
+     */
+    int count(int ordinal) {
+        return counts[ordinal];
+    }
+    
+    /**
+     * Gets the card ordinal at a position, counted from the front of the pile.
+     * @param index the position in the pile
+     * @return the CardType ordinal
+     */
+    int get(int index) {
+        return cards[(head + index) & (cards.length - 1)];
+    }
+    
+    /**
+     * Replaces the card ordinal at a position, counted from the front of the pile.
+     * @param index the position in the pile
+     * @param ordinal the CardType ordinal
+     */
+    void set(int index, int ordinal) {
+        if (shared) {
+            unshare();
+        }
+        int slot = (head + index) & (cards.length - 1);
+        counts[cards[slot]]--;
+        counts[ordinal]++;
+        cards[slot] = (byte) ordinal;
+    }
+    
+    /**
+     * Adds a card to the back of the pile.
+     * @param ordinal the CardType ordinal
+     */
+    void addLast(int ordinal) {
+        if (shared) {
+            unshare();
+        }
+        if (size == cards.length) {
+            grow(size + 1);
+        }
+        cards[(head + size) & (cards.length - 1)] = (byte) ordinal;
+        size++;
+        counts[ordinal]++;
+    }
+    
+    /**
+     * Removes and returns the card at the front of the pile.
+     * The pile must not be empty.
+     * @return the CardType ordinal
+     */
+    int removeFirst() {
+        if (shared) {
+            unshare();
+        }
+        int ordinal = cards[head];
+        head = (head + 1) & (cards.length - 1);
+        size--;
+        counts[ordinal]--;
+        return ordinal;
+    }
+    
+    /**
+     * Moves every card of this pile, in order, to the back of another pile.
+     * @param target the pile to receive the cards
+     */
+    void moveAllTo(CardPile target) {
+        if (target.shared) {
+            target.unshare();
+        }
+        if (target.size + size > target.cards.length) {
+            target.grow(target.size + size);
+        }
+        for (int i = 0; i < size; i++) {
+            target.cards[(target.head + target.size + i) & (target.cards.length - 1)] = (byte) get(i);
+        }
+        target.size += size;
+        for (int type = 0; type < TYPE_COUNT; type++) {
+            target.counts[type] += counts[type];
+        }
+        clear();
+    }
+    
+    /**
+     * Keeps only the first cards of the pile.
+     * @param newSize the number of cards to keep
+     */
+    void truncate(int newSize) {
+        if (shared) {
+            unshare();
+        }
+        for (int i = newSize; i < size; i++) {
+            counts[get(i)]--;
+        }
+        size = newSize;
+    }
+    
+    /**
+     * Removes all cards from the pile.
+     */
+    void clear() {
+        if (shared) {
+            unshare();
+        }
+        head = 0;
+        size = 0;
+        Arrays.fill(counts, 0);
+    }
+    
+    /**
+     * Copies the cards, front first, into an array.
+     * @param dest the array to copy into
+     * @param offset the first index to write
+     * @return the number of cards copied
+     */
+    int copyTo(byte[] dest, int offset) {
+        int firstRun = Math.min(size, cards.length - head);
+        System.arraycopy(cards, head, dest, offset, firstRun);
+        System.arraycopy(cards, 0, dest, offset + firstRun, size - firstRun);
+        return size;
+    }
+    
+    /**
+     * Replaces the contents of the pile with cards copied from an array.
+     * @param src the array to copy from
+     * @param offset the first index to read
+     * @param length the number of cards to copy
+     */
+    void copyFrom(byte[] src, int offset, int length) {
+        if (shared) {
+            unshare();
+        }
+        head = 0;
+        size = 0;
+        if (length > cards.length) {
+            grow(length);
+        }
+        System.arraycopy(src, offset, cards, 0, length);
+        size = length;
+        Arrays.fill(counts, 0);
+        for (int i = 0; i < length; i++) {
+            counts[cards[i]]++;
+        }
+    }
+    
+    /**
+     * Shuffles the pile in place with the Fisher-Yates algorithm.
+     * Consumes the generator exactly like Collections.shuffle does for a list of the same size.
+     * @param random the generator to draw swap positions from
+     */
+    void shuffle(RandomGenerator random) {
+        if (shared) {
+            unshare();
+        }
+        int mask = cards.length - 1;
+        for (int i = size; i > 1; i--) {
+            int a = (head + i - 1) & mask;
+            int b = (head + random.nextInt(i)) & mask;
+            byte tmp = cards[a];
+            cards[a] = cards[b];
+            cards[b] = tmp;
+        }
+    }
+    
+    /**
+     * Grows the buffer to the next power of two that holds at least the given number of cards.
+     * @param minCapacity the number of cards the pile must hold
+     */
+    private void grow(int minCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(minCapacity, INITIAL_CAPACITY) - 1) << 1;
+        byte[] grown = new byte[capacity];
+        for (int i = 0; i < size; i++) {
+            grown[i] = (byte) get(i);
+        }
+        cards = grown;
+        head = 0;
+    }
+}
@@ -0,0 +1,342 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * The numbers behind each kind of card: cost, value, supply, whether it is
+ * cryptocurrency, display name, and how many a starting deck holds.
+ * <p>
+ * The six kinds stay the CardType constants, and their enum values form the
+ * {@link #STANDARD} set. Other sets are loaded from properties files, with keys
+ * such as {@code FRAMEWORK.cost=7}, {@code MODULE.value=4}, {@code BITCOIN.supply=80},
+ * {@code ETHEREUM.name=Ether}, and {@code start.BITCOIN=6}. Keys that are left out
+ * keep their standard values; {@code name} labels the set.
+ * <p>
+ * Loading compiles a set into flat primitive arrays indexed by CardType ordinal,
+ * which Game, CardSupply, and Player read directly. A set is a few small arrays,
+ * so many variants can be loaded side by side in one JVM.
+ */
+public final class CardSet {
+    private static final int TYPE_COUNT = CardType.values().length;
+    
+    /** The original Automation rules, as defined by the CardType constants. */
+    public static final CardSet STANDARD = standard();
+    
+    private final String name;
+    private final int[] cost;
+    private final int[] coinValue;
+    private final int[] apValue;
+    private final int[] supply;
+    private final boolean[] cryptocurrency;
+    private final int[] startingCount;
+    private final String[] displayName;
+    private final int hash;
+    
+    private CardSet(String name, int[] cost, int[] value, int[] supply, boolean[] cryptocurrency,
+                    int[] startingCount, String[] displayName) {
+        this.name = name;
+        this.cost = cost;
+        this.coinValue = new int[TYPE_COUNT];
+        this.apValue = new int[TYPE_COUNT];
+        for (int ordinal = 0; ordinal < TYPE_COUNT; ordinal++) {
+            if (cryptocurrency[ordinal]) {
+                coinValue[ordinal] = value[ordinal];
+            } else {
+                apValue[ordinal] = value[ordinal];
+            }
+        }
+        this.supply = supply;
+        this.cryptocurrency = cryptocurrency;
+        this.startingCount = startingCount;
+        this.displayName = displayName;
+        this.hash = Objects.hash(name, Arrays.hashCode(cost), Arrays.hashCode(coinValue),
+                Arrays.hashCode(apValue), Arrays.hashCode(supply), Arrays.hashCode(cryptocurrency),
+                Arrays.hashCode(startingCount), Arrays.hashCode(displayName));
+    }
+    
+    private static CardSet standard() {
+        return fromProperties(new Properties());
+    }
+    
+    /**
+     * Loads a card set from a properties file.
+     * @param path the file to read
+     * @return the compiled card set
+     * @throws IOException if the file cannot be read
+     */
+    public static CardSet load(Path path) throws IOException {
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            Properties properties = new Properties();
+            properties.load(reader);
+            return fromProperties(properties);
+        }
+    }
+    
+    /**
+     * Loads a card set bundled on the classpath, such as "cardsets/short-game.properties".
+     * @param resource the resource name
+     * @return the compiled card set
+     * @throws IOException if the resource is missing or cannot be read
+     */
+    public static CardSet loadResource(String resource) throws IOException {
+        InputStream in = CardSet.class.getClassLoader().getResourceAsStream(resource);
+        if (in == null) {
+            throw new FileNotFoundException("No card set resource " + resource);
+        }
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            Properties properties = new Properties();
+            properties.load(reader);
+            return fromProperties(properties);
+        }
+    }
+    
+    /**
+     * Compiles a card set from properties, keeping standard values for missing keys.
+     * @param properties the card set definition
+     * @return the compiled card set
+     * @throws IllegalArgumentException if a key or value is invalid, or the set
+     *         describes a game that could never end
+     */
+    public static CardSet fromProperties(Properties properties) {
+        int[] cost = new int[TYPE_COUNT];
+        int[] value = new int[TYPE_COUNT];
+        int[] supply = new int[TYPE_COUNT];
+        boolean[] cryptocurrency = new boolean[TYPE_COUNT];
+        int[] startingCount = new int[TYPE_COUNT];
+        String[] displayName = new String[TYPE_COUNT];
+        startingCount[CardType.BITCOIN.ordinal()] = 7;
+        startingCount[CardType.METHOD.ordinal()] = 3;
+        
+        Set<String> known = new HashSet<>(Collections.singleton("name"));
+        for (CardType type : CardType.values()) {
+            int ordinal = type.ordinal();
+            String prefix = type.name() + ".";
+            cost[ordinal] = intProperty(properties, prefix + "cost", type.getCost());
+            value[ordinal] = intProperty(properties, prefix + "value", type.getValue());
+            supply[ordinal] = intProperty(properties, prefix + "supply", type.getSupplyCount());
+            cryptocurrency[ordinal] = booleanProperty(properties, prefix + "cryptocurrency", type.isCryptocurrency());
+            displayName[ordinal] = properties.getProperty(prefix + "name", type.getDisplayName());
+            startingCount[ordinal] = intProperty(properties, "start." + type.name(), startingCount[ordinal]);
+            known.addAll(Arrays.asList(prefix + "cost", prefix + "value", prefix + "supply",
+                prefix + "cryptocurrency", prefix + "name", "start." + type.name()));
+        }
+        for (String key : properties.stringPropertyNames()) {
+            if (!known.contains(key)) {
+                throw new IllegalArgumentException("Unknown card set key: " + key);
+            }
+        }
+        if (supply[CardType.FRAMEWORK.ordinal()] == 0) {
+            throw new IllegalArgumentException("The Framework supply ends the game and must not be empty");
+        }
+        for (CardType type : CardType.values()) {
+            int ordinal = type.ordinal();
+            for (int players = Game.MIN_PLAYERS; players <= Game.MAX_PLAYERS; players++) {
+                int scaledSupply = (supply[ordinal] * players + 1) / 2;
+                int needed = startingCount[ordinal] * players;
+                // Dealing the last Framework would end the game before the first turn
+                if (needed > scaledSupply || (type == CardType.FRAMEWORK && needed > 0 && needed >= scaledSupply)) {
+                    throw new IllegalArgumentException(String.format(
+                        "The %s supply of %d cannot deal %d starting cards to each of %d players",
+                        type.name(), scaledSupply, startingCount[ordinal], players));
+                }
+            }
+        }
+        if (maxReachableCoins(cost, value, supply, cryptocurrency, startingCount)
+                < cost[CardType.FRAMEWORK.ordinal()]) {
+            throw new IllegalArgumentException("No deck can ever afford a Framework, so the game would never end");
+        }
+        return new CardSet(properties.getProperty("name", "Standard"),
+            cost, value, supply, cryptocurrency, startingCount, displayName);
+    }
+    
+    /**
+     * Bounds the coins a single hand can ever hold: a full hand of the most valuable
+     * cryptocurrency that is in the starting deck or can be bought with such a hand.
+     */
+    private static int maxReachableCoins(int[] cost, int[] value, int[] supply, boolean[] cryptocurrency,
+                                         int[] startingCount) {
+        boolean[] reachable = new boolean[TYPE_COUNT];
+        for (int ordinal = 0; ordinal < TYPE_COUNT; ordinal++) {
+            reachable[ordinal] = startingCount[ordinal] > 0;
+        }
+        int maxCoins = -1;
+        boolean grew = true;
+        while (grew) {
+            int bestValue = 0;
+            for (int ordinal = 0; ordinal < TYPE_COUNT; ordinal++) {
+                if (reachable[ordinal] && cryptocurrency[ordinal]) {
+                    bestValue = Math.max(bestValue, value[ordinal]);
+                }
+            }
+            maxCoins = bestValue * Game.STARTING_HAND_SIZE;
+            grew = false;
+            for (int ordinal = 0; ordinal < TYPE_COUNT; ordinal++) {
+                if (!reachable[ordinal] && supply[ordinal] > 0 && cost[ordinal] <= maxCoins) {
+                    reachable[ordinal] = true;
+                    grew = true;
+                }
+            }
+        }
+        return maxCoins;
+    }
+    
+    private static boolean booleanProperty(Properties properties, String key, boolean defaultValue) {
+        String text = properties.getProperty(key);
+        if (text == null) {
+            return defaultValue;
+        }
+        if (text.trim().equalsIgnoreCase("true")) {
+            return true;
+        }
+        if (text.trim().equalsIgnoreCase("false")) {
+            return false;
+        }
+        throw new IllegalArgumentException("Not true or false for " + key + ": " + text);
+    }
+    
+    private static int intProperty(Properties properties, String key, int defaultValue) {
+        String text = properties.getProperty(key);
+        if (text == null) {
+            return defaultValue;
+        }
+        int parsed;
+        try {
+            parsed = Integer.parseInt(text.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a number for " + key + ": " + text, e);
+        }
+        if (parsed < 0) {
+            throw new IllegalArgumentException(key + " must not be negative");
+        }
+        return parsed;
+    }
+    
+    /**
+     * Gets the name of this card set.
+     * @return the set name
+     */
+    public String getName() {
+        return name;
+    }
+    
+    /**
+     * Gets the cost of a card type.
+     * @param type the card type
+     * @return the cost in coins
+     */
+    public int getCost(CardType type) {
+        return cost[type.ordinal()];
+    }
+    
+    /**
+     * Gets the coins a card type provides when played.
+     * @param type the card type
+     * @return the coin value, 0 for automation cards
+     */
+    public int getCoinValue(CardType type) {
+        return coinValue[type.ordinal()];
+    }
+    
+    /**
+     * Gets the Automation Points a card type is worth at game end.
+     * @param type the card type
+     * @return the AP value, 0 for cryptocurrency cards
+     */
+    public int getApValue(CardType type) {
+        return apValue[type.ordinal()];
+    }
+    
+    /**
+     * Gets the two-player supply of a card type.
+     * @param type the card type
+     * @return the supply count
+     */
+    public int getSupplyCount(CardType type) {
+        return supply[type.ordinal()];
+    }
+    
+    /**
+     * Checks whether a card type is cryptocurrency.
+     * @param type the card type
+     * @return true if the card provides coins rather than APs
+     */
+    public boolean isCryptocurrency(CardType type) {
+        return cryptocurrency[type.ordinal()];
+    }
+    
+    /**
+     * Gets how many cards of a type each starting deck holds.
+     * @param type the card type
+     * @return the starting count
+     */
+    public int getStartingCount(CardType type) {
+        return startingCount[type.ordinal()];
+    }
+    
+    /**
+     * Gets the display name of a card type in this set.
+     * @param type the card type
+     * @return the display name
+     */
+    public String getDisplayName(CardType type) {
+        return displayName[type.ordinal()];
+    }
+    
+    // Ordinal-indexed lookups for the engine's hot paths
+    
+    int cost(int ordinal) {
+        return cost[ordinal];
+    }
+    
+    int coinValue(int ordinal) {
+        return coinValue[ordinal];
+    }
+    
+    int apValue(int ordinal) {
+        return apValue[ordinal];
+    }
+    
+    boolean isCryptocurrency(int ordinal) {
+        return cryptocurrency[ordinal];
+    }
+    
+    /**
+     * Compares card sets by value, so a set loaded twice from the same file
+     * equals the first copy.
+     * @param o the object to compare with
+     * @return true if o is a CardSet with the same name and numbers
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CardSet)) {
+            return false;
+        }
+        CardSet other = (CardSet) o;
+        return hash == other.hash
+                && name.equals(other.name)
+                && Arrays.equals(cost, other.cost)
+                && Arrays.equals(coinValue, other.coinValue)
+                && Arrays.equals(apValue, other.apValue)
+                && Arrays.equals(supply, other.supply)
+                && Arrays.equals(cryptocurrency, other.cryptocurrency)
+                && Arrays.equals(startingCount, other.startingCount)
+                && Arrays.equals(displayName, other.displayName);
+    }
+    
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+    
+    @Override
+    public String toString() {
+        return name;
+    }
+}
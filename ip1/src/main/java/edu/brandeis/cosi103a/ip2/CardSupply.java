@@ -5,20 +5,62 @@ import java.util.*;
 /**
  * Manages the shared supply of cards available for purchase.
  * Maintains separate piles for each card type and tracks remaining quantities.
+ * Counts are kept in an array indexed by CardType ordinal, alongside a bitmask
+ * with one bit set per non-empty pile, so availability checks never box or hash.
  */
 public class CardSupply {
-    private final Map<CardType, Integer> cardCounts;
+    private final CardSet cardSet;
+    private final int[] cardCounts;
+    private int availableMask;
+    private int cachedTypesMask;
+    private List<CardType> cachedAvailableTypes;
     
     /**
      * Creates a new CardSupply with initial quantities of all card types.
      */
     public CardSupply() {
-        this.cardCounts = new HashMap<>();
+        this(2);
+    }
+    
+    /**
+     * Creates a new CardSupply sized for the given number of players.
+     * The base quantities are for two players; every pile grows in proportion
+     * to the player count, rounding up.
+     * @param playerCount the number of players in the game
+     */
+    public CardSupply(int playerCount) {
+        this(playerCount, CardSet.STANDARD);
+    }
+    
+    /**
+     * Creates a new CardSupply for a card set, sized for the given number of players.
+     * @param playerCount the number of players in the game
+     * @param cardSet the card set giving the two-player supply counts
+     */
+    public CardSupply(int playerCount, CardSet cardSet) {
+        this.cardSet = cardSet;
+        this.cardCounts = new int[CardType.values().length];
         
         // Initialize all card types with their supply count
         for (CardType type : CardType.values()) {
-            cardCounts.put(type, type.getSupplyCount());
+            int count = (cardSet.getSupplyCount(type) * playerCount + 1) / 2;
+            cardCounts[type.ordinal()] = count;
+            if (count > 0) {
+                availableMask |= 1 << type.ordinal();
+            }
         }
+        this.cachedTypesMask = -1;
+    }
+    
+    /**
+     * Creates a supply with the same remaining counts as another.
+     * @param source the supply to copy
+     */
+    CardSupply(CardSupply source) {
+        this.cardSet = source.cardSet;
+        this.cardCounts = source.cardCounts.clone();
+        this.availableMask = source.availableMask;
+        this.cachedTypesMask = -1;
     }
     
     /**
@@ -27,7 +69,7 @@ public class CardSupply {
      * @return the count of cards available
      */
     public int getCount(CardType type) {
-        return cardCounts.getOrDefault(type, 0);
+        return cardCounts[type.ordinal()];
     }
     
     /**
@@ -36,7 +78,16 @@ public class CardSupply {
      * @return true if at least one card is available
      */
     public boolean isAvailable(CardType type) {
-        return getCount(type) > 0;
+        return (availableMask & (1 << type.ordinal())) != 0;
+    }
+    
+    /**
+     * Gets a bitmask of the card types that are still available.
+     * Bit {@code 1 << type.ordinal()} is set while at least one card of that type remains.
+     * @return the availability bitmask
+     */
+    public int getAvailableMask() {
+        return availableMask;
     }
     
     /**
@@ -46,25 +97,56 @@ public class CardSupply {
      */
     public Card buyCard(CardType type) {
         if (isAvailable(type)) {
-            int currentCount = cardCounts.get(type);
-            cardCounts.put(type, currentCount - 1);
-            return new Card(type);
+            int ordinal = type.ordinal();
+            if (--cardCounts[ordinal] == 0) {
+                availableMask &= ~(1 << ordinal);
+            }
+            return Card.of(type);
         }
         return null;
     }
     
     /**
      * Gets all card types that are still available in the supply.
-     * @return a list of available CardTypes
+     * The list is rebuilt only when a pile runs out, so repeated calls are cheap.
+     * @return an unmodifiable list of available CardTypes
      */
     public List<CardType> getAvailableCardTypes() {
-        List<CardType> available = new ArrayList<>();
-        for (CardType type : CardType.values()) {
-            if (isAvailable(type)) {
-                available.add(type);
+        if (cachedTypesMask != availableMask) {
+            List<CardType> available = new ArrayList<>();
+            for (CardType type : CardType.values()) {
+                if (isAvailable(type)) {
+                    available.add(type);
+                }
+            }
+            cachedAvailableTypes = Collections.unmodifiableList(available);
+            cachedTypesMask = availableMask;
+        }
+        return cachedAvailableTypes;
+    }
+    
+    /**
+     * Copies the remaining count of every card type into an array.
+     * @param into the array to fill, indexed by CardType ordinal
+     * @return the same array
+     */
+    public int[] snapshot(int[] into) {
+        System.arraycopy(cardCounts, 0, into, 0, cardCounts.length);
+        return into;
+    }
+    
+    /**
+     * Replaces the remaining counts with previously captured ones.
+     * @param counts the counts to restore, indexed by CardType ordinal
+     */
+    public void restore(int[] counts) {
+        System.arraycopy(counts, 0, cardCounts, 0, cardCounts.length);
+        availableMask = 0;
+        for (int ordinal = 0; ordinal < cardCounts.length; ordinal++) {
+            if (cardCounts[ordinal] > 0) {
+                availableMask |= 1 << ordinal;
             }
         }
-        return available;
     }
     
     /**
@@ -82,7 +164,7 @@ public class CardSupply {
     public String getSupplyStatus() {
         StringBuilder sb = new StringBuilder("Supply Status:\n");
         for (CardType type : CardType.values()) {
-            sb.append(String.format("  %s: %d\n", type.getDisplayName(), getCount(type)));
+            sb.append(String.format("  %s: %d\n", cardSet.getDisplayName(type), getCount(type)));
         }
         return sb.toString();
     }
@@ -15,6 +15,8 @@ public enum CardType {
     MODULE("Module", 5, 3, 8, false),
     FRAMEWORK("Framework", 8, 6, 8, false);
     
+    private static final CardType[] VALUES = values();
+    
     private final String displayName;
     private final int cost;
     private final int value;
@@ -48,4 +50,13 @@ public enum CardType {
     public boolean isCryptocurrency() {
         return isCryptocurrency;
     }
+    
+    /**
+     * Gets the card type with the given ordinal without copying the values array.
+     * @param ordinal the ordinal of the card type
+     * @return the matching CardType
+     */
+    public static CardType fromOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
 }
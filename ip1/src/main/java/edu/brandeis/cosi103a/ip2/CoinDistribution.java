@@ -0,0 +1,63 @@
+package edu.brandeis.cosi103a.ip2;
+
+/**
+ * The exact probability distribution of the coins in a drawn hand.
+ * Instances are immutable and may be shared between threads.
+ */
+public final class CoinDistribution {
+    private final double[] probabilities;
+    
+    /**
+     * Creates a distribution from probabilities indexed by coin total.
+     * @param probabilities the probability of each coin total, starting at 0
+     */
+    CoinDistribution(double[] probabilities) {
+        this.probabilities = probabilities;
+    }
+    
+    /**
+     * Gets the probability of an exact coin total.
+     * @param coins the coin total
+     * @return the probability, 0 outside the possible range
+     */
+    public double getProbability(int coins) {
+        return coins >= 0 && coins < probabilities.length ? probabilities[coins] : 0;
+    }
+    
+    /**
+     * Gets the probability of drawing at least a coin total.
+     * @param coins the coin total
+     * @return the probability
+     */
+    public double getProbabilityAtLeast(int coins) {
+        double total = 0;
+        for (int i = Math.max(0, coins); i < probabilities.length; i++) {
+            total += probabilities[i];
+        }
+        return total;
+    }
+    
+    /**
+     * Gets the expected coin total.
+     * @return the mean
+     */
+    public double getMean() {
+        double mean = 0;
+        for (int coins = 0; coins < probabilities.length; coins++) {
+            mean += coins * probabilities[coins];
+        }
+        return mean;
+    }
+    
+    /**
+     * Gets the largest coin total with a nonzero probability.
+     * @return the maximum coins
+     */
+    public int getMaxCoins() {
+        int max = probabilities.length - 1;
+        while (max > 0 && probabilities[max] == 0) {
+            max--;
+        }
+        return max;
+    }
+}
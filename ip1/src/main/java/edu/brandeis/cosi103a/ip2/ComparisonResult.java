@@ -0,0 +1,134 @@
+package edu.brandeis.cosi103a.ip2;
+
+/**
+ * The outcome of a StrategyComparison: the verdict and the games it took.
+ */
+public class ComparisonResult {
+    /**
+     * The decision reached by a comparison.
+     */
+    public enum Verdict {
+        /** The first strategy wins more than half of the decisive games. */
+        FIRST_BETTER,
+        /** The second strategy wins more than half of the decisive games. */
+        SECOND_BETTER,
+        /** The game limit was reached before the test decided. */
+        INCONCLUSIVE
+    }
+    
+    private final Verdict verdict;
+    private final long firstWins;
+    private final long secondWins;
+    private final long ties;
+    private final long gamesPlayed;
+    private final long maxGames;
+    private final double logLikelihoodRatio;
+    
+    ComparisonResult(Verdict verdict, long firstWins, long secondWins, long ties, long gamesPlayed,
+                     long maxGames, double logLikelihoodRatio) {
+        this.verdict = verdict;
+        this.firstWins = firstWins;
+        this.secondWins = secondWins;
+        this.ties = ties;
+        this.gamesPlayed = gamesPlayed;
+        this.maxGames = maxGames;
+        this.logLikelihoodRatio = logLikelihoodRatio;
+    }
+    
+    /**
+     * Gets the verdict.
+     * @return which strategy is better, or INCONCLUSIVE
+     */
+    public Verdict getVerdict() {
+        return verdict;
+    }
+    
+    /**
+     * Gets the number of games counted toward the verdict.
+     * @return the game count
+     */
+    public long getGames() {
+        return firstWins + secondWins + ties;
+    }
+    
+    /**
+     * Gets the number of games actually played. Besides the counted games this
+     * includes the rest of the deciding batch and batches other workers finished
+     * before the comparison stopped.
+     * @return the played game count
+     */
+    public long getGamesPlayed() {
+        return gamesPlayed;
+    }
+    
+    /**
+     * Gets the number of games the first strategy won.
+     * @return the win count
+     */
+    public long getFirstWins() {
+        return firstWins;
+    }
+    
+    /**
+     * Gets the number of games the second strategy won.
+     * @return the win count
+     */
+    public long getSecondWins() {
+        return secondWins;
+    }
+    
+    /**
+     * Gets the number of tied games.
+     * @return the tie count
+     */
+    public long getTies() {
+        return ties;
+    }
+    
+    /**
+     * Gets the number of games a fixed-size comparison would have played.
+     * @return the game limit
+     */
+    public long getMaxGames() {
+        return maxGames;
+    }
+    
+    /**
+     * Gets the number of games stopping early saved against the game limit.
+     * @return the games not played
+     */
+    public long getGamesSaved() {
+        return maxGames - gamesPlayed;
+    }
+    
+    /**
+     * Gets the first strategy's share of the decisive games.
+     * @return the win rate, or 0.5 if no game was decisive
+     */
+    public double getFirstWinRate() {
+        long decisive = firstWins + secondWins;
+        return decisive == 0 ? 0.5 : (double) firstWins / decisive;
+    }
+    
+    /**
+     * Gets the final log-likelihood ratio of the sequential test.
+     * Positive values favor the first strategy.
+     * @return the log-likelihood ratio
+     */
+    public double getLogLikelihoodRatio() {
+        return logLikelihoodRatio;
+    }
+    
+    /**
+     * Gets a printable summary of the comparison.
+     * @return a multi-line summary
+     */
+    public String getSummary() {
+        return String.format("=== STRATEGY COMPARISON ===%n"
+                + "Verdict: %s (LLR %.3f)%n"
+                + "Games: %d counted, %d played of %d (%d saved, %.1f%%)%n"
+                + "First wins: %d, second wins: %d, ties: %d (first win rate %.4f)%n",
+            verdict, logLikelihoodRatio, getGames(), gamesPlayed, maxGames, getGamesSaved(),
+            100.0 * getGamesSaved() / maxGames, firstWins, secondWins, ties, getFirstWinRate());
+    }
+}
@@ -0,0 +1,78 @@
+package edu.brandeis.cosi103a.ip2;
+
+/**
+ * A precomputed buy decision for every (coins, supply availability mask) pair.
+ * Strategies whose choice depends only on those two inputs can compile their
+ * rules once and then decide each turn with a single array index.
+ */
+public final class DecisionTable {
+    /**
+     * The number of bits in a supply availability mask.
+     */
+    public static final int MASK_BITS = CardType.values().length;
+    
+    private static final byte NO_PURCHASE = -1;
+    
+    private final byte[] table;
+    private final int maxCoins;
+    
+    /**
+     * A buy rule that depends only on the available coins and supply mask.
+     */
+    @FunctionalInterface
+    public interface Rule {
+        /**
+         * Chooses the card to buy.
+         * @param coins the available coins
+         * @param availableMask the supply availability mask
+         * @return the CardType to buy, or null to buy nothing
+         */
+        CardType choose(int coins, int availableMask);
+    }
+    
+    private DecisionTable(byte[] table, int maxCoins) {
+        this.table = table;
+        this.maxCoins = maxCoins;
+    }
+    
+    /**
+     * Evaluates a rule for every coin total up to maxCoins and every supply mask.
+     * Coin totals above maxCoins are looked up as maxCoins, so maxCoins must be at
+     * least the largest coin total the rule distinguishes.
+     * @param maxCoins the largest coin total stored in the table
+     * @param rule the rule to compile
+     * @return the compiled table
+     */
+    public static DecisionTable compile(int maxCoins, Rule rule) {
+        if (maxCoins < 0) {
+            throw new IllegalArgumentException("maxCoins must not be negative");
+        }
+        byte[] table = new byte[(maxCoins + 1) << MASK_BITS];
+        for (int coins = 0; coins <= maxCoins; coins++) {
+            for (int mask = 0; mask < 1 << MASK_BITS; mask++) {
+                CardType choice = rule.choose(coins, mask);
+                table[(coins << MASK_BITS) | mask] = choice == null ? NO_PURCHASE : (byte) choice.ordinal();
+            }
+        }
+        return new DecisionTable(table, maxCoins);
+    }
+    
+    /**
+     * Looks up the compiled decision.
+     * @param coins the available coins
+     * @param availableMask the supply availability mask
+     * @return the CardType to buy, or null to buy nothing
+     */
+    public CardType lookup(int coins, int availableMask) {
+        int choice = table[(Math.min(coins, maxCoins) << MASK_BITS) | availableMask];
+        return choice < 0 ? null : CardType.fromOrdinal(choice);
+    }
+    
+    /**
+     * Gets the largest coin total stored in the table.
+     * @return the maximum coins
+     */
+    public int getMaxCoins() {
+        return maxCoins;
+    }
+}
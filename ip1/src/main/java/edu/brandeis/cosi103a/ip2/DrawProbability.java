@@ -0,0 +1,282 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.util.*;
+
+/**
+ * Computes exact coin-total distributions for drawing a hand.
+ * <p>
+ * Only the coin value of a card matters for the total, so pile compositions are
+ * first grouped by coin value (every automation card counts as 0). Drawing from
+ * the draw pile is multivariate hypergeometric over those groups. When the draw
+ * pile holds fewer cards than the hand, all of them are drawn, the discard pile
+ * is reshuffled, and the rest come from it, exactly as Player.drawCards does.
+ * <p>
+ * Results are memoized in a bounded LRU cache keyed by the grouped counts of both
+ * piles, packed 16 bits per group into longs. When the draw pile covers the hand
+ * the discards cannot matter, so they are left out of the key. Repeated queries
+ * for the same composition, which strategies make every turn, are a hash lookup.
+ * An instance may be shared between threads.
+ */
+public class DrawProbability {
+    /** The default number of compositions kept in the cache. */
+    public static final int DEFAULT_CAPACITY = 4096;
+    
+    private static final int GROUPS_PER_WORD = 4;
+    private static final int MAX_GROUP_COUNT = 0xFFFF;
+    private final CardSet cardSet;
+    private final int[] coinValues;
+    private final int groups;
+    private final Map<Key, CoinDistribution> cache;
+    private long hits;
+    private long misses;
+    
+    /**
+     * Creates a service with the default cache size.
+     */
+    public DrawProbability() {
+        this(DEFAULT_CAPACITY);
+    }
+    
+    /**
+     * Creates a service whose cache keeps at most a given number of compositions.
+     * @param capacity the cache size
+     */
+    public DrawProbability(int capacity) {
+        this(CardSet.STANDARD, capacity);
+    }
+    
+    /**
+     * Creates a service for a custom card set.
+     * @param cardSet the card set giving each card's coin value
+     * @param capacity the cache size
+     */
+    public DrawProbability(CardSet cardSet, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1");
+        }
+        this.cardSet = cardSet;
+        this.coinValues = new int[CardType.values().length];
+        int maxCoinValue = 0;
+        for (CardType type : CardType.values()) {
+            coinValues[type.ordinal()] = cardSet.getCoinValue(type);
+            maxCoinValue = Math.max(maxCoinValue, coinValues[type.ordinal()]);
+        }
+        this.groups = maxCoinValue + 1;
+        this.cache = new LinkedHashMap<Key, CoinDistribution>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CoinDistribution> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+    
+    /**
+     * Gets the coin distribution of the hand a player will draw at the end of this turn.
+     * Everything not in the draw pile (hand, played cards, discards, and purchases)
+     * is in the discard pile by then.
+     * @param player the player
+     * @return the distribution of the next hand's coins
+     */
+    public CoinDistribution nextHand(Player player) {
+        if (player.getCardSet() != cardSet) {
+            throw new IllegalArgumentException("Player uses a different card set");
+        }
+        int[] drawCounts = new int[CardType.values().length];
+        int[] discardCounts = new int[drawCounts.length];
+        for (CardType type : CardType.values()) {
+            drawCounts[type.ordinal()] = player.getDrawPileCount(type);
+            discardCounts[type.ordinal()] = player.getCardCount(type) - drawCounts[type.ordinal()];
+        }
+        return distribution(drawCounts, discardCounts, Game.STARTING_HAND_SIZE);
+    }
+    
+    /**
+     * Gets the coin distribution of drawing a number of cards.
+     * @param drawCounts the number of cards of each CardType, by ordinal, in the draw pile
+     * @param discardCounts the number of cards of each CardType, by ordinal, in the discard pile
+     * @param handSize the number of cards to draw
+     * @return the distribution of the drawn coins
+     * @throws IllegalArgumentException if a count array is not indexed by CardType,
+     *     a count is out of range, or the hand size is negative
+     */
+    public CoinDistribution distribution(int[] drawCounts, int[] discardCounts, int handSize) {
+        if (handSize < 0) {
+            throw new IllegalArgumentException("Hand size must not be negative: " + handSize);
+        }
+        int[] draw = group(drawCounts);
+        int[] discard = group(discardCounts);
+        if (sum(draw) >= handSize) {
+            // No reshuffle happens, so every discard pile gives the same answer
+            Arrays.fill(discard, 0);
+        }
+        Key key = new Key(draw, discard, handSize);
+        
+        synchronized (cache) {
+            CoinDistribution cached = cache.get(key);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+        }
+        
+        CoinDistribution computed = compute(draw, discard, handSize);
+        synchronized (cache) {
+            cache.put(key, computed);
+        }
+        return computed;
+    }
+    
+    /**
+     * Sums per-type counts into per-coin-value groups.
+     */
+    private int[] group(int[] typeCounts) {
+        if (typeCounts.length != coinValues.length) {
+            throw new IllegalArgumentException("Expected " + coinValues.length
+                + " counts, one per CardType, got " + typeCounts.length);
+        }
+        int[] grouped = new int[groups];
+        for (int ordinal = 0; ordinal < typeCounts.length; ordinal++) {
+            grouped[coinValues[ordinal]] += typeCounts[ordinal];
+        }
+        for (int count : grouped) {
+            if (count < 0 || count > MAX_GROUP_COUNT) {
+                throw new IllegalArgumentException("Pile count out of range: " + count);
+            }
+        }
+        return grouped;
+    }
+    
+    private static CoinDistribution compute(int[] draw, int[] discard, int handSize) {
+        int drawSize = sum(draw);
+        if (drawSize >= handSize) {
+            return new CoinDistribution(hypergeometric(draw, handSize));
+        }
+        
+        // The whole draw pile comes first, then the rest from the reshuffled discards
+        int fixedCoins = 0;
+        for (int value = 0; value < draw.length; value++) {
+            fixedCoins += value * draw[value];
+        }
+        double[] rest = hypergeometric(discard, Math.min(handSize - drawSize, sum(discard)));
+        double[] shifted = new double[fixedCoins + rest.length];
+        System.arraycopy(rest, 0, shifted, fixedCoins, rest.length);
+        return new CoinDistribution(shifted);
+    }
+    
+    /**
+     * Computes the coin distribution of drawing cards without replacement from grouped counts.
+     * ways[taken][coins] counts the subsets of the groups seen so far.
+     */
+    private static double[] hypergeometric(int[] groups, int draws) {
+        int maxCoins = draws * (groups.length - 1);
+        double[][] ways = new double[draws + 1][maxCoins + 1];
+        ways[0][0] = 1;
+        for (int value = 0; value < groups.length; value++) {
+            int available = groups[value];
+            if (available == 0) {
+                continue;
+            }
+            double[][] next = new double[draws + 1][maxCoins + 1];
+            for (int taken = 0; taken <= draws; taken++) {
+                for (int coins = 0; coins <= maxCoins; coins++) {
+                    double w = ways[taken][coins];
+                    if (w == 0) {
+                        continue;
+                    }
+                    for (int k = 0; k <= Math.min(available, draws - taken); k++) {
+                        next[taken + k][coins + k * value] += w * binomial(available, k);
+                    }
+                }
+            }
+            ways = next;
+        }
+        
+        double total = binomial(sum(groups), draws);
+        double[] probabilities = ways[draws];
+        for (int coins = 0; coins <= maxCoins; coins++) {
+            probabilities[coins] /= total;
+        }
+        return probabilities;
+    }
+    
+    private static double binomial(int n, int k) {
+        double result = 1;
+        for (int i = 0; i < k; i++) {
+            result = result * (n - i) / (i + 1);
+        }
+        return result;
+    }
+    
+    private static int sum(int[] counts) {
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        return total;
+    }
+    
+    /**
+     * Gets the number of queries answered from the cache.
+     * @return the hit count
+     */
+    public long getHits() {
+        synchronized (cache) {
+            return hits;
+        }
+    }
+    
+    /**
+     * Gets the number of queries that had to be computed.
+     * @return the miss count
+     */
+    public long getMisses() {
+        synchronized (cache) {
+            return misses;
+        }
+    }
+    
+    /**
+     * Gets the number of compositions currently cached.
+     * @return the cache size
+     */
+    public int getCacheSize() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+    
+    /**
+     * Both piles' grouped counts packed 16 bits per group, plus the hand size.
+     */
+    private static final class Key {
+        private final long[] words;
+        private final int handSize;
+        private final int hash;
+        
+        Key(int[] draw, int[] discard, int handSize) {
+            int groups = draw.length;
+            this.words = new long[(2 * groups + GROUPS_PER_WORD - 1) / GROUPS_PER_WORD];
+            for (int group = 0; group < 2 * groups; group++) {
+                long count = group < groups ? draw[group] : discard[group - groups];
+                words[group / GROUPS_PER_WORD] |= count << (16 * (group % GROUPS_PER_WORD));
+            }
+            this.handSize = handSize;
+            this.hash = 31 * Arrays.hashCode(words) + handSize;
+        }
+        
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return handSize == other.handSize && Arrays.equals(words, other.words);
+        }
+        
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -1,75 +1,143 @@
 package edu.brandeis.cosi103a.ip2;
 
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Main controller class for Automation: The Game.
  * Manages game setup, turn execution, and determines the winner.
+ * Supports two to six players, seated in an array and served in seat order.
  */
 public class Game {
-    private final Player player1;
-    private final Player player2;
+    public static final int MIN_PLAYERS = 2;
+    public static final int MAX_PLAYERS = 6;
+    
+    private final Player[] players;
     private final CardSupply supply;
-    private Player currentPlayer;
+    private final CardSet cardSet;
+    private final long seed;
+    private final SplittableRandom random;
+    private int currentPlayerIndex;
     private int turnCount;
-    private static final int STARTING_HAND_SIZE = 5;
-    private static final int STARTING_BITCOINS = 7;
-    private static final int STARTING_METHODS = 3;
+    private GameEventListener listener;
+    private boolean instrumented = true;
+    static final int STARTING_HAND_SIZE = 5;
     
     /**
-     * Creates a new game with two players.
+     * Creates a new game with two players and a randomly chosen seed.
      * @param player1Name name of the first player
      * @param player2Name name of the second player
      */
     public Game(String player1Name, String player2Name) {
-        this.player1 = new Player(player1Name);
-        this.player2 = new Player(player2Name);
-        this.supply = new CardSupply();
-        this.turnCount = 0;
+        this(player1Name, player2Name, ThreadLocalRandom.current().nextLong());
     }
     
     /**
-     * Initializes the game: sets up starting decks and draws initial hands.
+     * Creates a new game with two players whose every random choice derives from a seed.
+     * Each player gets its own split of the game's random source, so games never
+     * share a generator and any game can be replayed exactly from its seed.
+     * @param player1Name name of the first player
+     * @param player2Name name of the second player
+     * @param seed the seed for all shuffles and the starting player choice
      */
-    public void initialize() {
-        // Set up starting deck for player 1
-        for (int i = 0; i < STARTING_BITCOINS; i++) {
-            Card bitcoin = supply.buyCard(CardType.BITCOIN);
-            if (bitcoin != null) {
-                player1.addStartingCard(bitcoin);
-            }
+    public Game(String player1Name, String player2Name, long seed) {
+        this(player1Name, PriorityBuyStrategy.greedy(), player2Name, PriorityBuyStrategy.greedy(), seed);
+    }
+    
+    /**
+     * Creates a new seeded game in which each player uses its own buy strategy.
+     * @param player1Name name of the first player
+     * @param player1Strategy the buy strategy of the first player
+     * @param player2Name name of the second player
+     * @param player2Strategy the buy strategy of the second player
+     * @param seed the seed for all shuffles and the starting player choice
+     */
+    public Game(String player1Name, BuyStrategy player1Strategy,
+                String player2Name, BuyStrategy player2Strategy, long seed) {
+        this(new String[] {player1Name, player2Name},
+             new BuyStrategy[] {player1Strategy, player2Strategy}, seed);
+    }
+    
+    /**
+     * Creates a new seeded game in which every player uses the default greedy strategy.
+     * @param playerNames the names of the players, in seat order
+     * @param seed the seed for all shuffles and the starting player choice
+     */
+    public Game(String[] playerNames, long seed) {
+        this(playerNames, defaultStrategies(playerNames.length), seed);
+    }
+    
+    /**
+     * Creates a new seeded game for any supported number of players.
+     * The supply grows with the player count (see {@link CardSupply#CardSupply(int)}).
+     * @param playerNames the names of the players, in seat order
+     * @param strategies the buy strategy of each seat
+     * @param seed the seed for all shuffles and the starting player choice
+     */
+    public Game(String[] playerNames, BuyStrategy[] strategies, long seed) {
+        this(playerNames, strategies, CardSet.STANDARD, seed);
+    }
+    
+    /**
+     * Creates a new seeded game played with a custom card set.
+     * Costs, values, supply counts, and starting decks all come from the set.
+     * @param playerNames the names of the players, in seat order
+     * @param strategies the buy strategy of each seat
+     * @param cardSet the card set to play with
+     * @param seed the seed for all shuffles and the starting player choice
+     */
+    public Game(String[] playerNames, BuyStrategy[] strategies, CardSet cardSet, long seed) {
+        if (playerNames.length < MIN_PLAYERS || playerNames.length > MAX_PLAYERS) {
+            throw new IllegalArgumentException(String.format(
+                "A game needs %d to %d players, got %d", MIN_PLAYERS, MAX_PLAYERS, playerNames.length));
         }
-        for (int i = 0; i < STARTING_METHODS; i++) {
-            Card method = supply.buyCard(CardType.METHOD);
-            if (method != null) {
-                player1.addStartingCard(method);
-            }
+        if (strategies.length != playerNames.length) {
+            throw new IllegalArgumentException("Each player needs exactly one strategy");
         }
-        
-        // Set up starting deck for player 2
-        for (int i = 0; i < STARTING_BITCOINS; i++) {
-            Card bitcoin = supply.buyCard(CardType.BITCOIN);
-            if (bitcoin != null) {
-                player2.addStartingCard(bitcoin);
-            }
+        this.seed = seed;
+        this.cardSet = cardSet;
+        this.random = new SplittableRandom(seed);
+        this.players = new Player[playerNames.length];
+        for (int seat = 0; seat < players.length; seat++) {
+            players[seat] = new Player(playerNames[seat], random.split(), cardSet);
+            players[seat].setBuyStrategy(strategies[seat]);
+            players[seat].setEventListener(null, seat);
         }
-        for (int i = 0; i < STARTING_METHODS; i++) {
-            Card method = supply.buyCard(CardType.METHOD);
-            if (method != null) {
-                player2.addStartingCard(method);
+        this.supply = new CardSupply(players.length, cardSet);
+        this.turnCount = 0;
+    }
+    
+    private static BuyStrategy[] defaultStrategies(int count) {
+        BuyStrategy[] strategies = new BuyStrategy[count];
+        Arrays.fill(strategies, PriorityBuyStrategy.greedy());
+        return strategies;
+    }
+    
+    /**
+     * Initializes the game: sets up starting decks and draws initial hands.
+     */
+    public void initialize() {
+        // Set up each player's starting deck, taken from the supply
+        for (Player player : players) {
+            for (CardType type : CardType.values()) {
+                for (int i = 0; i < cardSet.getStartingCount(type); i++) {
+                    Card card = supply.buyCard(type);
+                    if (card == null) {
+                        throw new IllegalStateException("The supply ran out of " + type + " for starting decks");
+                    }
+                    player.addStartingCard(card);
+                }
             }
         }
         
         // Shuffle and draw initial hands
-        player1.shuffleDrawPile();
-        player2.shuffleDrawPile();
-        
-        player1.drawCards(STARTING_HAND_SIZE);
-        player2.drawCards(STARTING_HAND_SIZE);
+        for (Player player : players) {
+            player.shuffleDrawPile();
+            player.drawCards(STARTING_HAND_SIZE);
+        }
         
         // Choose starting player randomly
-        Random random = new Random();
-        currentPlayer = random.nextBoolean() ? player1 : player2;
+        currentPlayerIndex = random.nextInt(players.length);
     }
     
     /**
@@ -78,15 +146,104 @@ public class Game {
      */
     public void executeTurn() {
         turnCount++;
+        Player currentPlayer = players[currentPlayerIndex];
+        if (listener != null) {
+            listener.onTurnStart(turnCount, currentPlayerIndex);
+        }
+        
+        if (instrumented && GameMetrics.isEnabled()) {
+            executeCountedTurn(currentPlayer);
+            return;
+        }
         
         // Buy Phase
         executeBuyPhase(currentPlayer);
         
+        endTurn(currentPlayer);
+    }
+    
+    /**
+     * Runs the same turn as executeTurn and counts it for GameMetrics. The turn is
+     * only timed when the latency histograms or a Flight Recorder turn event need it.
+     * @param currentPlayer the player whose turn it is
+     */
+    private void executeCountedTurn(Player currentPlayer) {
+        TurnEvent event = new TurnEvent();
+        if (!GameMetrics.isTimingEnabled() && !event.isEnabled()) {
+            executeBuyPhase(currentPlayer);
+            endTurn(currentPlayer);
+            GameMetrics.recordTurn();
+            return;
+        }
+        executeTimedTurn(currentPlayer, event);
+    }
+    
+    /**
+     * Runs the same turn as executeTurn while timing each phase for GameMetrics
+     * and emitting a Flight Recorder turn event.
+     * @param currentPlayer the player whose turn it is
+     * @param event the turn event to fill in
+     */
+    private void executeTimedTurn(Player currentPlayer, TurnEvent event) {
+        event.begin();
+        int turn = turnCount;
+        int seat = currentPlayerIndex;
+        
+        long start = System.nanoTime();
+        int totalCoins = currentPlayer.playAllCryptocurrencyCards();
+        CardType cardToBuy = currentPlayer.getBuyStrategy().chooseCardToBuy(this, currentPlayer, totalCoins);
+        boolean bought = buyCard(currentPlayer, cardToBuy, totalCoins);
+        long buyEnd = System.nanoTime();
+        endTurn(currentPlayer);
+        long cleanupEnd = System.nanoTime();
+        
+        if (GameMetrics.isTimingEnabled()) {
+            GameMetrics.recordTurn(buyEnd - start, cleanupEnd - buyEnd);
+        } else {
+            GameMetrics.recordTurn();
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.turn = turn;
+            event.seat = seat;
+            event.coins = totalCoins;
+            event.purchase = bought ? cardToBuy.name() : null;
+            event.commit();
+        }
+    }
+    
+    /**
+     * Finishes the current turn with a given purchase instead of asking the player's strategy.
+     * Search-based strategies call this on a copy of the game while the current player's
+     * cryptocurrency cards are already played, to explore each possible purchase.
+     * @param cardToBuy the card to buy, or null to buy nothing
+     * @param totalCoins the coins the current player has available
+     */
+    void completeTurn(CardType cardToBuy, int totalCoins) {
+        Player currentPlayer = players[currentPlayerIndex];
+        buyCard(currentPlayer, cardToBuy, totalCoins);
+        endTurn(currentPlayer);
+    }
+    
+    /**
+     * Runs the Cleanup Phase and hands the turn to the next player.
+     * @param currentPlayer the player whose turn is ending
+     */
+    private void endTurn(Player currentPlayer) {
         // Cleanup Phase
         executeCleanupPhase(currentPlayer);
         
         // Switch to next player
         switchToNextPlayer();
+        
+        if (supply.isGameOver()) {
+            if (listener != null) {
+                listener.onGameEnd(turnCount, getWinnerIndex());
+            }
+            if (instrumented && GameMetrics.isEnabled()) {
+                GameMetrics.recordGame();
+            }
+        }
     }
     
     /**
@@ -98,16 +255,33 @@ public class Game {
         // Play all cryptocurrency cards and calculate total coins
         int totalCoins = player.playAllCryptocurrencyCards();
         
-        // Determine which card to buy using simple AI strategy
-        CardType cardToBuy = chooseCardToBuy(totalCoins);
-        
-        // Buy the card if available
-        if (cardToBuy != null && supply.isAvailable(cardToBuy)) {
+        // Let the player's strategy determine which card to buy
+        CardType cardToBuy = player.getBuyStrategy().chooseCardToBuy(this, player, totalCoins);
+        buyCard(player, cardToBuy, totalCoins);
+    }
+    
+    /**
+     * Moves a card from the supply to the player if it is available and affordable.
+     * @param player the buying player
+     * @param cardToBuy the card to buy, or null to buy nothing
+     * @param totalCoins the coins the player has available
+     * @return true if the card was bought
+     */
+    private boolean buyCard(Player player, CardType cardToBuy, int totalCoins) {
+        if (cardToBuy != null && supply.isAvailable(cardToBuy) && cardSet.cost(cardToBuy.ordinal()) <= totalCoins) {
             Card boughtCard = supply.buyCard(cardToBuy);
             if (boughtCard != null) {
                 player.purchaseCard(boughtCard);
+                if (listener != null) {
+                    listener.onBuy(currentPlayerIndex, cardToBuy, totalCoins);
+                }
+                if (instrumented && GameMetrics.isEnabled()) {
+                    GameMetrics.recordBuy(currentPlayerIndex, cardToBuy, totalCoins);
+                }
+                return true;
             }
         }
+        return false;
     }
     
     /**
@@ -124,37 +298,13 @@ public class Game {
     }
     
     /**
-     * Implements simple AI strategy to choose which card to buy.
-     * Strategy: Buy the most expensive affordable card available.
-     * Priority: Framework > Module > Method > Ethereum > Dogecoin > Bitcoin
-     * @param availableCoins the coins available for spending
-     * @return the CardType to buy, or null if no affordable cards
-     */
-    private CardType chooseCardToBuy(int availableCoins) {
-        // Order by preference: most valuable cards first
-        CardType[] preferredOrder = {
-            CardType.FRAMEWORK,
-            CardType.MODULE,
-            CardType.METHOD,
-            CardType.DOGECOIN,
-            CardType.ETHEREUM,
-            CardType.BITCOIN
-        };
-        
-        for (CardType type : preferredOrder) {
-            if (supply.isAvailable(type) && type.getCost() <= availableCoins) {
-                return type;
-            }
-        }
-        
-        return null;
-    }
-    
-    /**
-     * Switches the current player to the other player.
+     * Passes the turn to the next seat, wrapping around after the last one.
      */
     private void switchToNextPlayer() {
-        currentPlayer = (currentPlayer == player1) ? player2 : player1;
+        currentPlayerIndex++;
+        if (currentPlayerIndex == players.length) {
+            currentPlayerIndex = 0;
+        }
     }
     
     /**
@@ -177,23 +327,60 @@ public class Game {
         }
     }
     
+    /**
+     * Determines the seat of the player with the most APs.
+     * @return the winning seat index, or -1 if the highest AP total is shared
+     */
+    public int getWinnerIndex() {
+        int best = 0;
+        boolean tied = false;
+        for (int seat = 1; seat < players.length; seat++) {
+            int aps = players[seat].calculateTotalAPs();
+            int bestAPs = players[best].calculateTotalAPs();
+            if (aps > bestAPs) {
+                best = seat;
+                tied = false;
+            } else if (aps == bestAPs) {
+                tied = true;
+            }
+        }
+        return tied ? -1 : best;
+    }
+    
     /**
      * Determines and returns the winner.
      * @return a string describing the winner
      */
     public String getWinner() {
-        int player1APs = player1.calculateTotalAPs();
-        int player2APs = player2.calculateTotalAPs();
+        int topAPs = Integer.MIN_VALUE;
+        int runnerUpAPs = Integer.MIN_VALUE;
+        for (Player player : players) {
+            int aps = player.calculateTotalAPs();
+            if (aps > topAPs) {
+                runnerUpAPs = topAPs;
+                topAPs = aps;
+            } else if (aps > runnerUpAPs) {
+                runnerUpAPs = aps;
+            }
+        }
         
-        if (player1APs > player2APs) {
-            return String.format("%s wins with %d APs (vs %d APs)", 
-                player1.getName(), player1APs, player2APs);
-        } else if (player2APs > player1APs) {
+        int winner = getWinnerIndex();
+        if (winner >= 0) {
             return String.format("%s wins with %d APs (vs %d APs)", 
-                player2.getName(), player2APs, player1APs);
-        } else {
-            return String.format("Tie! Both players have %d APs", player1APs);
+                players[winner].getName(), topAPs, runnerUpAPs);
+        }
+        
+        List<String> tiedNames = new ArrayList<>();
+        for (Player player : players) {
+            if (player.calculateTotalAPs() == topAPs) {
+                tiedNames.add(player.getName());
+            }
         }
+        if (tiedNames.size() == players.length) {
+            String who = players.length == 2 ? "Both players" : "All players";
+            return String.format("Tie! %s have %d APs", who, topAPs);
+        }
+        return String.format("Tie! %s have %d APs", String.join(" and ", tiedNames), topAPs);
     }
     
     /**
@@ -204,12 +391,135 @@ public class Game {
         StringBuilder sb = new StringBuilder();
         sb.append("=== GAME OVER ===\n");
         sb.append("Total turns: ").append(turnCount).append("\n\n");
-        sb.append(player1.getDeckSummary()).append("\n");
-        sb.append(player2.getDeckSummary()).append("\n");
+        for (Player player : players) {
+            sb.append(player.getDeckSummary()).append("\n");
+        }
         sb.append(getWinner()).append("\n");
         return sb.toString();
     }
     
+    /**
+     * Captures the game's current state into a new snapshot.
+     * @return the snapshot
+     */
+    public GameSnapshot snapshot() {
+        return snapshot(new GameSnapshot(players.length));
+    }
+    
+    /**
+     * Captures the game's current state into an existing snapshot, reusing its buffers.
+     * @param into the snapshot to overwrite
+     * @return the same snapshot
+     */
+    public GameSnapshot snapshot(GameSnapshot into) {
+        checkPlayerCount(into);
+        supply.snapshot(into.supplyCounts);
+        for (int seat = 0; seat < players.length; seat++) {
+            players[seat].snapshot(into.players[seat]);
+        }
+        into.turnCount = turnCount;
+        into.currentPlayerIndex = currentPlayerIndex;
+        return into;
+    }
+    
+    /**
+     * Rewinds (or fast-forwards) this game in place to a captured state.
+     * Players keep their shuffle sources, strategies, and listener.
+     * @param from the snapshot to restore
+     */
+    public void restore(GameSnapshot from) {
+        checkPlayerCount(from);
+        supply.restore(from.supplyCounts);
+        for (int seat = 0; seat < players.length; seat++) {
+            players[seat].restore(from.players[seat]);
+        }
+        turnCount = from.turnCount;
+        currentPlayerIndex = from.currentPlayerIndex;
+    }
+    
+    /**
+     * Creates an independent game in the same state as this one.
+     * The copy shares names and strategies but gets fresh shuffle sources derived
+     * from the given seed, and no listener. Copies are simulations of this game
+     * rather than games of their own, so they are not counted by GameMetrics.
+     * <p>
+     * The fork is copy-on-write: each of the copy's card piles shares its arrays
+     * with the original until one side changes that pile. A copy allocates the
+     * game, its shuffle source, the seat array, the supply and its counts, and per
+     * player a shuffle source, the player, and five pile headers, but no card
+     * storage. Searches that replay many lines should still copy once and then
+     * {@link #restore(GameSnapshot)} in place.
+     * @param seed the seed for the copy's future shuffles
+     * @return the copy
+     */
+    public Game copy(long seed) {
+        return new Game(this, seed);
+    }
+    
+    private Game(Game original, long seed) {
+        this.seed = seed;
+        this.cardSet = original.cardSet;
+        this.random = new SplittableRandom(seed);
+        this.players = new Player[original.players.length];
+        for (int seat = 0; seat < players.length; seat++) {
+            players[seat] = new Player(original.players[seat], random.split());
+            players[seat].setInstrumented(false);
+        }
+        this.supply = new CardSupply(original.supply);
+        this.currentPlayerIndex = original.currentPlayerIndex;
+        this.turnCount = original.turnCount;
+        this.instrumented = false;
+    }
+    
+    private void checkPlayerCount(GameSnapshot snapshot) {
+        if (snapshot.getPlayerCount() != players.length) {
+            throw new IllegalArgumentException(String.format(
+                "Snapshot has %d players, game has %d", snapshot.getPlayerCount(), players.length));
+        }
+    }
+    
+    /**
+     * Sets whether this game reports to GameMetrics while metrics are enabled.
+     * Harnesses that play games only to evaluate strategies turn this off, so
+     * the process-wide metrics describe the games being run, not the searches
+     * and comparisons behind them.
+     * @param instrumented false to keep this game and its players out of the metrics
+     */
+    void setInstrumented(boolean instrumented) {
+        this.instrumented = instrumented;
+        for (Player player : players) {
+            player.setInstrumented(instrumented);
+        }
+    }
+    
+    /**
+     * Attaches a listener that receives every event of this game and its players.
+     * With no listener attached, each event point costs a single null check.
+     * @param listener the listener, or null to detach
+     */
+    public void setEventListener(GameEventListener listener) {
+        this.listener = listener;
+        for (int seat = 0; seat < players.length; seat++) {
+            players[seat].setEventListener(listener, seat);
+        }
+    }
+    
+    /**
+     * Gets the card set this game is played with.
+     * @return the card set
+     */
+    public CardSet getCardSet() {
+        return cardSet;
+    }
+    
+    /**
+     * Gets the seed this game's random source was created from.
+     * @return the game seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+    
     /**
      * Gets the current turn number.
      * @return the turn count
@@ -223,7 +533,7 @@ public class Game {
      * @return player 1
      */
     public Player getPlayer1() {
-        return player1;
+        return players[0];
     }
     
     /**
@@ -231,7 +541,32 @@ public class Game {
      * @return player 2
      */
     public Player getPlayer2() {
-        return player2;
+        return players[1];
+    }
+    
+    /**
+     * Gets the player in a seat.
+     * @param seat the zero-based seat index
+     * @return the player
+     */
+    public Player getPlayer(int seat) {
+        return players[seat];
+    }
+    
+    /**
+     * Gets the number of players in the game.
+     * @return the player count
+     */
+    public int getPlayerCount() {
+        return players.length;
+    }
+    
+    /**
+     * Gets the seat of the player whose turn is next.
+     * @return the zero-based seat index
+     */
+    public int getCurrentPlayerIndex() {
+        return currentPlayerIndex;
     }
     
     /**
@@ -0,0 +1,57 @@
+package edu.brandeis.cosi103a.ip2;
+
+/**
+ * Receives a stream of events as a game is played.
+ * Every method has an empty default, so listeners only override what they need.
+ * Events are delivered synchronously on the thread executing the game.
+ */
+public interface GameEventListener {
+    /**
+     * Called when a turn begins.
+     * @param turn the turn number, starting at 1
+     * @param seat the seat of the player taking the turn
+     */
+    default void onTurnStart(int turn, int seat) {
+    }
+    
+    /**
+     * Called when a player draws a card into their hand.
+     * @param seat the seat of the drawing player
+     * @param card the type of the drawn card
+     */
+    default void onDraw(int seat, CardType card) {
+    }
+    
+    /**
+     * Called when a player plays a cryptocurrency card from their hand.
+     * @param seat the seat of the playing player
+     * @param card the type of the played card
+     */
+    default void onPlay(int seat, CardType card) {
+    }
+    
+    /**
+     * Called when a player buys a card from the supply.
+     * @param seat the seat of the buying player
+     * @param card the type of the bought card
+     * @param coins the coins the player had available
+     */
+    default void onBuy(int seat, CardType card, int coins) {
+    }
+    
+    /**
+     * Called when a player's discard pile is shuffled into a new draw pile.
+     * @param seat the seat of the player
+     * @param cardCount the number of cards reshuffled
+     */
+    default void onReshuffle(int seat, int cardCount) {
+    }
+    
+    /**
+     * Called once, after the turn that ends the game.
+     * @param turns the total number of turns played
+     * @param winnerSeat the winning seat, or -1 for a tie
+     */
+    default void onGameEnd(int turns, int winnerSeat) {
+    }
+}
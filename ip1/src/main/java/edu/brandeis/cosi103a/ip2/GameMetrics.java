@@ -0,0 +1,230 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide instrumentation for game execution.
+ * <p>
+ * When enabled, every game counts turns, reshuffles, purchases per card type,
+ * and finished games in LongAdders, and emits JDK Flight Recorder events
+ * (edu.brandeis.cosi103a.ip2.Turn,
+ * edu.brandeis.cosi103a.ip2.Buy, and edu.brandeis.cosi103a.ip2.Reshuffle, in the
+ * Automation category) that a recording can pick up. Games copied for search and
+ * games played by GeneticOptimizer, StrategyComparison, and PairedEvaluation are
+ * left out, so the numbers describe only the games being run. Metrics
+ * start enabled when the system property {@code automation.metrics} is true
+ * and can be switched at any time. When disabled, each instrumentation point
+ * costs one volatile read.
+ * <p>
+ * Buy- and cleanup-phase latency histograms are a separate switch, off unless
+ * {@code automation.metrics.timing} is true, because timing both phases costs
+ * two clock reads per turn and is most of the price of instrumentation. They
+ * are recorded only while metrics are enabled as well.
+ */
+public final class GameMetrics {
+    private static volatile boolean enabled = Boolean.getBoolean("automation.metrics");
+    private static volatile boolean timing = Boolean.getBoolean("automation.metrics.timing");
+    
+    private static final LongAdder GAMES = new LongAdder();
+    private static final LongAdder TURNS = new LongAdder();
+    private static final LongAdder RESHUFFLES = new LongAdder();
+    private static final LongAdder[] BUYS = new LongAdder[CardType.values().length];
+    private static final LatencyHistogram BUY_PHASE = new LatencyHistogram();
+    private static final LatencyHistogram CLEANUP_PHASE = new LatencyHistogram();
+    
+    static {
+        for (int i = 0; i < BUYS.length; i++) {
+            BUYS[i] = new LongAdder();
+        }
+    }
+    
+    private GameMetrics() {
+    }
+    
+    /**
+     * Starts collecting metrics and emitting events.
+     */
+    public static void enable() {
+        enabled = true;
+    }
+    
+    /**
+     * Stops collecting metrics and emitting events. Collected values are kept.
+     */
+    public static void disable() {
+        enabled = false;
+    }
+    
+    /**
+     * Checks whether metrics are being collected.
+     * @return true if instrumentation is on
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Starts recording phase latencies in the histograms while metrics are enabled.
+     */
+    public static void enableTiming() {
+        timing = true;
+    }
+    
+    /**
+     * Stops recording phase latencies. Recorded values are kept.
+     */
+    public static void disableTiming() {
+        timing = false;
+    }
+    
+    /**
+     * Checks whether phase latencies are being recorded.
+     * @return true if the histograms are switched on
+     */
+    public static boolean isTimingEnabled() {
+        return timing;
+    }
+    
+    /**
+     * Clears every counter and histogram.
+     */
+    public static void reset() {
+        GAMES.reset();
+        TURNS.reset();
+        RESHUFFLES.reset();
+        for (LongAdder buys : BUYS) {
+            buys.reset();
+        }
+        BUY_PHASE.reset();
+        CLEANUP_PHASE.reset();
+    }
+    
+    /**
+     * Records one finished turn without timing it.
+     */
+    static void recordTurn() {
+        TURNS.increment();
+    }
+    
+    /**
+     * Records one finished turn and its phase latencies.
+     * @param buyNanos the time spent in the buy phase
+     * @param cleanupNanos the time spent in the cleanup phase
+     */
+    static void recordTurn(long buyNanos, long cleanupNanos) {
+        TURNS.increment();
+        BUY_PHASE.record(buyNanos);
+        CLEANUP_PHASE.record(cleanupNanos);
+    }
+    
+    /**
+     * Records one purchase and emits its event.
+     * @param seat the buying seat
+     * @param type the card bought
+     * @param coins the coins the buyer had
+     */
+    static void recordBuy(int seat, CardType type, int coins) {
+        BUYS[type.ordinal()].increment();
+        BuyEvent event = new BuyEvent();
+        if (event.shouldCommit()) {
+            event.seat = seat;
+            event.card = type.name();
+            event.coins = coins;
+            event.commit();
+        }
+    }
+    
+    /**
+     * Records one reshuffle and emits its event.
+     * @param seat the seat whose discard pile was reshuffled
+     * @param cards the number of cards shuffled
+     */
+    static void recordReshuffle(int seat, int cards) {
+        RESHUFFLES.increment();
+        ReshuffleEvent event = new ReshuffleEvent();
+        if (event.shouldCommit()) {
+            event.seat = seat;
+            event.cards = cards;
+            event.commit();
+        }
+    }
+    
+    /**
+     * Records one finished game.
+     */
+    static void recordGame() {
+        GAMES.increment();
+    }
+    
+    /**
+     * Gets the number of finished games.
+     * @return the game count
+     */
+    public static long getGames() {
+        return GAMES.sum();
+    }
+    
+    /**
+     * Gets the number of turns played.
+     * @return the turn count
+     */
+    public static long getTurns() {
+        return TURNS.sum();
+    }
+    
+    /**
+     * Gets the number of discard-pile reshuffles.
+     * @return the reshuffle count
+     */
+    public static long getReshuffles() {
+        return RESHUFFLES.sum();
+    }
+    
+    /**
+     * Gets the number of cards of a type bought during turns.
+     * @param type the card type
+     * @return the purchase count
+     */
+    public static long getBuys(CardType type) {
+        return BUYS[type.ordinal()].sum();
+    }
+    
+    /**
+     * Gets the buy-phase latency histogram: playing coins, choosing, and buying.
+     * @return the histogram
+     */
+    public static LatencyHistogram getBuyPhaseLatency() {
+        return BUY_PHASE;
+    }
+    
+    /**
+     * Gets the cleanup-phase latency histogram: discarding and drawing a new hand.
+     * @return the histogram
+     */
+    public static LatencyHistogram getCleanupPhaseLatency() {
+        return CLEANUP_PHASE;
+    }
+    
+    /**
+     * Gets a printable summary of all metrics.
+     * @return a string with counters and latency percentiles
+     */
+    public static String getSummary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("=== GAME METRICS ===\n");
+        sb.append(String.format("Games: %d, turns: %d, reshuffles: %d%n", getGames(), getTurns(), getReshuffles()));
+        sb.append("Buys:");
+        for (CardType type : CardType.values()) {
+            sb.append(String.format(" %s=%d", type.getDisplayName(), getBuys(type)));
+        }
+        sb.append("\n");
+        appendLatency(sb, "Buy phase", BUY_PHASE);
+        appendLatency(sb, "Cleanup phase", CLEANUP_PHASE);
+        return sb.toString();
+    }
+    
+    private static void appendLatency(StringBuilder sb, String label, LatencyHistogram histogram) {
+        sb.append(String.format("%s: mean %.0f ns, p50 <= %d ns, p99 <= %d ns%n", label,
+            histogram.getMeanNanos(), histogram.getPercentileNanos(50), histogram.getPercentileNanos(99)));
+    }
+}
@@ -0,0 +1,60 @@
+package edu.brandeis.cosi103a.ip2;
+
+/**
+ * A flat copy of a game's mutable state: supply counts, every player's piles,
+ * the turn count, and whose turn is next.
+ * Snapshots are produced by {@link Game#snapshot()} and can be refilled in
+ * place by {@link Game#snapshot(GameSnapshot)}, so a search can keep reusing
+ * the same buffers. Random generators and listeners are not part of a snapshot.
+ */
+public final class GameSnapshot {
+    final int[] supplyCounts;
+    final PlayerSnapshot[] players;
+    int turnCount;
+    int currentPlayerIndex;
+    
+    /**
+     * Creates an empty snapshot for games with the given number of players.
+     * @param playerCount the number of players
+     */
+    public GameSnapshot(int playerCount) {
+        this.supplyCounts = new int[CardType.values().length];
+        this.players = new PlayerSnapshot[playerCount];
+        for (int seat = 0; seat < playerCount; seat++) {
+            players[seat] = new PlayerSnapshot();
+        }
+    }
+    
+    /**
+     * Gets the number of players captured.
+     * @return the player count
+     */
+    public int getPlayerCount() {
+        return players.length;
+    }
+    
+    /**
+     * Gets the turn count when the snapshot was taken.
+     * @return the turn count
+     */
+    public int getTurnCount() {
+        return turnCount;
+    }
+    
+    /**
+     * Gets the seat whose turn was next when the snapshot was taken.
+     * @return the zero-based seat index
+     */
+    public int getCurrentPlayerIndex() {
+        return currentPlayerIndex;
+    }
+    
+    /**
+     * Gets the captured state of one player.
+     * @param seat the zero-based seat index
+     * @return the player snapshot
+     */
+    public PlayerSnapshot getPlayer(int seat) {
+        return players[seat];
+    }
+}
@@ -0,0 +1,98 @@
+package edu.brandeis.cosi103a.ip2;
+
+/**
+ * Progress of one GeneticOptimizer generation.
+ */
+public class GenerationReport {
+    private final int generation;
+    private final StrategyGenome best;
+    private final double bestFitness;
+    private final double meanFitness;
+    private final int distinctGenomes;
+    private final int evaluated;
+    private final int cacheHits;
+    private final int stalledGenerations;
+    
+    GenerationReport(int generation, StrategyGenome best, double bestFitness, double meanFitness,
+                     int distinctGenomes, int evaluated, int cacheHits, int stalledGenerations) {
+        this.generation = generation;
+        this.best = best;
+        this.bestFitness = bestFitness;
+        this.meanFitness = meanFitness;
+        this.distinctGenomes = distinctGenomes;
+        this.evaluated = evaluated;
+        this.cacheHits = cacheHits;
+        this.stalledGenerations = stalledGenerations;
+    }
+    
+    /**
+     * Gets the generation number, starting at 0 for the initial population.
+     * @return the generation
+     */
+    public int getGeneration() {
+        return generation;
+    }
+    
+    /**
+     * Gets the fittest genome found so far.
+     * @return the best genome
+     */
+    public StrategyGenome getBest() {
+        return best;
+    }
+    
+    /**
+     * Gets the fitness of the best genome: its score rate against the opponent.
+     * @return the best fitness, between 0 and 1
+     */
+    public double getBestFitness() {
+        return bestFitness;
+    }
+    
+    /**
+     * Gets the mean fitness of this generation's population.
+     * @return the mean fitness
+     */
+    public double getMeanFitness() {
+        return meanFitness;
+    }
+    
+    /**
+     * Gets the number of different genomes in this generation's population.
+     * A population that has collapsed to a few genomes has converged.
+     * @return the distinct genome count
+     */
+    public int getDistinctGenomes() {
+        return distinctGenomes;
+    }
+    
+    /**
+     * Gets the number of genomes whose games were played this generation.
+     * @return the evaluated genome count
+     */
+    public int getEvaluated() {
+        return evaluated;
+    }
+    
+    /**
+     * Gets the number of genomes whose fitness came from the cache this generation.
+     * @return the cache hit count
+     */
+    public int getCacheHits() {
+        return cacheHits;
+    }
+    
+    /**
+     * Gets the number of generations in a row without a better best genome.
+     * @return the stall count
+     */
+    public int getStalledGenerations() {
+        return stalledGenerations;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("Generation %d: best %.4f, mean %.4f, %d distinct, %d evaluated, %d cached, stalled %d: %s",
+            generation, bestFitness, meanFitness, distinctGenomes, evaluated, cacheHits, stalledGenerations, best);
+    }
+}
@@ -0,0 +1,339 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Evolves PriorityBuyStrategy parameters with a genetic algorithm.
+ * <p>
+ * A genome's fitness is its score rate (wins plus half of ties) in two-player
+ * games against a fixed opponent, greedy by default. Every genome plays the
+ * same seeded games, so fitness is deterministic: comparisons between genomes
+ * are paired on identical shuffles, and a genome scored once never needs to be
+ * played again. Scores are kept in a fitness cache for the optimizer's lifetime.
+ * <p>
+ * Each generation, the genomes missing from the cache are evaluated together
+ * as one batch: their games are split into slices and spread over a pool of
+ * worker threads, one slice per task. The next generation keeps the elite,
+ * and fills up with children of tournament-selected parents by crossover and
+ * mutation. The run stops after the requested generations, or earlier once the
+ * best fitness has not improved for the configured number of generations.
+ * <p>
+ * Because selection favors genomes that happen to do well on the shared deals,
+ * the best fitness is an optimistic, in-sample number. {@link #validate} re-scores
+ * a genome on held-out games whose seeds never appear during evolution.
+ */
+public class GeneticOptimizer implements AutoCloseable {
+    private static final int ELITE = 2;
+    private static final int TOURNAMENT_SIZE = 3;
+    private static final double CROSSOVER_RATE = 0.8;
+    private static final double MUTATION_RATE = 0.2;
+    private static final int GAMES_PER_SLICE = 100;
+    private static final long HOLDOUT_OFFSET = 1L << 40;
+    
+    private final long seed;
+    private final int populationSize;
+    private final int gamesPerGenome;
+    private final BuyStrategy opponent;
+    private final int stallLimit;
+    private final SplittableRandom random;
+    private final ExecutorService executor;
+    private final Map<StrategyGenome, Double> fitnessCache = new ConcurrentHashMap<>();
+    private long gamesPlayed;
+    
+    /**
+     * Creates an optimizer against the greedy strategy, using every core.
+     * @param seed the seed for the evolution and the evaluation games
+     * @param populationSize the number of genomes per generation
+     * @param gamesPerGenome the number of games that score a genome
+     */
+    public GeneticOptimizer(long seed, int populationSize, int gamesPerGenome) {
+        this(seed, populationSize, gamesPerGenome, PriorityBuyStrategy.greedy(), 10,
+            Runtime.getRuntime().availableProcessors());
+    }
+    
+    /**
+     * Creates an optimizer with full control over its evaluation.
+     * @param seed the seed for the evolution and the evaluation games
+     * @param populationSize the number of genomes per generation
+     * @param gamesPerGenome the number of games that score a genome
+     * @param opponent the strategy every genome plays against; must be safe to share between threads
+     * @param stallLimit stop once the best fitness has not improved for this many generations
+     * @param threads the number of worker threads playing evaluation games
+     */
+    public GeneticOptimizer(long seed, int populationSize, int gamesPerGenome, BuyStrategy opponent,
+                            int stallLimit, int threads) {
+        if (populationSize <= ELITE) {
+            throw new IllegalArgumentException("populationSize must be larger than " + ELITE);
+        }
+        if (gamesPerGenome < 1 || stallLimit < 1 || threads < 1) {
+            throw new IllegalArgumentException("gamesPerGenome, stallLimit, and threads must be at least 1");
+        }
+        this.seed = seed;
+        this.populationSize = populationSize;
+        this.gamesPerGenome = gamesPerGenome;
+        this.opponent = opponent;
+        this.stallLimit = stallLimit;
+        this.random = new SplittableRandom(seed);
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "genetic-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * Evolves a population seeded with the greedy genome and random genomes.
+     * @param generations the maximum number of generations after the initial one
+     * @param progress receives a report after every generation, or null
+     * @return the report of the last generation, holding the best genome found
+     */
+    public GenerationReport run(int generations, Consumer<GenerationReport> progress) {
+        List<StrategyGenome> population = new ArrayList<>();
+        population.add(StrategyGenome.greedy());
+        while (population.size() < populationSize) {
+            population.add(StrategyGenome.random(random));
+        }
+        
+        StrategyGenome best = null;
+        double bestFitness = -1;
+        int stalled = 0;
+        GenerationReport report = null;
+        for (int generation = 0; generation <= generations; generation++) {
+            int cachedBefore = fitnessCache.size();
+            Set<StrategyGenome> distinct = new LinkedHashSet<>(population);
+            int hits = evaluate(distinct);
+            
+            double[] fitness = new double[population.size()];
+            double total = 0;
+            int fittest = 0;
+            for (int i = 0; i < fitness.length; i++) {
+                fitness[i] = fitnessCache.get(population.get(i));
+                total += fitness[i];
+                if (fitness[i] > fitness[fittest]) {
+                    fittest = i;
+                }
+            }
+            if (fitness[fittest] > bestFitness) {
+                best = population.get(fittest);
+                bestFitness = fitness[fittest];
+                stalled = 0;
+            } else {
+                stalled++;
+            }
+            
+            report = new GenerationReport(generation, best, bestFitness, total / fitness.length,
+                distinct.size(), fitnessCache.size() - cachedBefore, hits, stalled);
+            if (progress != null) {
+                progress.accept(report);
+            }
+            if (stalled >= stallLimit) {
+                break;
+            }
+            population = breed(population, fitness);
+        }
+        return report;
+    }
+    
+    /**
+     * Scores every genome missing from the cache in one parallel batch.
+     * @return the number of genomes found in the cache
+     */
+    private int evaluate(Set<StrategyGenome> genomes) {
+        List<StrategyGenome> pending = new ArrayList<>();
+        for (StrategyGenome genome : genomes) {
+            if (!fitnessCache.containsKey(genome)) {
+                pending.add(genome);
+            }
+        }
+        
+        List<List<Future<Double>>> futures = new ArrayList<>();
+        for (StrategyGenome genome : pending) {
+            BuyStrategy strategy = genome.toStrategy();
+            List<Future<Double>> slices = new ArrayList<>();
+            for (int start = 0; start < gamesPerGenome; start += GAMES_PER_SLICE) {
+                int from = start;
+                int to = Math.min(gamesPerGenome, start + GAMES_PER_SLICE);
+                slices.add(executor.submit(() -> playSlice(strategy, from, to)));
+            }
+            futures.add(slices);
+        }
+        
+        for (int i = 0; i < pending.size(); i++) {
+            double score = 0;
+            for (Future<Double> slice : futures.get(i)) {
+                score += await(slice);
+            }
+            fitnessCache.put(pending.get(i), score / gamesPerGenome);
+        }
+        gamesPlayed += (long) pending.size() * gamesPerGenome;
+        return genomes.size() - pending.size();
+    }
+    
+    /**
+     * Scores a genome on games that evolution never sees, for an unbiased
+     * estimate of how the selected genome really performs.
+     * @param genome the genome, usually the best one found
+     * @param games the number of held-out games to play
+     * @return the genome's score rate on the held-out games
+     */
+    public double validate(StrategyGenome genome, int games) {
+        if (games < 1) {
+            throw new IllegalArgumentException("games must be at least 1");
+        }
+        BuyStrategy strategy = genome.toStrategy();
+        List<Future<Double>> slices = new ArrayList<>();
+        for (long start = 0; start < games; start += GAMES_PER_SLICE) {
+            long from = HOLDOUT_OFFSET + start;
+            long to = HOLDOUT_OFFSET + Math.min(games, start + GAMES_PER_SLICE);
+            slices.add(executor.submit(() -> playSlice(strategy, from, to)));
+        }
+        double score = 0;
+        for (Future<Double> slice : slices) {
+            score += await(slice);
+        }
+        gamesPlayed += games;
+        return score / games;
+    }
+    
+    /**
+     * Plays a range of evaluation games with the candidate in seat 0.
+     * @return the candidate's summed score
+     */
+    private double playSlice(BuyStrategy candidate, long from, long to) {
+        String[] names = Tournament.playerNames(2);
+        BuyStrategy[] strategies = {candidate, opponent};
+        double score = 0;
+        for (long i = from; i < to; i++) {
+            Game game = new Game(names, strategies, Tournament.gameSeed(seed, i));
+            game.setInstrumented(false);
+            game.playGame();
+            int mine = game.getPlayer(0).calculateTotalAPs();
+            int theirs = game.getPlayer(1).calculateTotalAPs();
+            score += mine > theirs ? 1 : mine == theirs ? 0.5 : 0;
+        }
+        return score;
+    }
+    
+    private static double await(Future<Double> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Evaluation was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("An evaluation game failed", e.getCause());
+        }
+    }
+    
+    /**
+     * Builds the next generation: the elite survive, the rest are children.
+     */
+    private List<StrategyGenome> breed(List<StrategyGenome> population, double[] fitness) {
+        Integer[] ranked = new Integer[population.size()];
+        for (int i = 0; i < ranked.length; i++) {
+            ranked[i] = i;
+        }
+        Arrays.sort(ranked, (a, b) -> Double.compare(fitness[b], fitness[a]));
+        
+        List<StrategyGenome> next = new ArrayList<>(populationSize);
+        Set<StrategyGenome> elite = new HashSet<>();
+        for (int i = 0; i < ranked.length && elite.size() < ELITE; i++) {
+            if (elite.add(population.get(ranked[i]))) {
+                next.add(population.get(ranked[i]));
+            }
+        }
+        while (next.size() < populationSize) {
+            StrategyGenome parent = select(population, fitness);
+            StrategyGenome child = random.nextDouble() < CROSSOVER_RATE
+                ? parent.crossover(select(population, fitness), random)
+                : parent;
+            next.add(child.mutate(random, MUTATION_RATE));
+        }
+        return next;
+    }
+    
+    private StrategyGenome select(List<StrategyGenome> population, double[] fitness) {
+        int winner = random.nextInt(population.size());
+        for (int i = 1; i < TOURNAMENT_SIZE; i++) {
+            int challenger = random.nextInt(population.size());
+            if (fitness[challenger] > fitness[winner]) {
+                winner = challenger;
+            }
+        }
+        return population.get(winner);
+    }
+    
+    /**
+     * Gets the cached fitness of a genome.
+     * @param genome the genome
+     * @return its fitness, or -1 if it has not been evaluated
+     */
+    public double getFitness(StrategyGenome genome) {
+        return fitnessCache.getOrDefault(genome, -1.0);
+    }
+    
+    /**
+     * Gets the number of distinct genomes evaluated so far.
+     * @return the fitness cache size
+     */
+    public int getEvaluatedGenomes() {
+        return fitnessCache.size();
+    }
+    
+    /**
+     * Gets the number of evaluation games played so far.
+     * @return the game count
+     */
+    public long getGamesPlayed() {
+        return gamesPlayed;
+    }
+    
+    /**
+     * Stops the worker threads.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+    
+    /**
+     * Runs the optimizer from the command line and prints its progress.
+     * @param args generations, population size, games per genome, and seed
+     */
+    public static void main(String[] args) {
+        int generations = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        int population = args.length > 1 ? Integer.parseInt(args[1]) : 40;
+        int games = args.length > 2 ? Integer.parseInt(args[2]) : 2000;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+        
+        try (GeneticOptimizer optimizer = new GeneticOptimizer(seed, population, games)) {
+            System.out.printf("Evolving %d genomes for up to %d generations, %d games each (seed %d)...%n%n",
+                population, generations, games, seed);
+            long start = System.nanoTime();
+            GenerationReport last = optimizer.run(generations, System.out::println);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            
+            System.out.println();
+            System.out.println("Best strategy: " + last.getBest());
+            double heldOut = optimizer.validate(last.getBest(), games);
+            System.out.printf("Score rate vs greedy: %.4f on the evolution games (in-sample), "
+                + "%.4f on %d held-out games%n", last.getBestFitness(), heldOut, games);
+            System.out.printf("Genomes evaluated: %d, games played: %d, elapsed %.1f s (%.0f games/s)%n",
+                optimizer.getEvaluatedGenomes(), optimizer.getGamesPlayed(), seconds,
+                optimizer.getGamesPlayed() / seconds);
+        }
+    }
+}
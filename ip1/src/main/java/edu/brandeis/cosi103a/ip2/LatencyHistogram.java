@@ -0,0 +1,89 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A concurrent latency histogram with power-of-two buckets.
+ * Bucket b counts durations in [2^(b-1), 2^b) nanoseconds, so recording is a
+ * leading-zero count and one LongAdder increment, and percentiles are accurate
+ * to within a factor of two.
+ */
+public final class LatencyHistogram {
+    private static final int BUCKETS = 64;
+    
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder totalNanos = new LongAdder();
+    
+    /**
+     * Creates an empty histogram.
+     */
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+    
+    /**
+     * Records one duration.
+     * @param nanos the duration in nanoseconds
+     */
+    public void record(long nanos) {
+        long clamped = Math.max(0, nanos);
+        buckets[Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(clamped))].increment();
+        totalNanos.add(clamped);
+    }
+    
+    /**
+     * Gets the number of recorded durations.
+     * @return the count
+     */
+    public long getCount() {
+        long count = 0;
+        for (LongAdder bucket : buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+    
+    /**
+     * Gets the mean recorded duration.
+     * @return the mean in nanoseconds, or 0 if nothing was recorded
+     */
+    public double getMeanNanos() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) totalNanos.sum() / count;
+    }
+    
+    /**
+     * Gets an upper bound for a percentile of the recorded durations.
+     * @param percentile the percentile, between 0 and 100
+     * @return the upper edge of the bucket holding that percentile, in nanoseconds
+     */
+    public long getPercentileNanos(double percentile) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+        long rank = (long) Math.ceil(total * percentile / 100);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank && counts[i] > 0) {
+                return i == 0 ? 0 : 1L << Math.min(62, i);
+            }
+        }
+        return 0;
+    }
+    
+    /**
+     * Clears all recorded durations.
+     */
+    public void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        totalNanos.reset();
+    }
+}
@@ -0,0 +1,335 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.util.SplittableRandom;
+
+/**
+ * Plays batches of Automation games in lockstep from flat, structure-of-arrays state.
+ * <p>
+ * A batch of games is set up together and then swept one turn at a time: every
+ * unfinished game plays one turn per sweep until all of them are over. Supply
+ * counts, availability masks, hands, draw and discard piles, and pile positions
+ * live in a handful of int[] and byte[] arrays indexed by game or by
+ * (game, seat), instead of one Game, CardSupply, and five CardPiles per game.
+ * <p>
+ * Every seat plays the same PriorityBuyStrategy through its DecisionTable, and
+ * card costs, values, and starting decks are copied from a CardSet into flat tables.
+ * Game i of a run uses {@link Tournament#gameSeed(long, long)} and splits its
+ * generators exactly like {@link Game}, and each step consumes them in the
+ * same order. A run therefore plays the same games, card for card, as a
+ * Tournament of Game objects with that strategy and seed.
+ */
+public class LockstepSimulator {
+    /** The default number of games played side by side. */
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+    
+    private static final int TYPE_COUNT = CardType.values().length;
+    private static final int HAND_SIZE = Game.STARTING_HAND_SIZE;
+    private static final int FRAMEWORK = CardType.FRAMEWORK.ordinal();
+    
+    private final long seed;
+    private final int seats;
+    private final int batchSize;
+    private final DecisionTable table;
+    private final int[] initialSupply;
+    private final int pileCapacity;
+    
+    // Per card type
+    private final int[] cost;
+    private final int[] coins;
+    private final int[] apValue;
+    private final boolean[] crypto;
+    private final int[] startingCount;
+    
+    // Per game
+    private final int[] supply;
+    private final int[] availableMask;
+    private final int[] currentSeat;
+    private final int[] turnCount;
+    private final SplittableRandom[] gameRandom;
+    private final int[] active;
+    
+    // Per (game, seat)
+    private final SplittableRandom[] playerRandom;
+    private final byte[] drawPile;
+    private final int[] drawPosition;
+    private final int[] drawSize;
+    private final byte[] discardPile;
+    private final int[] discardSize;
+    private final byte[] hand;
+    private final int[] handSize;
+    private final int[] aps;
+    
+    /**
+     * Creates a simulator in which every seat plays the default greedy strategy.
+     * @param seed the run seed every game seed is derived from
+     * @param players the number of players per game
+     */
+    public LockstepSimulator(long seed, int players) {
+        this(seed, players, PriorityBuyStrategy.greedy(), DEFAULT_BATCH_SIZE);
+    }
+    
+    /**
+     * Creates a simulator.
+     * @param seed the run seed every game seed is derived from
+     * @param players the number of players per game
+     * @param strategy the strategy every seat plays
+     * @param batchSize the number of games played side by side
+     */
+    public LockstepSimulator(long seed, int players, PriorityBuyStrategy strategy, int batchSize) {
+        this(seed, players, strategy, CardSet.STANDARD, batchSize);
+    }
+    
+    /**
+     * Creates a simulator for a custom card set.
+     * @param seed the run seed every game seed is derived from
+     * @param players the number of players per game
+     * @param strategy the strategy every seat plays
+     * @param cardSet the card set to play with
+     * @param batchSize the number of games played side by side
+     */
+    public LockstepSimulator(long seed, int players, PriorityBuyStrategy strategy, CardSet cardSet,
+                             int batchSize) {
+        if (players < Game.MIN_PLAYERS || players > Game.MAX_PLAYERS) {
+            throw new IllegalArgumentException(String.format(
+                "A game needs %d to %d players, got %d", Game.MIN_PLAYERS, Game.MAX_PLAYERS, players));
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be at least 1");
+        }
+        this.seed = seed;
+        this.seats = players;
+        this.batchSize = batchSize;
+        this.table = strategy.getDecisionTable(cardSet);
+        
+        this.cost = new int[TYPE_COUNT];
+        this.coins = new int[TYPE_COUNT];
+        this.apValue = new int[TYPE_COUNT];
+        this.crypto = new boolean[TYPE_COUNT];
+        this.startingCount = new int[TYPE_COUNT];
+        for (CardType type : CardType.values()) {
+            cost[type.ordinal()] = cardSet.getCost(type);
+            coins[type.ordinal()] = cardSet.getCoinValue(type);
+            apValue[type.ordinal()] = cardSet.getApValue(type);
+            crypto[type.ordinal()] = cardSet.isCryptocurrency(type);
+            startingCount[type.ordinal()] = cardSet.getStartingCount(type);
+        }
+        
+        // A player can never own more cards than the whole supply
+        CardSupply fullSupply = new CardSupply(players, cardSet);
+        this.initialSupply = new int[TYPE_COUNT];
+        int totalSupply = 0;
+        for (CardType type : CardType.values()) {
+            initialSupply[type.ordinal()] = fullSupply.getCount(type);
+            totalSupply += initialSupply[type.ordinal()];
+        }
+        this.pileCapacity = totalSupply;
+        
+        int slots = batchSize * players;
+        this.supply = new int[batchSize * TYPE_COUNT];
+        this.availableMask = new int[batchSize];
+        this.currentSeat = new int[batchSize];
+        this.turnCount = new int[batchSize];
+        this.gameRandom = new SplittableRandom[batchSize];
+        this.active = new int[batchSize];
+        this.playerRandom = new SplittableRandom[slots];
+        this.drawPile = new byte[slots * pileCapacity];
+        this.drawPosition = new int[slots];
+        this.drawSize = new int[slots];
+        this.discardPile = new byte[slots * pileCapacity];
+        this.discardSize = new int[slots];
+        this.hand = new byte[slots * HAND_SIZE];
+        this.handSize = new int[slots];
+        this.aps = new int[slots];
+    }
+    
+    /**
+     * Plays a number of games and aggregates their outcomes.
+     * @param games the number of games to play
+     * @return the aggregated statistics
+     */
+    public TournamentResult run(long games) {
+        TournamentResult result = new TournamentResult(seats);
+        int[] finalAps = new int[seats];
+        for (long first = 0; first < games; first += batchSize) {
+            int count = (int) Math.min(batchSize, games - first);
+            for (int game = 0; game < count; game++) {
+                setUp(game, Tournament.gameSeed(seed, first + game));
+                active[game] = game;
+            }
+            
+            int remaining = count;
+            while (remaining > 0) {
+                int stillActive = 0;
+                for (int i = 0; i < remaining; i++) {
+                    int game = active[i];
+                    playTurn(game);
+                    if (supply[game * TYPE_COUNT + FRAMEWORK] == 0) {
+                        System.arraycopy(aps, game * seats, finalAps, 0, seats);
+                        result.record(turnCount[game], finalAps);
+                    } else {
+                        active[stillActive++] = game;
+                    }
+                }
+                remaining = stillActive;
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Resets one game slot to a freshly initialized game, as Game's constructor and initialize() do.
+     */
+    private void setUp(int game, long gameSeed) {
+        SplittableRandom random = new SplittableRandom(gameSeed);
+        gameRandom[game] = random;
+        int base = game * TYPE_COUNT;
+        int mask = 0;
+        for (int type = 0; type < TYPE_COUNT; type++) {
+            supply[base + type] = initialSupply[type];
+            if (initialSupply[type] > 0) {
+                mask |= 1 << type;
+            }
+        }
+        availableMask[game] = mask;
+        turnCount[game] = 0;
+        
+        for (int seat = 0; seat < seats; seat++) {
+            int slot = game * seats + seat;
+            playerRandom[slot] = random.split();
+            drawPosition[slot] = 0;
+            drawSize[slot] = 0;
+            discardSize[slot] = 0;
+            handSize[slot] = 0;
+            aps[slot] = 0;
+        }
+        
+        for (int seat = 0; seat < seats; seat++) {
+            int slot = game * seats + seat;
+            for (int type = 0; type < TYPE_COUNT; type++) {
+                for (int i = 0; i < startingCount[type]; i++) {
+                    if (take(game, type)) {
+                        drawPile[slot * pileCapacity + drawSize[slot]++] = (byte) type;
+                        aps[slot] += apValue[type];
+                    }
+                }
+            }
+        }
+        
+        for (int seat = 0; seat < seats; seat++) {
+            int slot = game * seats + seat;
+            shuffle(drawPile, slot * pileCapacity, drawSize[slot], playerRandom[slot]);
+            draw(slot);
+        }
+        currentSeat[game] = random.nextInt(seats);
+    }
+    
+    /**
+     * Plays one turn of one game: play coins, buy by table, discard, and draw a new hand.
+     */
+    private void playTurn(int game) {
+        turnCount[game]++;
+        int seat = currentSeat[game];
+        int slot = game * seats + seat;
+        int handBase = slot * HAND_SIZE;
+        int size = handSize[slot];
+        
+        int totalCoins = 0;
+        for (int i = 0; i < size; i++) {
+            totalCoins += coins[hand[handBase + i]];
+        }
+        
+        // The purchase reaches the discard pile before the hand and played cards
+        CardType choice = table.lookup(totalCoins, availableMask[game]);
+        if (choice != null) {
+            int type = choice.ordinal();
+            if ((availableMask[game] & (1 << type)) != 0 && cost[type] <= totalCoins && take(game, type)) {
+                discardPile[slot * pileCapacity + discardSize[slot]++] = (byte) type;
+                aps[slot] += apValue[type];
+            }
+        }
+        
+        // Cleanup discards the cards left in hand first, then the played cryptocurrency
+        int discardBase = slot * pileCapacity;
+        for (int i = 0; i < size; i++) {
+            byte card = hand[handBase + i];
+            if (!crypto[card]) {
+                discardPile[discardBase + discardSize[slot]++] = card;
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            byte card = hand[handBase + i];
+            if (crypto[card]) {
+                discardPile[discardBase + discardSize[slot]++] = card;
+            }
+        }
+        handSize[slot] = 0;
+        draw(slot);
+        
+        currentSeat[game] = seat + 1 == seats ? 0 : seat + 1;
+    }
+    
+    /**
+     * Draws a full hand, reshuffling the discard pile into the draw pile when it runs out.
+     */
+    private void draw(int slot) {
+        int pileBase = slot * pileCapacity;
+        int handBase = slot * HAND_SIZE;
+        for (int i = 0; i < HAND_SIZE; i++) {
+            if (drawPosition[slot] == drawSize[slot]) {
+                if (discardSize[slot] == 0) {
+                    break;
+                }
+                System.arraycopy(discardPile, pileBase, drawPile, pileBase, discardSize[slot]);
+                drawSize[slot] = discardSize[slot];
+                drawPosition[slot] = 0;
+                discardSize[slot] = 0;
+                shuffle(drawPile, pileBase, drawSize[slot], playerRandom[slot]);
+            }
+            hand[handBase + handSize[slot]++] = drawPile[pileBase + drawPosition[slot]++];
+        }
+    }
+    
+    /**
+     * Removes one card from a game's supply.
+     * @return false if the pile was already empty
+     */
+    private boolean take(int game, int type) {
+        int index = game * TYPE_COUNT + type;
+        if (supply[index] == 0) {
+            return false;
+        }
+        if (--supply[index] == 0) {
+            availableMask[game] &= ~(1 << type);
+        }
+        return true;
+    }
+    
+    /**
+     * Shuffles a range of cards exactly as CardPile.shuffle does.
+     */
+    private static void shuffle(byte[] cards, int offset, int size, SplittableRandom random) {
+        for (int i = size; i > 1; i--) {
+            int a = offset + i - 1;
+            int b = offset + random.nextInt(i);
+            byte tmp = cards[a];
+            cards[a] = cards[b];
+            cards[b] = tmp;
+        }
+    }
+    
+    /**
+     * Gets the run seed.
+     * @return the seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+    
+    /**
+     * Gets the number of games played side by side.
+     * @return the batch size
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+}
@@ -0,0 +1,335 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * A buy strategy that evaluates every legal purchase with information-set
+ * Monte Carlo playouts.
+ * <p>
+ * Each playout restores a private copy of the game to the decision point and
+ * samples the hidden information: the order of the deciding player's draw pile,
+ * and each opponent's hand and draw pile. It then completes the turn with one
+ * candidate purchase and plays the game to the end with a fast rollout strategy.
+ * Candidates are chosen by UCB1. Search uses root parallelization: every worker
+ * thread runs its own statistics on its own game copy, and the visit counts are
+ * summed when the budget is spent. The most visited purchase is returned.
+ * Every worker first tries each candidate once, starting at its own offset so
+ * that small budgets still spread over all of them. That first sweep always
+ * completes, even past the time budget, so no candidate goes unsampled.
+ * <p>
+ * An instance may serve several seats of the same game, but not games running
+ * on different threads at the same time.
+ */
+public class MonteCarloBuyStrategy implements BuyStrategy, AutoCloseable {
+    private static final double DEFAULT_EXPLORATION = Math.sqrt(2);
+    private static final int MAX_PLAYOUT_TURNS = 1000;
+    
+    private final int playoutBudget;
+    private final long timeBudgetNanos;
+    private final int threads;
+    private final BuyStrategy rolloutStrategy;
+    private final double exploration;
+    private final SplittableRandom random;
+    private final ExecutorService executor;
+    
+    private long lastPlayouts;
+    private long[] lastVisits = new long[0];
+    private long lastElapsedNanos;
+    private long totalPlayouts;
+    private long totalElapsedNanos;
+    
+    /**
+     * Creates a single-threaded strategy with a fixed number of playouts per decision.
+     * @param playoutBudget the number of playouts per decision
+     * @param seed the seed for sampling hidden cards
+     */
+    public MonteCarloBuyStrategy(int playoutBudget, long seed) {
+        this(playoutBudget, 0, 1, PriorityBuyStrategy.greedy(), seed);
+    }
+    
+    /**
+     * Creates a strategy with full control over its budget and parallelism.
+     * Search stops when either budget is exhausted.
+     * @param playoutBudget the maximum number of playouts per decision
+     * @param timeBudgetMillis the maximum search time per decision, or 0 for no limit
+     * @param threads the number of worker threads searching in parallel
+     * @param rolloutStrategy the strategy every seat uses during playouts
+     * @param seed the seed for sampling hidden cards
+     */
+    public MonteCarloBuyStrategy(int playoutBudget, long timeBudgetMillis, int threads,
+                                 BuyStrategy rolloutStrategy, long seed) {
+        if (playoutBudget < 1) {
+            throw new IllegalArgumentException("playoutBudget must be at least 1");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1");
+        }
+        this.playoutBudget = playoutBudget;
+        this.timeBudgetNanos = TimeUnit.MILLISECONDS.toNanos(timeBudgetMillis);
+        this.threads = threads;
+        this.rolloutStrategy = rolloutStrategy;
+        this.exploration = DEFAULT_EXPLORATION;
+        this.random = new SplittableRandom(seed);
+        this.executor = threads == 1 ? null : Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "mcts-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    @Override
+    public CardType chooseCardToBuy(Game game, Player player, int availableCoins) {
+        CardType[] candidates = legalPurchases(game, availableCoins);
+        if (candidates.length == 1) {
+            return candidates[0];
+        }
+        
+        int seat = seatOf(game, player);
+        GameSnapshot root = game.snapshot();
+        long deadline = timeBudgetNanos > 0 ? System.nanoTime() + timeBudgetNanos : Long.MAX_VALUE;
+        long start = System.nanoTime();
+        
+        long[] visits = new long[candidates.length];
+        double[] rewards = new double[candidates.length];
+        if (executor == null) {
+            Search search = new Search(game, root, seat, candidates, availableCoins, 0, random.nextLong());
+            search.run(Math.max(playoutBudget, candidates.length), deadline);
+            search.addTo(visits, rewards);
+        } else {
+            List<Future<Search>> futures = new ArrayList<>();
+            for (int worker = 0; worker < threads; worker++) {
+                int share = Math.max(candidates.length,
+                    playoutBudget / threads + (worker < playoutBudget % threads ? 1 : 0));
+                int offset = worker * candidates.length / threads;
+                Search search = new Search(game, root, seat, candidates, availableCoins, offset,
+                    random.nextLong());
+                futures.add(executor.submit(() -> {
+                    search.run(share, deadline);
+                    return search;
+                }));
+            }
+            for (Future<Search> future : futures) {
+                await(future).addTo(visits, rewards);
+            }
+        }
+        
+        recordStatistics(visits, System.nanoTime() - start);
+        // The first sweep always completes, so at least one candidate was visited
+        return candidates[mostVisited(visits, rewards)];
+    }
+    
+    /**
+     * Lists every purchase the player may make, including buying nothing (null).
+     */
+    private static CardType[] legalPurchases(Game game, int availableCoins) {
+        List<CardType> legal = new ArrayList<>();
+        for (CardType type : CardType.values()) {
+            if (game.getSupply().isAvailable(type) && game.getCardSet().getCost(type) <= availableCoins) {
+                legal.add(type);
+            }
+        }
+        legal.add(null);
+        return legal.toArray(new CardType[0]);
+    }
+    
+    private static int seatOf(Game game, Player player) {
+        for (int seat = 0; seat < game.getPlayerCount(); seat++) {
+            if (game.getPlayer(seat) == player) {
+                return seat;
+            }
+        }
+        throw new IllegalArgumentException("Player is not seated in this game");
+    }
+    
+    private static Search await(Future<Search> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Search was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A search worker failed", e.getCause());
+        }
+    }
+    
+    /**
+     * Picks the candidate searched most, breaking ties by total reward.
+     * Candidates that were never played out are skipped.
+     * @param visits the playouts per candidate
+     * @param rewards the total reward per candidate
+     * @return the index of the best candidate, or -1 if none was visited
+     */
+    static int mostVisited(long[] visits, double[] rewards) {
+        int best = -1;
+        for (int i = 0; i < visits.length; i++) {
+            if (visits[i] == 0) {
+                continue;
+            }
+            if (best < 0 || visits[i] > visits[best]
+                    || (visits[i] == visits[best] && rewards[i] > rewards[best])) {
+                best = i;
+            }
+        }
+        return best;
+    }
+    
+    private void recordStatistics(long[] visits, long elapsedNanos) {
+        long playouts = 0;
+        for (long count : visits) {
+            playouts += count;
+        }
+        lastPlayouts = playouts;
+        lastVisits = visits;
+        lastElapsedNanos = elapsedNanos;
+        totalPlayouts += playouts;
+        totalElapsedNanos += elapsedNanos;
+    }
+    
+    /**
+     * One worker's search: a private game copy and UCB1 statistics per candidate.
+     */
+    private final class Search {
+        private final Game game;
+        private final GameSnapshot root;
+        private final int seat;
+        private final CardType[] candidates;
+        private final int availableCoins;
+        private final int offset;
+        private final long[] visits;
+        private final double[] rewards;
+        
+        Search(Game original, GameSnapshot root, int seat, CardType[] candidates,
+               int availableCoins, int offset, long seed) {
+            this.game = original.copy(seed);
+            for (int other = 0; other < game.getPlayerCount(); other++) {
+                game.getPlayer(other).setBuyStrategy(rolloutStrategy);
+            }
+            this.root = root;
+            this.seat = seat;
+            this.candidates = candidates;
+            this.availableCoins = availableCoins;
+            this.offset = offset;
+            this.visits = new long[candidates.length];
+            this.rewards = new double[candidates.length];
+        }
+        
+        void run(int playouts, long deadline) {
+            for (int i = 0; i < playouts && (i < candidates.length || System.nanoTime() < deadline); i++) {
+                int choice = select(i);
+                rewards[choice] += playout(candidates[choice]);
+                visits[choice]++;
+            }
+        }
+        
+        /**
+         * Tries every candidate once, starting at this worker's offset, then picks by the UCB1 bound.
+         */
+        private int select(int playoutsSoFar) {
+            if (playoutsSoFar < candidates.length) {
+                return (offset + playoutsSoFar) % candidates.length;
+            }
+            double logTotal = Math.log(playoutsSoFar);
+            int best = 0;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < candidates.length; i++) {
+                double score = rewards[i] / visits[i] + exploration * Math.sqrt(logTotal / visits[i]);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = i;
+                }
+            }
+            return best;
+        }
+        
+        /**
+         * Samples hidden cards, completes the turn with one purchase, and plays to the end.
+         * @return 1 for a win, 0.5 for a shared top score, 0 for a loss
+         */
+        private double playout(CardType purchase) {
+            game.restore(root);
+            for (int other = 0; other < game.getPlayerCount(); other++) {
+                if (other == seat) {
+                    game.getPlayer(other).shuffleDrawPile();
+                } else {
+                    game.getPlayer(other).resampleHiddenCards();
+                }
+            }
+            
+            game.completeTurn(purchase, availableCoins);
+            int limit = game.getTurnCount() + MAX_PLAYOUT_TURNS;
+            while (game.isGameInProgress() && game.getTurnCount() < limit) {
+                game.executeTurn();
+            }
+            return score();
+        }
+        
+        private double score() {
+            int mine = game.getPlayer(seat).calculateTotalAPs();
+            int bestOther = Integer.MIN_VALUE;
+            for (int other = 0; other < game.getPlayerCount(); other++) {
+                if (other != seat) {
+                    bestOther = Math.max(bestOther, game.getPlayer(other).calculateTotalAPs());
+                }
+            }
+            return mine > bestOther ? 1 : mine == bestOther ? 0.5 : 0;
+        }
+        
+        void addTo(long[] totalVisits, double[] totalRewards) {
+            for (int i = 0; i < candidates.length; i++) {
+                totalVisits[i] += visits[i];
+                totalRewards[i] += rewards[i];
+            }
+        }
+    }
+    
+    /**
+     * Gets the number of playouts run for the most recent searched decision.
+     * @return the playout count
+     */
+    public long getLastPlayouts() {
+        return lastPlayouts;
+    }
+    
+    /**
+     * Gets the playouts each candidate received in the most recent searched decision.
+     * @return the visit counts, in the order of the legal purchases
+     */
+    long[] getLastVisits() {
+        return lastVisits.clone();
+    }
+    
+    /**
+     * Gets the playout rate of the most recent searched decision.
+     * @return playouts per second, or 0 if nothing has been searched yet
+     */
+    public double getLastPlayoutsPerSecond() {
+        return lastElapsedNanos == 0 ? 0 : lastPlayouts * 1e9 / lastElapsedNanos;
+    }
+    
+    /**
+     * Gets the total number of playouts over all decisions so far.
+     * @return the playout count
+     */
+    public long getTotalPlayouts() {
+        return totalPlayouts;
+    }
+    
+    /**
+     * Gets the average playout rate over all decisions so far.
+     * @return playouts per second, or 0 if nothing has been searched yet
+     */
+    public double getPlayoutsPerSecond() {
+        return totalElapsedNanos == 0 ? 0 : totalPlayouts * 1e9 / totalElapsedNanos;
+    }
+    
+    /**
+     * Stops the worker threads.
+     */
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
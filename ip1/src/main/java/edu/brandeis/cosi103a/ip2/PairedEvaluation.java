@@ -0,0 +1,133 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Compares two buy strategies with common random numbers and mirrored seats.
+ * <p>
+ * Every game seed is played twice: once with the first strategy in seat 0, and
+ * once with the strategies swapped. Game derives each seat's shuffle generator
+ * and the starting seat from the seed alone, so the two strategies draw from
+ * exactly the same shuffle streams and each starts one game of the pair. Luck of
+ * the deal and of going first then cancels within the pair, and the pair's
+ * combined score varies far less than two independent games would.
+ */
+public class PairedEvaluation {
+    private final BuyStrategy first;
+    private final BuyStrategy second;
+    private final long seed;
+    private final int threads;
+    
+    /**
+     * Creates an evaluation that uses every core.
+     * @param first the strategy being measured; must be safe to share between threads
+     * @param second the opponent; must be safe to share between threads
+     * @param seed the seed every pair's game seed is derived from
+     */
+    public PairedEvaluation(BuyStrategy first, BuyStrategy second, long seed) {
+        this(first, second, seed, Runtime.getRuntime().availableProcessors());
+    }
+    
+    /**
+     * Creates an evaluation with a fixed number of worker threads.
+     * @param first the strategy being measured; must be safe to share between threads
+     * @param second the opponent; must be safe to share between threads
+     * @param seed the seed every pair's game seed is derived from
+     * @param threads the number of worker threads
+     */
+    public PairedEvaluation(BuyStrategy first, BuyStrategy second, long seed, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1");
+        }
+        this.first = first;
+        this.second = second;
+        this.seed = seed;
+        this.threads = threads;
+    }
+    
+    /**
+     * Plays the given number of mirrored pairs across the worker threads.
+     * @param pairs the number of seeds, each played from both seatings
+     * @return the merged statistics
+     */
+    public PairedResult run(long pairs) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<PairedResult>> futures = new ArrayList<>();
+            long next = 0;
+            for (int worker = 0; worker < threads; worker++) {
+                long start = next;
+                long end = start + pairs / threads + (worker < pairs % threads ? 1 : 0);
+                futures.add(executor.submit(() -> playPairs(start, end)));
+                next = end;
+            }
+            
+            PairedResult total = new PairedResult();
+            for (Future<PairedResult> future : futures) {
+                total.merge(future.get());
+            }
+            return total;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Evaluation was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("An evaluation game failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    private PairedResult playPairs(long start, long end) {
+        String[] names = Tournament.playerNames(2);
+        BuyStrategy[] straight = {first, second};
+        BuyStrategy[] swapped = {second, first};
+        PairedResult result = new PairedResult();
+        for (long i = start; i < end; i++) {
+            long gameSeed = Tournament.gameSeed(seed, i);
+            double inSeat0 = score(new Game(names, straight, gameSeed), 0);
+            double inSeat1 = score(new Game(names, swapped, gameSeed), 1);
+            result.record(inSeat0, inSeat1);
+        }
+        return result;
+    }
+    
+    /**
+     * Plays a game and scores one seat: 1 for a win, 0.5 for a tie, 0 for a loss.
+     */
+    private static double score(Game game, int seat) {
+        game.setInstrumented(false);
+        game.playGame();
+        int winner = game.getWinnerIndex();
+        return winner == seat ? 1 : winner == -1 ? 0.5 : 0;
+    }
+    
+    /**
+     * Measures big money (Framework, Dogecoin, Ethereum) against big money that
+     * also buys Modules, with mirrored pairs, and prints the variance reduction.
+     * @param args the number of pairs and the seed
+     */
+    public static void main(String[] args) {
+        long pairs = args.length > 0 ? Long.parseLong(args[0]) : 10_000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : System.nanoTime();
+        BuyStrategy bigMoney = new PriorityBuyStrategy(new CardType[] {
+            CardType.FRAMEWORK, CardType.DOGECOIN, CardType.ETHEREUM
+        });
+        BuyStrategy withModules = new PriorityBuyStrategy(new CardType[] {
+            CardType.FRAMEWORK, CardType.DOGECOIN, CardType.MODULE, CardType.ETHEREUM
+        });
+        
+        PairedEvaluation evaluation = new PairedEvaluation(bigMoney, withModules, seed);
+        System.out.printf("Big money vs big money with Modules, %d mirrored pairs (seed %d)...%n%n", pairs, seed);
+        long start = System.nanoTime();
+        PairedResult result = evaluation.run(pairs);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        
+        System.out.println(result.getSummary());
+        System.out.printf("Elapsed: %.2f s%n", seconds);
+    }
+}
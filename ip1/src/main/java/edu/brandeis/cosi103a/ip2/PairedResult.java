@@ -0,0 +1,179 @@
+package edu.brandeis.cosi103a.ip2;
+
+/**
+ * Statistics of a PairedEvaluation: the first strategy's score over mirrored
+ * game pairs, with the paired standard error and the one independent games would have.
+ * A game scores 1 for a win, 0.5 for a tie, and 0 for a loss.
+ */
+public class PairedResult {
+    private long pairs;
+    private double pairScoreSum;
+    private double pairScoreSquares;
+    private double gameScoreSquares;
+    private long sweeps;
+    private long splits;
+    private long losses;
+    
+    /**
+     * Creates an empty result.
+     */
+    public PairedResult() {
+    }
+    
+    /**
+     * Records one mirrored pair.
+     * @param scoreInSeat0 the first strategy's score when it sat in seat 0
+     * @param scoreInSeat1 the first strategy's score when it sat in seat 1
+     */
+    public void record(double scoreInSeat0, double scoreInSeat1) {
+        double pairScore = (scoreInSeat0 + scoreInSeat1) / 2;
+        pairs++;
+        pairScoreSum += pairScore;
+        pairScoreSquares += pairScore * pairScore;
+        gameScoreSquares += scoreInSeat0 * scoreInSeat0 + scoreInSeat1 * scoreInSeat1;
+        if (pairScore == 1) {
+            sweeps++;
+        } else if (pairScore == 0) {
+            losses++;
+        } else {
+            splits++;
+        }
+    }
+    
+    /**
+     * Adds all statistics from another result into this one.
+     * @param other the result to merge in
+     */
+    public void merge(PairedResult other) {
+        pairs += other.pairs;
+        pairScoreSum += other.pairScoreSum;
+        pairScoreSquares += other.pairScoreSquares;
+        gameScoreSquares += other.gameScoreSquares;
+        sweeps += other.sweeps;
+        splits += other.splits;
+        losses += other.losses;
+    }
+    
+    /**
+     * Gets the number of mirrored pairs played.
+     * @return the pair count
+     */
+    public long getPairs() {
+        return pairs;
+    }
+    
+    /**
+     * Gets the number of games played, two per pair.
+     * @return the game count
+     */
+    public long getGames() {
+        return 2 * pairs;
+    }
+    
+    /**
+     * Gets the number of pairs the first strategy won from both seats.
+     * @return the sweep count
+     */
+    public long getSweeps() {
+        return sweeps;
+    }
+    
+    /**
+     * Gets the number of pairs the first strategy neither swept nor lost outright.
+     * @return the split count
+     */
+    public long getSplits() {
+        return splits;
+    }
+    
+    /**
+     * Gets the number of pairs the first strategy lost from both seats.
+     * @return the loss count
+     */
+    public long getLosses() {
+        return losses;
+    }
+    
+    /**
+     * Gets the first strategy's mean score per game.
+     * @return the score rate, between 0 and 1
+     */
+    public double getScoreRate() {
+        return pairs == 0 ? 0 : pairScoreSum / pairs;
+    }
+    
+    /**
+     * Gets the standard error of the score rate, treating each pair as one sample.
+     * @return the paired standard error
+     */
+    public double getStandardError() {
+        if (pairs < 2) {
+            return Double.NaN;
+        }
+        double mean = getScoreRate();
+        double variance = (pairScoreSquares - pairs * mean * mean) / (pairs - 1);
+        return Math.sqrt(Math.max(0, variance) / pairs);
+    }
+    
+    /**
+     * Gets the standard error the same number of independent, unpaired games
+     * would give, estimated from the spread of the individual game scores.
+     * @return the unpaired standard error
+     */
+    public double getUnpairedStandardError() {
+        long games = getGames();
+        if (games < 2) {
+            return Double.NaN;
+        }
+        double mean = getScoreRate();
+        double variance = (gameScoreSquares - games * mean * mean) / (games - 1);
+        return Math.sqrt(Math.max(0, variance) / games);
+    }
+    
+    /**
+     * Gets the variance reduction from pairing: how many unpaired games each
+     * paired game is worth at equal confidence.
+     * @return the ratio of unpaired to paired variance, 1 if the games never vary,
+     *         or infinite if pairing removed all variance
+     */
+    public double getVarianceReduction() {
+        double paired = getStandardError();
+        double unpaired = getUnpairedStandardError();
+        if (unpaired == 0) {
+            return 1;
+        }
+        return unpaired * unpaired / (paired * paired);
+    }
+    
+    /**
+     * Gets the number of independent games that would reach the same standard error.
+     * @return the equivalent unpaired game count
+     */
+    public double getEquivalentUnpairedGames() {
+        return getGames() * getVarianceReduction();
+    }
+    
+    /**
+     * Gets the half-width of a normal confidence interval around the score rate.
+     * @param z the standard normal quantile, for example 1.96 for 95%
+     * @return the half-width
+     */
+    public double getConfidenceHalfWidth(double z) {
+        return z * getStandardError();
+    }
+    
+    /**
+     * Gets a printable summary of the evaluation.
+     * @return a multi-line summary
+     */
+    public String getSummary() {
+        return String.format("=== PAIRED EVALUATION ===%n"
+                + "Pairs: %d (%d games): swept %d, split %d, lost %d%n"
+                + "First score rate: %.4f +/- %.4f (95%%)%n"
+                + "Standard error: paired %.5f, unpaired %.5f%n"
+                + "Variance reduction: %.2fx (worth %.0f independent games)%n",
+            pairs, getGames(), sweeps, splits, losses, getScoreRate(), getConfidenceHalfWidth(1.96),
+            getStandardError(), getUnpairedStandardError(), getVarianceReduction(),
+            getEquivalentUnpairedGames());
+    }
+}
@@ -1,30 +1,86 @@
 package edu.brandeis.cosi103a.ip2;
 
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Represents a player in Automation: The Game.
  * Manages the player's deck (draw pile, hand, discard pile) and purchased cards.
+ * Piles are stored as compact CardType ordinal buffers, so drawing, playing,
+ * discarding, and reshuffling allocate nothing once the deck has reached its size.
+ * Each pile keeps running per-type counts, so coin and AP totals and deck
+ * composition queries take constant time.
  */
 public class Player {
+    private static final int TYPE_COUNT = CardType.values().length;
+    
     private final String name;
-    private final Deque<Card> drawPile;      // Cards to be drawn
-    private final List<Card> hand;            // Cards in current hand
-    private final List<Card> playedCards;    // Cards played this turn
-    private final Deque<Card> discardPile;   // Discarded cards (will be reshuffled)
-    private final List<Card> purchasedCards; // All cards purchased during the game
+    private CardPile drawPile;               // Cards to be drawn
+    private final CardPile hand;             // Cards in current hand
+    private final CardPile playedCards;      // Cards played this turn
+    private CardPile discardPile;            // Discarded cards (will be reshuffled)
+    private final CardPile purchasedCards;   // All cards purchased during the game
+    private final RandomGenerator random;    // Source for all of this player's shuffles
+    private final CardSet cardSet;           // Coin and AP values of every card
+    private BuyStrategy buyStrategy;         // Decides what to buy each turn
+    private GameEventListener listener;      // Receives draw/play/reshuffle events, or null
+    private int seat;                        // Seat reported with this player's events
+    private boolean instrumented = true;     // Whether reshuffles count toward GameMetrics
     
     /**
-     * Creates a new player with the given name.
+     * Creates a new player with the given name and a randomly seeded shuffle source.
      * @param name the player's name
      */
     public Player(String name) {
+        this(name, new SplittableRandom(ThreadLocalRandom.current().nextLong()));
+    }
+    
+    /**
+     * Creates a new player with the given name and shuffle source.
+     * @param name the player's name
+     * @param random the generator used for every shuffle of this player's cards
+     */
+    public Player(String name, RandomGenerator random) {
+        this(name, random, CardSet.STANDARD);
+    }
+    
+    /**
+     * Creates a new player whose cards follow a custom card set.
+     * @param name the player's name
+     * @param random the generator used for every shuffle of this player's cards
+     * @param cardSet the card set giving each card's coin and AP value
+     */
+    public Player(String name, RandomGenerator random, CardSet cardSet) {
         this.name = name;
-        this.drawPile = new LinkedList<>();
-        this.hand = new ArrayList<>();
-        this.playedCards = new ArrayList<>();
-        this.discardPile = new LinkedList<>();
-        this.purchasedCards = new ArrayList<>();
+        this.random = random;
+        this.cardSet = cardSet;
+        this.buyStrategy = PriorityBuyStrategy.greedy();
+        this.drawPile = new CardPile();
+        this.hand = new CardPile();
+        this.playedCards = new CardPile();
+        this.discardPile = new CardPile();
+        this.purchasedCards = new CardPile();
+    }
+    
+    /**
+     * Creates a copy of a player whose piles share storage with the original
+     * until either side changes them. The copy keeps the name, card set,
+     * strategy, and seat, and has no listener.
+     * @param source the player to copy
+     * @param random the generator for the copy's shuffles
+     */
+    Player(Player source, RandomGenerator random) {
+        this.name = source.name;
+        this.random = random;
+        this.cardSet = source.cardSet;
+        this.buyStrategy = source.buyStrategy;
+        this.drawPile = new CardPile(source.drawPile);
+        this.hand = new CardPile(source.hand);
+        this.playedCards = new CardPile(source.playedCards);
+        this.discardPile = new CardPile(source.discardPile);
+        this.purchasedCards = new CardPile(source.purchasedCards);
+        this.seat = source.seat;
     }
     
     /**
@@ -35,14 +91,57 @@ public class Player {
         return name;
     }
     
+    /**
+     * Gets the card set this player's cards are valued by.
+     * @return the card set
+     */
+    public CardSet getCardSet() {
+        return cardSet;
+    }
+    
+    /**
+     * Gets the strategy this player uses to choose purchases.
+     * @return the buy strategy
+     */
+    public BuyStrategy getBuyStrategy() {
+        return buyStrategy;
+    }
+    
+    /**
+     * Sets the strategy this player uses to choose purchases.
+     * @param buyStrategy the buy strategy
+     */
+    public void setBuyStrategy(BuyStrategy buyStrategy) {
+        this.buyStrategy = Objects.requireNonNull(buyStrategy);
+    }
+    
+    /**
+     * Attaches the listener that receives this player's draw, play, and reshuffle events.
+     * @param listener the listener, or null to stop emitting events
+     * @param seat the seat reported with each event
+     */
+    void setEventListener(GameEventListener listener, int seat) {
+        this.listener = listener;
+        this.seat = seat;
+    }
+    
+    /**
+     * Sets whether this player's reshuffles count toward GameMetrics.
+     * @param instrumented false to keep this player out of the metrics
+     */
+    void setInstrumented(boolean instrumented) {
+        this.instrumented = instrumented;
+    }
+    
     /**
      * Adds a card to the player's purchased cards list.
      * The card goes into the discard pile and will be shuffled into the draw pile.
      * @param card the card to purchase
      */
     public void purchaseCard(Card card) {
-        purchasedCards.add(card);
-        discardPile.addLast(card);
+        int ordinal = card.getType().ordinal();
+        purchasedCards.addLast(ordinal);
+        discardPile.addLast(ordinal);
     }
     
     /**
@@ -50,8 +149,9 @@ public class Player {
      * @param card the card to add
      */
     public void addStartingCard(Card card) {
-        purchasedCards.add(card);
-        drawPile.addLast(card);
+        int ordinal = card.getType().ordinal();
+        purchasedCards.addLast(ordinal);
+        drawPile.addLast(ordinal);
     }
     
     /**
@@ -69,30 +169,51 @@ public class Player {
                 }
                 reshuffleDiscardPile();
             }
-            Card card = drawPile.removeFirst();
-            hand.add(card);
+            int ordinal = drawPile.removeFirst();
+            hand.addLast(ordinal);
+            if (listener != null) {
+                listener.onDraw(seat, CardType.fromOrdinal(ordinal));
+            }
         }
     }
     
     /**
      * Reshuffles the discard pile into the draw pile.
+     * The draw pile is empty at this point, so the two buffers simply trade places.
      */
     private void reshuffleDiscardPile() {
-        List<Card> cardsToReshuffle = new ArrayList<>(discardPile);
-        Collections.shuffle(cardsToReshuffle);
-        drawPile.clear();
-        drawPile.addAll(cardsToReshuffle);
+        CardPile emptied = drawPile;
+        drawPile = discardPile;
+        discardPile = emptied;
         discardPile.clear();
+        drawPile.shuffle(random);
+        if (listener != null) {
+            listener.onReshuffle(seat, drawPile.size());
+        }
+        if (instrumented && GameMetrics.isEnabled()) {
+            GameMetrics.recordReshuffle(seat, drawPile.size());
+        }
     }
     
     /**
      * Shuffles the current draw pile.
      */
     public void shuffleDrawPile() {
-        List<Card> cards = new ArrayList<>(drawPile);
-        Collections.shuffle(cards);
-        drawPile.clear();
-        drawPile.addAll(cards);
+        drawPile.shuffle(random);
+    }
+    
+    /**
+     * Returns the hand to the draw pile, shuffles it, and redraws a hand of the same size.
+     * Search-based strategies use this on copies of opponents to sample one of the
+     * hands they could be holding, consistent with everything publicly known.
+     */
+    void resampleHiddenCards() {
+        int handSize = hand.size();
+        hand.moveAllTo(drawPile);
+        drawPile.shuffle(random);
+        for (int i = 0; i < handSize; i++) {
+            hand.addLast(drawPile.removeFirst());
+        }
     }
     
     /**
@@ -100,7 +221,7 @@ public class Player {
      * @return a copy of the hand list
      */
     public List<Card> getHand() {
-        return new ArrayList<>(hand);
+        return toCards(hand);
     }
     
     /**
@@ -116,7 +237,7 @@ public class Player {
      * @return a copy of the played cards list
      */
     public List<Card> getPlayedCards() {
-        return new ArrayList<>(playedCards);
+        return toCards(playedCards);
     }
     
     /**
@@ -125,9 +246,10 @@ public class Player {
      */
     public List<Card> getCryptocurrencyCardsFromHand() {
         List<Card> crypto = new ArrayList<>();
-        for (Card card : hand) {
-            if (card.isCryptocurrency()) {
-                crypto.add(card);
+        for (int i = 0; i < hand.size(); i++) {
+            int ordinal = hand.get(i);
+            if (cardSet.isCryptocurrency(ordinal)) {
+                crypto.add(Card.of(CardType.fromOrdinal(ordinal)));
             }
         }
         return crypto;
@@ -139,10 +261,8 @@ public class Player {
      */
     public int calculateTotalCoins() {
         int totalCoins = 0;
-        for (Card card : hand) {
-            if (card.isCryptocurrency()) {
-                totalCoins += card.getValue();
-            }
+        for (int ordinal = 0; ordinal < TYPE_COUNT; ordinal++) {
+            totalCoins += hand.count(ordinal) * cardSet.coinValue(ordinal);
         }
         return totalCoins;
     }
@@ -150,21 +270,27 @@ public class Player {
     /**
      * Plays all cryptocurrency cards from the hand to the played area.
      * This removes them from hand and adds them to playedCards.
+     * The hand is compacted in a single pass, keeping the order of the remaining cards.
      * @return the total coin value from played cryptocurrency cards
      */
     public int playAllCryptocurrencyCards() {
         int totalCoins = 0;
-        List<Card> toPlay = new ArrayList<>();
+        int kept = 0;
         
-        for (Card card : hand) {
-            if (card.isCryptocurrency()) {
-                toPlay.add(card);
-                totalCoins += card.getValue();
+        for (int i = 0; i < hand.size(); i++) {
+            int ordinal = hand.get(i);
+            if (cardSet.isCryptocurrency(ordinal)) {
+                playedCards.addLast(ordinal);
+                totalCoins += cardSet.coinValue(ordinal);
+                if (listener != null) {
+                    listener.onPlay(seat, CardType.fromOrdinal(ordinal));
+                }
+            } else {
+                hand.set(kept++, ordinal);
             }
         }
         
-        hand.removeAll(toPlay);
-        playedCards.addAll(toPlay);
+        hand.truncate(kept);
         return totalCoins;
     }
     
@@ -172,10 +298,8 @@ public class Player {
      * Discards the entire hand and all played cards to the discard pile.
      */
     public void discardHand() {
-        discardPile.addAll(hand);
-        discardPile.addAll(playedCards);
-        hand.clear();
-        playedCards.clear();
+        hand.moveAllTo(discardPile);
+        playedCards.moveAllTo(discardPile);
     }
     
     /**
@@ -183,7 +307,7 @@ public class Player {
      * @return a list of all purchased cards
      */
     public List<Card> getAllCards() {
-        return new ArrayList<>(purchasedCards);
+        return toCards(purchasedCards);
     }
     
     /**
@@ -192,14 +316,72 @@ public class Player {
      */
     public int calculateTotalAPs() {
         int totalAPs = 0;
-        for (Card card : purchasedCards) {
-            if (!card.isCryptocurrency()) {
-                totalAPs += card.getValue();
-            }
+        for (int ordinal = 0; ordinal < TYPE_COUNT; ordinal++) {
+            totalAPs += purchasedCards.count(ordinal) * cardSet.apValue(ordinal);
         }
         return totalAPs;
     }
     
+    /**
+     * Gets how many cards of a type the player owns across all piles.
+     * @param type the card type
+     * @return the count in the whole deck
+     */
+    public int getCardCount(CardType type) {
+        return purchasedCards.count(type.ordinal());
+    }
+    
+    /**
+     * Gets how many cards of a type are in the player's hand.
+     * @param type the card type
+     * @return the count in hand
+     */
+    public int getHandCount(CardType type) {
+        return hand.count(type.ordinal());
+    }
+    
+    /**
+     * Gets how many cards of a type are waiting in the draw pile.
+     * @param type the card type
+     * @return the count in the draw pile
+     */
+    public int getDrawPileCount(CardType type) {
+        return drawPile.count(type.ordinal());
+    }
+    
+    /**
+     * Gets how many cards of a type are in the discard pile.
+     * @param type the card type
+     * @return the count in the discard pile
+     */
+    public int getDiscardPileCount(CardType type) {
+        return discardPile.count(type.ordinal());
+    }
+    
+    /**
+     * Gets the number of cards the player owns.
+     * @return the deck size
+     */
+    public int getDeckSize() {
+        return purchasedCards.size();
+    }
+    
+    /**
+     * Gets the number of cards in the draw pile.
+     * @return the draw pile size
+     */
+    public int getDrawPileSize() {
+        return drawPile.size();
+    }
+    
+    /**
+     * Gets the number of cards in the discard pile.
+     * @return the discard pile size
+     */
+    public int getDiscardPileSize() {
+        return discardPile.size();
+    }
+    
     /**
      * Gets a summary of the player's deck composition.
      * @return a string showing the player's cards
@@ -208,20 +390,70 @@ public class Player {
         StringBuilder sb = new StringBuilder();
         sb.append(name).append("'s Deck:\n");
         
-        // Count cards by type
-        Map<CardType, Integer> cardCounts = new HashMap<>();
-        for (Card card : purchasedCards) {
-            cardCounts.put(card.getType(), cardCounts.getOrDefault(card.getType(), 0) + 1);
-        }
-        
         for (CardType type : CardType.values()) {
-            int count = cardCounts.getOrDefault(type, 0);
+            int count = purchasedCards.count(type.ordinal());
             if (count > 0) {
-                sb.append(String.format("  %s: %d\n", type.getDisplayName(), count));
+                sb.append(String.format("  %s: %d\n", cardSet.getDisplayName(type), count));
             }
         }
         
         sb.append(String.format("Total APs: %d\n", calculateTotalAPs()));
         return sb.toString();
     }
+    
+    /**
+     * Copies this player's piles into a new snapshot.
+     * @return the snapshot
+     */
+    public PlayerSnapshot snapshot() {
+        return snapshot(new PlayerSnapshot());
+    }
+    
+    /**
+     * Copies this player's piles into an existing snapshot, reusing its buffer.
+     * @param into the snapshot to overwrite
+     * @return the same snapshot
+     */
+    public PlayerSnapshot snapshot(PlayerSnapshot into) {
+        into.ensureCapacity(drawPile.size() + hand.size() + playedCards.size()
+            + discardPile.size() + purchasedCards.size());
+        int offset = 0;
+        offset += into.pileSizes[PlayerSnapshot.DRAW] = drawPile.copyTo(into.cards, offset);
+        offset += into.pileSizes[PlayerSnapshot.HAND] = hand.copyTo(into.cards, offset);
+        offset += into.pileSizes[PlayerSnapshot.PLAYED] = playedCards.copyTo(into.cards, offset);
+        offset += into.pileSizes[PlayerSnapshot.DISCARD] = discardPile.copyTo(into.cards, offset);
+        into.pileSizes[PlayerSnapshot.PURCHASED] = purchasedCards.copyTo(into.cards, offset);
+        return into;
+    }
+    
+    /**
+     * Replaces this player's piles with the contents of a snapshot.
+     * The shuffle source and strategy are left untouched.
+     * @param from the snapshot to restore
+     */
+    public void restore(PlayerSnapshot from) {
+        int offset = 0;
+        drawPile.copyFrom(from.cards, offset, from.pileSizes[PlayerSnapshot.DRAW]);
+        offset += from.pileSizes[PlayerSnapshot.DRAW];
+        hand.copyFrom(from.cards, offset, from.pileSizes[PlayerSnapshot.HAND]);
+        offset += from.pileSizes[PlayerSnapshot.HAND];
+        playedCards.copyFrom(from.cards, offset, from.pileSizes[PlayerSnapshot.PLAYED]);
+        offset += from.pileSizes[PlayerSnapshot.PLAYED];
+        discardPile.copyFrom(from.cards, offset, from.pileSizes[PlayerSnapshot.DISCARD]);
+        offset += from.pileSizes[PlayerSnapshot.DISCARD];
+        purchasedCards.copyFrom(from.cards, offset, from.pileSizes[PlayerSnapshot.PURCHASED]);
+    }
+    
+    /**
+     * Converts a pile of card ordinals into a new list of cards.
+     * @param pile the pile to convert
+     * @return a list of cards in pile order
+     */
+    private static List<Card> toCards(CardPile pile) {
+        List<Card> cards = new ArrayList<>(pile.size());
+        for (int i = 0; i < pile.size(); i++) {
+            cards.add(Card.of(CardType.fromOrdinal(pile.get(i))));
+        }
+        return cards;
+    }
 }
@@ -0,0 +1,46 @@
+package edu.brandeis.cosi103a.ip2;
+
+/**
+ * A flat copy of one player's piles.
+ * All five piles (draw, hand, played, discard, purchased) are stored back to
+ * back in a single byte array of CardType ordinals, with their sizes alongside.
+ * A snapshot can be refilled repeatedly; its array only grows when a deck
+ * outgrows it.
+ */
+public final class PlayerSnapshot {
+    static final int DRAW = 0;
+    static final int HAND = 1;
+    static final int PLAYED = 2;
+    static final int DISCARD = 3;
+    static final int PURCHASED = 4;
+    static final int PILE_COUNT = 5;
+    
+    byte[] cards;
+    final int[] pileSizes;
+    
+    /**
+     * Creates an empty snapshot to be filled by {@link Player#snapshot(PlayerSnapshot)}.
+     */
+    public PlayerSnapshot() {
+        this.cards = new byte[64];
+        this.pileSizes = new int[PILE_COUNT];
+    }
+    
+    /**
+     * Makes sure the card array can hold the given number of cards.
+     * @param capacity the number of cards required
+     */
+    void ensureCapacity(int capacity) {
+        if (cards.length < capacity) {
+            cards = new byte[Math.max(capacity, cards.length * 2)];
+        }
+    }
+    
+    /**
+     * Gets the number of cards the player owned when the snapshot was taken.
+     * @return the deck size
+     */
+    public int getDeckSize() {
+        return pileSizes[PURCHASED];
+    }
+}
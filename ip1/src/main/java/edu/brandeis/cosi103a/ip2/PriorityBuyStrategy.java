@@ -0,0 +1,164 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Buys the first card in a fixed priority order that is available and affordable.
+ * Each card type may also require a minimum coin total before it is considered.
+ * The rules are compiled into a DecisionTable when the strategy is created, so
+ * instances are immutable and can be shared between games and threads.
+ * Games with a custom CardSet get a table of their own, compiled on first use.
+ * Those tables are kept in a least-recently-used cache of {@value #MAX_CUSTOM_TABLES}
+ * card sets, compared by value, so the shared greedy instance cannot pin every
+ * card set a long-running process loads, and a sweep over many sets compiles
+ * each one only once. The last table handed out is remembered outside the
+ * cache's lock, so a game's repeated lookups do not contend.
+ */
+public class PriorityBuyStrategy implements BuyStrategy {
+    private static final PriorityBuyStrategy GREEDY = new PriorityBuyStrategy(new CardType[] {
+        CardType.FRAMEWORK,
+        CardType.MODULE,
+        CardType.METHOD,
+        CardType.DOGECOIN,
+        CardType.ETHEREUM,
+        CardType.BITCOIN
+    });
+    
+    /** The number of custom card set tables the cache keeps. */
+    static final int MAX_CUSTOM_TABLES = 32;
+    
+    private final CardType[] priorityOrder;
+    private final int[] minCoins;
+    private final DecisionTable table;
+    private final Map<CardSet, DecisionTable> customTables =
+        new LinkedHashMap<CardSet, DecisionTable>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CardSet, DecisionTable> eldest) {
+                return size() > MAX_CUSTOM_TABLES;
+            }
+        };
+    private volatile CustomTable lastCustom;
+    
+    /**
+     * A card set paired with its compiled table, published as one reference.
+     */
+    private static final class CustomTable {
+        final CardSet cardSet;
+        final DecisionTable table;
+        
+        CustomTable(CardSet cardSet, DecisionTable table) {
+            this.cardSet = cardSet;
+            this.table = table;
+        }
+    }
+    
+    /**
+     * Creates a strategy that buys by priority order, gated only by card cost.
+     * @param priorityOrder the card types to consider, most preferred first
+     */
+    public PriorityBuyStrategy(CardType[] priorityOrder) {
+        this(priorityOrder, new int[CardType.values().length]);
+    }
+    
+    /**
+     * Creates a strategy that buys by priority order with per-type coin thresholds.
+     * A type is only considered when the coins cover both its cost and its threshold.
+     * @param priorityOrder the card types to consider, most preferred first
+     * @param minCoins the minimum coin total for each type, indexed by ordinal
+     */
+    public PriorityBuyStrategy(CardType[] priorityOrder, int[] minCoins) {
+        if (minCoins.length != CardType.values().length) {
+            throw new IllegalArgumentException("minCoins must have one entry per card type");
+        }
+        this.priorityOrder = priorityOrder.clone();
+        this.minCoins = minCoins.clone();
+        
+        this.table = compile(CardSet.STANDARD);
+    }
+    
+    private DecisionTable compile(CardSet cardSet) {
+        int maxCoins = 0;
+        for (CardType type : CardType.values()) {
+            maxCoins = Math.max(maxCoins, Math.max(cardSet.getCost(type), minCoins[type.ordinal()]));
+        }
+        return DecisionTable.compile(maxCoins, (coins, mask) -> choose(cardSet, coins, mask));
+    }
+    
+    /**
+     * Gets the default strategy: buy the most expensive affordable card.
+     * Priority: Framework > Module > Method > Dogecoin > Ethereum > Bitcoin
+     * @return the shared greedy strategy
+     */
+    public static PriorityBuyStrategy greedy() {
+        return GREEDY;
+    }
+    
+    /**
+     * Gets the compiled decision table, for engines that look purchases up directly.
+     * @return the table
+     */
+    DecisionTable getDecisionTable() {
+        return table;
+    }
+    
+    /**
+     * Gets the decision table for a card set, compiling it on first use.
+     * @param cardSet the card set whose costs apply
+     * @return the table
+     */
+    DecisionTable getDecisionTable(CardSet cardSet) {
+        if (cardSet.equals(CardSet.STANDARD)) {
+            return table;
+        }
+        CustomTable last = lastCustom;
+        if (last != null && last.cardSet == cardSet) {
+            return last.table;
+        }
+        DecisionTable custom;
+        synchronized (customTables) {
+            custom = customTables.computeIfAbsent(cardSet, this::compile);
+        }
+        lastCustom = new CustomTable(cardSet, custom);
+        return custom;
+    }
+    
+    @Override
+    public CardType chooseCardToBuy(Game game, Player player, int availableCoins) {
+        return getDecisionTable(game.getCardSet()).lookup(availableCoins, game.getSupply().getAvailableMask());
+    }
+    
+    /**
+     * Applies the priority rules directly; used once per table entry at construction.
+     * @param cardSet the card set whose costs apply
+     * @param coins the available coins
+     * @param availableMask the supply availability mask
+     * @return the CardType to buy, or null to buy nothing
+     */
+    private CardType choose(CardSet cardSet, int coins, int availableMask) {
+        for (CardType type : priorityOrder) {
+            if ((availableMask & (1 << type.ordinal())) != 0
+                    && cardSet.getCost(type) <= coins
+                    && minCoins[type.ordinal()] <= coins) {
+                return type;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Gets the priority order.
+     * @return a copy of the card types, most preferred first
+     */
+    public CardType[] getPriorityOrder() {
+        return priorityOrder.clone();
+    }
+    
+    /**
+     * Gets the per-type coin thresholds.
+     * @return a copy of the thresholds, indexed by ordinal
+     */
+    public int[] getMinCoins() {
+        return minCoins.clone();
+    }
+}
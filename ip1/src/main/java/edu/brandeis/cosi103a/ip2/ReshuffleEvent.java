@@ -0,0 +1,19 @@
+package edu.brandeis.cosi103a.ip2;
+
+import jdk.jfr.*;
+
+/**
+ * Flight Recorder event for a discard pile shuffled into a new draw pile.
+ */
+@Name("edu.brandeis.cosi103a.ip2.Reshuffle")
+@Label("Reshuffle")
+@Category("Automation")
+@StackTrace(false)
+@Description("A discard pile shuffled into a new draw pile")
+final class ReshuffleEvent extends Event {
+    @Label("Seat")
+    int seat;
+    
+    @Label("Cards")
+    int cards;
+}
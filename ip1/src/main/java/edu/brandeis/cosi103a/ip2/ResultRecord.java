@@ -0,0 +1,98 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A read-only view of one game outcome inside a ResultStore file.
+ * Scans move a single view across the mapped records instead of creating an
+ * object per record, so a view is only valid inside the callback it was passed to.
+ * <p>
+ * Record layout, little-endian, {@value ResultStore#RECORD_SIZE} bytes:
+ * seed (8), turn count (4), winner seat or -1 (1), player count (1),
+ * strategy id per seat (2 x 6), APs per seat (2 x 6), padding (2).
+ */
+public final class ResultRecord {
+    static final int SEED = 0;
+    static final int TURNS = 8;
+    static final int WINNER = 12;
+    static final int PLAYERS = 13;
+    static final int STRATEGY_IDS = 14;
+    static final int APS = STRATEGY_IDS + 2 * Game.MAX_PLAYERS;
+    
+    private ByteBuffer buffer;
+    private int offset;
+    
+    ResultRecord() {
+    }
+    
+    /**
+     * Points this view at a record.
+     * @param buffer the mapped records
+     * @param offset the byte offset of the record in the buffer
+     */
+    void moveTo(ByteBuffer buffer, int offset) {
+        this.buffer = buffer;
+        this.offset = offset;
+    }
+    
+    /**
+     * Gets the seed the game was played with.
+     * @return the game seed
+     */
+    public long getSeed() {
+        return buffer.getLong(offset + SEED);
+    }
+    
+    /**
+     * Gets the number of turns the game took.
+     * @return the turn count
+     */
+    public int getTurnCount() {
+        return buffer.getInt(offset + TURNS);
+    }
+    
+    /**
+     * Gets the winning seat.
+     * @return the seat, or -1 for a tie
+     */
+    public int getWinner() {
+        return buffer.get(offset + WINNER);
+    }
+    
+    /**
+     * Gets the number of players in the game.
+     * @return the player count
+     */
+    public int getPlayerCount() {
+        return buffer.get(offset + PLAYERS);
+    }
+    
+    /**
+     * Gets the id of the strategy that played a seat.
+     * @param seat the seat
+     * @return the strategy id
+     */
+    public int getStrategyId(int seat) {
+        return buffer.getShort(offset + STRATEGY_IDS + 2 * seat);
+    }
+    
+    /**
+     * Gets the final Automation Points of a seat.
+     * @param seat the seat
+     * @return the APs
+     */
+    public int getAps(int seat) {
+        return buffer.getShort(offset + APS + 2 * seat);
+    }
+    
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("seed ").append(getSeed()).append(", ").append(getTurnCount()).append(" turns, winner ")
+            .append(getWinner()).append(", strategy:APs");
+        for (int seat = 0; seat < getPlayerCount(); seat++) {
+            sb.append(' ').append(getStrategyId(seat)).append(':').append(getAps(seat));
+        }
+        return sb.toString();
+    }
+}
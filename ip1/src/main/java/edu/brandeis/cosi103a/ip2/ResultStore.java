@@ -0,0 +1,376 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+/**
+ * An append-only file of fixed-width game outcomes, accessed through memory mapping.
+ * <p>
+ * Each record holds the game seed, the strategy id of every seat, the turn count,
+ * the final APs of every seat, and the winner (see ResultRecord for the layout).
+ * Nothing is kept on the heap: appends write into a mapped window of the file
+ * that moves forward as it fills, and scans map the file window by window and
+ * read fields in place through a reusable ResultRecord view. The operating system
+ * pages windows in and out, so files far larger than memory can be written and
+ * scanned. Scans split the records into windows and aggregate them on a pool of
+ * worker threads, merging one accumulator per window.
+ * <p>
+ * The record count lives in a 64-byte header that is written on flush and close.
+ * Appends are synchronized; scans see the records appended before they start.
+ * <p>
+ * Windows are plain MappedByteBuffers. Each covers a million records (40 MB) by
+ * default and is mapped on its own, so the 2 GB limit of a single buffer never
+ * bounds the file, and a window that is no longer used is simply left for the
+ * collector to unmap. The one place that matters is close(), which trims the
+ * unused tail of the last window: Windows refuses to shrink a file while a
+ * mapping of it is still live, so there the trim can fail and leave up to one
+ * window of zeroed slack after the last record. The header count is what every
+ * reader goes by, so open() and scans ignore the slack and the next append
+ * overwrites it.
+ */
+public class ResultStore implements AutoCloseable {
+    /**
+     * The size of one record in bytes.
+     */
+    public static final int RECORD_SIZE = 40;
+    
+    private static final int HEADER_SIZE = 64;
+    private static final long MAGIC = 0x4155544f52455331L; // "AUTORES1"
+    private static final int VERSION = 1;
+    private static final int DEFAULT_WINDOW_RECORDS = 1 << 20;
+    
+    private final FileChannel channel;
+    private final int windowRecords;
+    private long count;
+    private MappedByteBuffer window;
+    private long windowStart;
+    
+    private ResultStore(FileChannel channel, int windowRecords, long count) {
+        this.channel = channel;
+        this.windowRecords = windowRecords;
+        this.count = count;
+        this.windowStart = -1;
+    }
+    
+    /**
+     * Creates an empty store, replacing any existing file.
+     * @param path the file to create
+     * @return the open store
+     * @throws IOException if the file cannot be created
+     */
+    public static ResultStore create(Path path) throws IOException {
+        return create(path, DEFAULT_WINDOW_RECORDS);
+    }
+    
+    static ResultStore create(Path path, int windowRecords) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        ResultStore store = new ResultStore(channel, windowRecords, 0);
+        store.writeHeader();
+        return store;
+    }
+    
+    /**
+     * Opens an existing store; new records are appended after the stored ones.
+     * @param path the file to open
+     * @return the open store
+     * @throws IOException if the file cannot be read or is not a result store
+     */
+    public static ResultStore open(Path path) throws IOException {
+        return open(path, DEFAULT_WINDOW_RECORDS);
+    }
+    
+    static ResultStore open(Path path, int windowRecords) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+            // Keep reading until the header is complete or the file ends
+        }
+        if (header.position() < HEADER_SIZE || header.getLong(0) != MAGIC) {
+            channel.close();
+            throw new IOException(path + " is not a result store");
+        }
+        if (header.getInt(8) != VERSION || header.getInt(12) != RECORD_SIZE) {
+            channel.close();
+            throw new IOException(path + " has an unsupported version or record size");
+        }
+        return new ResultStore(channel, windowRecords, header.getLong(16));
+    }
+    
+    private void writeHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putLong(0, MAGIC);
+        header.putInt(8, VERSION);
+        header.putInt(12, RECORD_SIZE);
+        header.putLong(16, count);
+        channel.write(header, 0);
+    }
+    
+    /**
+     * Appends the outcome of a finished game.
+     * @param game the finished game
+     * @param strategyIds the id of the strategy in each seat
+     * @return the index of the new record
+     */
+    public long append(Game game, int[] strategyIds) {
+        int[] aps = new int[game.getPlayerCount()];
+        for (int seat = 0; seat < aps.length; seat++) {
+            aps[seat] = game.getPlayer(seat).calculateTotalAPs();
+        }
+        return append(game.getSeed(), strategyIds, game.getTurnCount(), aps, game.getWinnerIndex());
+    }
+    
+    /**
+     * Appends one outcome.
+     * @param seed the game seed
+     * @param strategyIds the id of the strategy in each seat, 0 to 32767
+     * @param turnCount the number of turns played
+     * @param aps the final APs of each seat, 0 to 32767
+     * @param winner the winning seat, or -1 for a tie
+     * @return the index of the new record
+     */
+    public synchronized long append(long seed, int[] strategyIds, int turnCount, int[] aps, int winner) {
+        int players = aps.length;
+        if (players < 1 || players > Game.MAX_PLAYERS || strategyIds.length != players) {
+            throw new IllegalArgumentException("Need one strategy id and AP total for each of 1 to "
+                + Game.MAX_PLAYERS + " seats");
+        }
+        if (winner < -1 || winner >= players) {
+            throw new IllegalArgumentException("winner must be a seat or -1");
+        }
+        
+        long index = count;
+        if (windowStart < 0 || index - windowStart >= windowRecords) {
+            window = map(FileChannel.MapMode.READ_WRITE, index, windowRecords);
+            windowStart = index;
+        }
+        int offset = (int) (index - windowStart) * RECORD_SIZE;
+        window.putLong(offset + ResultRecord.SEED, seed);
+        window.putInt(offset + ResultRecord.TURNS, turnCount);
+        window.put(offset + ResultRecord.WINNER, (byte) winner);
+        window.put(offset + ResultRecord.PLAYERS, (byte) players);
+        for (int seat = 0; seat < Game.MAX_PLAYERS; seat++) {
+            boolean seated = seat < players;
+            window.putShort(offset + ResultRecord.STRATEGY_IDS + 2 * seat,
+                seated ? toShort(strategyIds[seat], "strategy id") : 0);
+            window.putShort(offset + ResultRecord.APS + 2 * seat, seated ? toShort(aps[seat], "APs") : 0);
+        }
+        count = index + 1;
+        return index;
+    }
+    
+    private static short toShort(int value, String what) {
+        if (value < 0 || value > Short.MAX_VALUE) {
+            throw new IllegalArgumentException(what + " must be between 0 and " + Short.MAX_VALUE);
+        }
+        return (short) value;
+    }
+    
+    private MappedByteBuffer map(FileChannel.MapMode mode, long firstRecord, long records) {
+        try {
+            MappedByteBuffer buffer = channel.map(mode, HEADER_SIZE + firstRecord * RECORD_SIZE,
+                records * RECORD_SIZE);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            return buffer;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * Gets the number of records in the store.
+     * @return the record count
+     */
+    public synchronized long size() {
+        return count;
+    }
+    
+    /**
+     * Aggregates every record on all cores.
+     * @param <A> the accumulator type
+     * @param supplier creates an empty accumulator for each window of records
+     * @param accumulator folds one record into an accumulator; the record view is only valid during the call
+     * @param combiner merges two accumulators
+     * @return the merged accumulator
+     */
+    public <A> A scan(Supplier<A> supplier, BiConsumer<A, ResultRecord> accumulator, BinaryOperator<A> combiner) {
+        return scan(supplier, accumulator, combiner, Runtime.getRuntime().availableProcessors());
+    }
+    
+    /**
+     * Aggregates every record with a fixed number of worker threads.
+     * Windows are merged in file order, so order-sensitive combiners see a stable order.
+     * @param <A> the accumulator type
+     * @param supplier creates an empty accumulator for each window of records
+     * @param accumulator folds one record into an accumulator; the record view is only valid during the call
+     * @param combiner merges two accumulators
+     * @param threads the number of worker threads
+     * @return the merged accumulator
+     */
+    public <A> A scan(Supplier<A> supplier, BiConsumer<A, ResultRecord> accumulator, BinaryOperator<A> combiner,
+                      int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1");
+        }
+        long records;
+        synchronized (this) {
+            records = count;
+            if (window != null) {
+                window.force();
+            }
+        }
+        
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<A>> futures = new ArrayList<>();
+            for (long start = 0; start < records; start += windowRecords) {
+                long first = start;
+                long length = Math.min(windowRecords, records - start);
+                futures.add(executor.submit(() -> scanWindow(first, length, supplier, accumulator)));
+            }
+            
+            A total = supplier.get();
+            for (Future<A> future : futures) {
+                total = combiner.apply(total, future.get());
+            }
+            return total;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Scan was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A scan worker failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    private <A> A scanWindow(long first, long length, Supplier<A> supplier, BiConsumer<A, ResultRecord> accumulator) {
+        MappedByteBuffer buffer = map(FileChannel.MapMode.READ_ONLY, first, length);
+        ResultRecord record = new ResultRecord();
+        A result = supplier.get();
+        int end = (int) length * RECORD_SIZE;
+        for (int offset = 0; offset < end; offset += RECORD_SIZE) {
+            record.moveTo(buffer, offset);
+            accumulator.accept(result, record);
+        }
+        return result;
+    }
+    
+    /**
+     * Aggregates every record into tournament statistics by seat.
+     * @param seats the number of players every stored game must have
+     * @return the statistics
+     */
+    public TournamentResult toTournamentResult(int seats) {
+        return scan(() -> new SeatAccumulator(seats), SeatAccumulator::add, (a, b) -> {
+            a.result.merge(b.result);
+            return a;
+        }).result;
+    }
+    
+    /**
+     * A TournamentResult with a reusable AP buffer, so scans allocate nothing per record.
+     */
+    private static final class SeatAccumulator {
+        final TournamentResult result;
+        final int[] aps;
+        
+        SeatAccumulator(int seats) {
+            this.result = new TournamentResult(seats);
+            this.aps = new int[seats];
+        }
+        
+        void add(ResultRecord record) {
+            if (record.getPlayerCount() != aps.length) {
+                throw new IllegalStateException("Record has " + record.getPlayerCount() + " players, expected "
+                    + aps.length);
+            }
+            for (int seat = 0; seat < aps.length; seat++) {
+                aps[seat] = record.getAps(seat);
+            }
+            result.record(record.getTurnCount(), aps);
+        }
+    }
+    
+    /**
+     * Writes the record count to the header and forces all records to disk.
+     * @throws IOException if the file cannot be written
+     */
+    public synchronized void flush() throws IOException {
+        if (window != null) {
+            window.force();
+        }
+        writeHeader();
+        channel.force(false);
+    }
+    
+    /**
+     * Flushes the store, trims the unused tail of the last window if the platform
+     * allows it, and closes the file.
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flush();
+            window = null;
+            try {
+                channel.truncate(HEADER_SIZE + count * RECORD_SIZE);
+            } catch (IOException e) {
+                // Windows cannot shrink a file that is still mapped; the header
+                // count already marks where the records end, so keep the slack
+            }
+        } finally {
+            channel.close();
+        }
+    }
+    
+    /**
+     * Plays a tournament of greedy games into a store, then scans it.
+     * @param args the store file, game count, and seed
+     */
+    public static void main(String[] args) throws IOException {
+        Path path = Path.of(args.length > 0 ? args[0] : "results.bin");
+        long games = args.length > 1 ? Long.parseLong(args[1]) : 1_000_000;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+        int[] strategyIds = {0, 0};
+        
+        try (ResultStore store = create(path)) {
+            System.out.printf("Writing %d games to %s (seed %d)...%n", games, path, seed);
+            long start = System.nanoTime();
+            String[] names = Tournament.playerNames(2);
+            BuyStrategy[] strategies = {PriorityBuyStrategy.greedy(), PriorityBuyStrategy.greedy()};
+            LongStream.range(0, games).parallel().forEach(i -> {
+                Game game = new Game(names, strategies, Tournament.gameSeed(seed, i));
+                game.playGame();
+                store.append(game, strategyIds);
+            });
+            store.flush();
+            double writeSeconds = (System.nanoTime() - start) / 1e9;
+            
+            start = System.nanoTime();
+            TournamentResult result = store.toTournamentResult(2);
+            double scanSeconds = (System.nanoTime() - start) / 1e9;
+            
+            System.out.println(result.getSummary());
+            System.out.printf("Wrote %d records in %.2f s; scanned them in %.3f s (%.0f records/s)%n",
+                store.size(), writeSeconds, scanSeconds, store.size() / scanSeconds);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Compares two buy strategies head to head and stops as soon as the answer is clear.
+ * <p>
+ * Games are played in fixed-size batches on a pool of worker threads, the first
+ * strategy in seat 0 and the second in seat 1. Batch results are folded, in batch
+ * order, into a sequential probability ratio test on the decisive games (ties carry
+ * no information about which strategy is better and are skipped). Only a few
+ * batches per worker are queued at a time, so the game limit can be very large. The test weighs
+ * H1: the first strategy wins a share 0.5 + delta of decisive games, against
+ * H0: it wins 0.5 - delta. Once the log-likelihood ratio crosses Wald's bounds for
+ * the requested error rates, queued batches are cancelled and running ones stop
+ * after their current game. Batches are consumed in order, so the same seed always
+ * reaches the same verdict after the same number of counted games, regardless of
+ * thread timing. The number of games actually played, which includes the rest of
+ * the deciding batch and whatever the other workers finished, does depend on timing.
+ */
+public class StrategyComparison {
+    private static final int BATCH_SIZE = 64;
+    
+    private final BuyStrategy first;
+    private final BuyStrategy second;
+    private final long seed;
+    private final int threads;
+    
+    /**
+     * Creates a comparison that uses every core.
+     * @param first the strategy in seat 0; must be safe to share between threads
+     * @param second the strategy in seat 1; must be safe to share between threads
+     * @param seed the seed every game seed is derived from
+     */
+    public StrategyComparison(BuyStrategy first, BuyStrategy second, long seed) {
+        this(first, second, seed, Runtime.getRuntime().availableProcessors());
+    }
+    
+    /**
+     * Creates a comparison with a fixed number of worker threads.
+     * @param first the strategy in seat 0; must be safe to share between threads
+     * @param second the strategy in seat 1; must be safe to share between threads
+     * @param seed the seed every game seed is derived from
+     * @param threads the number of worker threads
+     */
+    public StrategyComparison(BuyStrategy first, BuyStrategy second, long seed, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1");
+        }
+        this.first = first;
+        this.second = second;
+        this.seed = seed;
+        this.threads = threads;
+    }
+    
+    /**
+     * Plays games until the sequential test decides or the game limit is reached.
+     * @param delta the smallest win-rate edge over 0.5 worth detecting, between 0 and 0.5
+     * @param alpha the probability of naming the first strategy better when the second is
+     * @param beta the probability of naming the second strategy better when the first is
+     * @param maxGames the most games to play, as a fixed-size comparison would
+     * @return the verdict and game counts
+     */
+    public ComparisonResult compare(double delta, double alpha, double beta, long maxGames) {
+        if (delta <= 0 || delta >= 0.5) {
+            throw new IllegalArgumentException("delta must be between 0 and 0.5");
+        }
+        if (alpha <= 0 || alpha >= 0.5 || beta <= 0 || beta >= 0.5) {
+            throw new IllegalArgumentException("alpha and beta must be between 0 and 0.5");
+        }
+        if (maxGames < 1) {
+            throw new IllegalArgumentException("maxGames must be at least 1");
+        }
+        double winStep = Math.log((0.5 + delta) / (0.5 - delta));
+        double upper = Math.log((1 - beta) / alpha);
+        double lower = Math.log(beta / (1 - alpha));
+        
+        AtomicBoolean stopped = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Deque<Future<int[]>> inFlight = new ArrayDeque<>();
+        try {
+            long nextGame = 0;
+            long played = 0;
+            long firstWins = 0;
+            long secondWins = 0;
+            long ties = 0;
+            double llr = 0;
+            ComparisonResult.Verdict verdict = ComparisonResult.Verdict.INCONCLUSIVE;
+            while (verdict == ComparisonResult.Verdict.INCONCLUSIVE) {
+                // Keep every worker busy with a couple of batches queued behind it
+                while (inFlight.size() < 2 * threads && nextGame < maxGames) {
+                    long start = nextGame;
+                    long end = Math.min(maxGames, start + BATCH_SIZE);
+                    inFlight.add(executor.submit(() -> playBatch(start, end, stopped)));
+                    nextGame = end;
+                }
+                if (inFlight.isEmpty()) {
+                    break;
+                }
+                
+                int[] outcomes = await(inFlight.poll());
+                played += outcomes.length;
+                for (int winner : outcomes) {
+                    if (winner == 0) {
+                        firstWins++;
+                        llr += winStep;
+                    } else if (winner == 1) {
+                        secondWins++;
+                        llr -= winStep;
+                    } else {
+                        ties++;
+                        continue;
+                    }
+                    if (llr >= upper) {
+                        verdict = ComparisonResult.Verdict.FIRST_BETTER;
+                        break;
+                    } else if (llr <= lower) {
+                        verdict = ComparisonResult.Verdict.SECOND_BETTER;
+                        break;
+                    }
+                }
+            }
+            
+            // Stop the other batches and count the games they finished anyway
+            stopped.set(true);
+            while (!inFlight.isEmpty()) {
+                Future<int[]> future = inFlight.poll();
+                if (!future.cancel(false)) {
+                    played += await(future).length;
+                }
+            }
+            return new ComparisonResult(verdict, firstWins, secondWins, ties, played, maxGames, llr);
+        } finally {
+            stopped.set(true);
+            for (Future<int[]> future : inFlight) {
+                future.cancel(true);
+            }
+            executor.shutdownNow();
+        }
+    }
+    
+    /**
+     * Plays one batch of games, giving up early once the comparison has stopped.
+     * @return each played game's winning seat, or -1 for a tie, in game order;
+     *         shorter than the batch if it gave up early
+     */
+    private int[] playBatch(long start, long end, AtomicBoolean stopped) {
+        String[] names = Tournament.playerNames(2);
+        BuyStrategy[] strategies = {first, second};
+        int[] outcomes = new int[(int) (end - start)];
+        for (int i = 0; i < outcomes.length; i++) {
+            if (stopped.get()) {
+                return Arrays.copyOf(outcomes, i);
+            }
+            Game game = new Game(names, strategies, Tournament.gameSeed(seed, start + i));
+            game.setInstrumented(false);
+            game.playGame();
+            outcomes[i] = game.getWinnerIndex();
+        }
+        return outcomes;
+    }
+    
+    private static int[] await(Future<int[]> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Comparison was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A comparison game failed", e.getCause());
+        }
+    }
+    
+    /**
+     * Compares the greedy strategy with big money (Framework, Dogecoin, Ethereum)
+     * and prints the verdict.
+     * @param args the game limit, seed, and delta
+     */
+    public static void main(String[] args) {
+        long maxGames = args.length > 0 ? Long.parseLong(args[0]) : 100_000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : System.nanoTime();
+        double delta = args.length > 2 ? Double.parseDouble(args[2]) : 0.02;
+        BuyStrategy bigMoney = new PriorityBuyStrategy(new CardType[] {
+            CardType.FRAMEWORK, CardType.DOGECOIN, CardType.ETHEREUM
+        });
+        
+        StrategyComparison comparison = new StrategyComparison(PriorityBuyStrategy.greedy(), bigMoney, seed);
+        System.out.printf("Greedy vs big money, up to %d games, delta %.3f, alpha = beta = 0.05 (seed %d)...%n%n",
+            maxGames, delta, seed);
+        long start = System.nanoTime();
+        ComparisonResult result = comparison.compare(delta, 0.05, 0.05, maxGames);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        
+        System.out.println(result.getSummary());
+        System.out.printf("Elapsed: %.2f s%n", seconds);
+    }
+}
@@ -0,0 +1,230 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * The parameter vector of a PriorityBuyStrategy, as evolved by GeneticOptimizer.
+ * A genome is a priority order (a permutation of every CardType) plus a minimum
+ * coin total per type. A threshold above any reachable coin total effectively
+ * removes that type from the strategy. Genomes are immutable values, so they
+ * can key the optimizer's fitness cache.
+ */
+public final class StrategyGenome {
+    /**
+     * The largest coin threshold a genome may hold.
+     */
+    public static final int MAX_MIN_COINS = 12;
+    
+    private static final int TYPE_COUNT = CardType.values().length;
+    
+    private final int[] priority;
+    private final int[] minCoins;
+    
+    private StrategyGenome(int[] priority, int[] minCoins) {
+        this.priority = priority;
+        this.minCoins = minCoins;
+    }
+    
+    /**
+     * Creates a genome from a priority order and thresholds.
+     * @param priorityOrder every card type exactly once, most preferred first
+     * @param minCoins the minimum coin total for each type, indexed by ordinal
+     * @return the genome
+     */
+    public static StrategyGenome of(CardType[] priorityOrder, int[] minCoins) {
+        int[] priority = new int[priorityOrder.length];
+        for (int i = 0; i < priority.length; i++) {
+            priority[i] = priorityOrder[i].ordinal();
+        }
+        return fromParameters(concat(priority, minCoins));
+    }
+    
+    /**
+     * Creates a genome from its flat parameter vector: the priority ordinals
+     * followed by the thresholds.
+     * @param parameters the vector, as returned by toParameters
+     * @return the genome
+     */
+    public static StrategyGenome fromParameters(int[] parameters) {
+        if (parameters.length != 2 * TYPE_COUNT) {
+            throw new IllegalArgumentException("A genome has " + 2 * TYPE_COUNT + " parameters");
+        }
+        int[] priority = Arrays.copyOf(parameters, TYPE_COUNT);
+        int[] minCoins = Arrays.copyOfRange(parameters, TYPE_COUNT, 2 * TYPE_COUNT);
+        boolean[] seen = new boolean[TYPE_COUNT];
+        for (int ordinal : priority) {
+            if (ordinal < 0 || ordinal >= TYPE_COUNT || seen[ordinal]) {
+                throw new IllegalArgumentException("Priority must list every card type once");
+            }
+            seen[ordinal] = true;
+        }
+        for (int threshold : minCoins) {
+            if (threshold < 0 || threshold > MAX_MIN_COINS) {
+                throw new IllegalArgumentException("Thresholds must be between 0 and " + MAX_MIN_COINS);
+            }
+        }
+        return new StrategyGenome(priority, minCoins);
+    }
+    
+    /**
+     * Gets the genome of the greedy strategy.
+     * @return the genome matching PriorityBuyStrategy.greedy()
+     */
+    public static StrategyGenome greedy() {
+        return of(PriorityBuyStrategy.greedy().getPriorityOrder(), new int[TYPE_COUNT]);
+    }
+    
+    /**
+     * Draws a uniformly random priority order with random thresholds.
+     * @param random the source of randomness
+     * @return the genome
+     */
+    public static StrategyGenome random(SplittableRandom random) {
+        int[] priority = new int[TYPE_COUNT];
+        int[] minCoins = new int[TYPE_COUNT];
+        for (int i = 0; i < TYPE_COUNT; i++) {
+            priority[i] = i;
+            minCoins[i] = random.nextInt(MAX_MIN_COINS + 1);
+        }
+        for (int i = TYPE_COUNT - 1; i > 0; i--) {
+            swap(priority, i, random.nextInt(i + 1));
+        }
+        return new StrategyGenome(priority, minCoins);
+    }
+    
+    /**
+     * Mutates a copy of this genome. Each priority position is swapped with a
+     * random other position, and each threshold moves by one or two coins,
+     * with the given probability.
+     * @param random the source of randomness
+     * @param rate the per-gene mutation probability
+     * @return the mutated genome
+     */
+    public StrategyGenome mutate(SplittableRandom random, double rate) {
+        int[] childPriority = priority.clone();
+        int[] childMinCoins = minCoins.clone();
+        for (int i = 0; i < TYPE_COUNT; i++) {
+            if (random.nextDouble() < rate) {
+                swap(childPriority, i, random.nextInt(TYPE_COUNT));
+            }
+            if (random.nextDouble() < rate) {
+                int step = random.nextInt(1, 3) * (random.nextBoolean() ? 1 : -1);
+                childMinCoins[i] = Math.max(0, Math.min(MAX_MIN_COINS, childMinCoins[i] + step));
+            }
+        }
+        return new StrategyGenome(childPriority, childMinCoins);
+    }
+    
+    /**
+     * Combines this genome with another. The priority order uses order
+     * crossover: a random slice comes from this genome and the remaining types
+     * follow in the other genome's order. Each threshold comes from either parent.
+     * @param other the second parent
+     * @param random the source of randomness
+     * @return the child genome
+     */
+    public StrategyGenome crossover(StrategyGenome other, SplittableRandom random) {
+        int from = random.nextInt(TYPE_COUNT);
+        int to = random.nextInt(from, TYPE_COUNT) + 1;
+        int[] childPriority = new int[TYPE_COUNT];
+        boolean[] taken = new boolean[TYPE_COUNT];
+        for (int i = from; i < to; i++) {
+            childPriority[i] = priority[i];
+            taken[priority[i]] = true;
+        }
+        int next = 0;
+        for (int ordinal : other.priority) {
+            if (!taken[ordinal]) {
+                if (next == from) {
+                    next = to;
+                }
+                childPriority[next++] = ordinal;
+            }
+        }
+        
+        int[] childMinCoins = new int[TYPE_COUNT];
+        for (int i = 0; i < TYPE_COUNT; i++) {
+            childMinCoins[i] = random.nextBoolean() ? minCoins[i] : other.minCoins[i];
+        }
+        return new StrategyGenome(childPriority, childMinCoins);
+    }
+    
+    /**
+     * Builds the strategy this genome encodes.
+     * @return a new PriorityBuyStrategy
+     */
+    public PriorityBuyStrategy toStrategy() {
+        return new PriorityBuyStrategy(getPriorityOrder(), minCoins);
+    }
+    
+    /**
+     * Gets the flat parameter vector: the priority ordinals followed by the thresholds.
+     * @return a new array of parameters
+     */
+    public int[] toParameters() {
+        return concat(priority, minCoins);
+    }
+    
+    /**
+     * Gets the priority order.
+     * @return the card types, most preferred first
+     */
+    public CardType[] getPriorityOrder() {
+        CardType[] order = new CardType[TYPE_COUNT];
+        for (int i = 0; i < TYPE_COUNT; i++) {
+            order[i] = CardType.fromOrdinal(priority[i]);
+        }
+        return order;
+    }
+    
+    /**
+     * Gets the per-type coin thresholds.
+     * @return a copy of the thresholds, indexed by ordinal
+     */
+    public int[] getMinCoins() {
+        return minCoins.clone();
+    }
+    
+    private static int[] concat(int[] first, int[] second) {
+        int[] joined = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, joined, first.length, second.length);
+        return joined;
+    }
+    
+    private static void swap(int[] array, int i, int j) {
+        int tmp = array[i];
+        array[i] = array[j];
+        array[j] = tmp;
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof StrategyGenome)) {
+            return false;
+        }
+        StrategyGenome other = (StrategyGenome) obj;
+        return Arrays.equals(priority, other.priority) && Arrays.equals(minCoins, other.minCoins);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(priority) * 31 + Arrays.hashCode(minCoins);
+    }
+    
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int ordinal : priority) {
+            if (sb.length() > 0) {
+                sb.append(" > ");
+            }
+            CardType type = CardType.fromOrdinal(ordinal);
+            sb.append(type.getDisplayName());
+            if (minCoins[ordinal] > 0) {
+                sb.append('@').append(minCoins[ordinal]);
+            }
+        }
+        return sb.toString();
+    }
+}
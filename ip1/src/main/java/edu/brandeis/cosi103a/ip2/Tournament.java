@@ -0,0 +1,167 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.LongFunction;
+
+/**
+ * Runs many independent games in parallel and aggregates their outcomes.
+ * Games are split evenly across a fixed pool of workers. Each worker creates,
+ * plays, and records its own games into a private TournamentResult, so the
+ * workers share no mutable state until the final merge.
+ * Every game is seeded from the tournament seed and its index, so a run is
+ * reproducible regardless of the number of threads.
+ */
+public class Tournament {
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    
+    private final LongFunction<Game> gameFactory;
+    private final int players;
+    private final int threads;
+    private final long seed;
+    
+    /**
+     * Creates a tournament of default two-player games using all available cores.
+     * @param seed the tournament seed every game seed is derived from
+     */
+    public Tournament(long seed) {
+        this(seed, 2);
+    }
+    
+    /**
+     * Creates a tournament of default games with the given number of players using all available cores.
+     * @param seed the tournament seed every game seed is derived from
+     * @param players the number of players per game
+     */
+    public Tournament(long seed, int players) {
+        this(seed, players, gameSeed -> new Game(playerNames(players), gameSeed),
+            Runtime.getRuntime().availableProcessors());
+    }
+    
+    /**
+     * Creates a tournament with a custom game factory.
+     * The factory is called from worker threads and must be safe to call concurrently.
+     * @param seed the tournament seed every game seed is derived from
+     * @param players the number of players in every game the factory creates
+     * @param gameFactory creates a fresh, uninitialized game from a game seed
+     * @param threads the number of worker threads
+     */
+    public Tournament(long seed, int players, LongFunction<Game> gameFactory, int threads) {
+        if (players < Game.MIN_PLAYERS || players > Game.MAX_PLAYERS) {
+            throw new IllegalArgumentException(String.format(
+                "A game needs %d to %d players, got %d", Game.MIN_PLAYERS, Game.MAX_PLAYERS, players));
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1");
+        }
+        this.seed = seed;
+        this.players = players;
+        this.gameFactory = gameFactory;
+        this.threads = threads;
+    }
+    
+    /**
+     * Plays the given number of games and returns the merged statistics.
+     * @param games the total number of games to play
+     * @return the aggregated result
+     */
+    public TournamentResult run(long games) {
+        if (games < 0) {
+            throw new IllegalArgumentException("games must not be negative");
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<TournamentResult>> futures = new ArrayList<>();
+            long first = 0;
+            for (int worker = 0; worker < threads; worker++) {
+                long start = first;
+                long end = start + games / threads + (worker < games % threads ? 1 : 0);
+                futures.add(executor.submit(() -> playGames(start, end)));
+                first = end;
+            }
+            
+            TournamentResult total = new TournamentResult(players);
+            for (Future<TournamentResult> future : futures) {
+                total.merge(future.get());
+            }
+            return total;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Tournament was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A tournament game failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    /**
+     * Plays a contiguous range of game indices on the calling worker thread.
+     * @param start the first game index (inclusive)
+     * @param end the last game index (exclusive)
+     * @return the worker's private result
+     */
+    private TournamentResult playGames(long start, long end) {
+        TournamentResult result = new TournamentResult(players);
+        for (long i = start; i < end; i++) {
+            Game game = gameFactory.apply(gameSeed(seed, i));
+            if (game.getPlayerCount() != players) {
+                throw new IllegalStateException("Expected a " + players + "-player game, got "
+                    + game.getPlayerCount() + " players");
+            }
+            game.playGame();
+            result.record(game);
+        }
+        return result;
+    }
+    
+    /**
+     * Builds default seat names ("Player 1", "Player 2", ...).
+     * @param players the number of players
+     * @return the names in seat order
+     */
+    public static String[] playerNames(int players) {
+        String[] names = new String[players];
+        for (int seat = 0; seat < players; seat++) {
+            names[seat] = "Player " + (seat + 1);
+        }
+        return names;
+    }
+    
+    /**
+     * Derives the seed of one game from the tournament seed (SplitMix64 finalizer).
+     * @param seed the tournament seed
+     * @param index the game index
+     * @return the game seed
+     */
+    public static long gameSeed(long seed, long index) {
+        long z = seed + (index + 1) * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+    
+    /**
+     * Gets the tournament seed.
+     * @return the seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+    
+    /**
+     * Gets the number of players per game.
+     * @return the player count
+     */
+    public int getPlayers() {
+        return players;
+    }
+    
+    /**
+     * Gets the number of worker threads.
+     * @return the thread count
+     */
+    public int getThreads() {
+        return threads;
+    }
+}
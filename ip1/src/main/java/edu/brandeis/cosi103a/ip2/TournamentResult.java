@@ -0,0 +1,211 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.util.Arrays;
+
+/**
+ * Aggregated statistics for a batch of completed games.
+ * Each tournament worker fills its own instance, and the instances are merged
+ * once all workers finish, so no finished Game has to be kept in memory.
+ */
+public class TournamentResult {
+    private final int seats;
+    private long games;
+    private long ties;
+    private final long[] winsBySeat;
+    private long totalTurns;
+    private long[] turnHistogram;
+    private final long[][] apHistogramBySeat;
+    
+    /**
+     * Creates an empty result for games with the given number of seats.
+     * @param seats the number of players per game
+     */
+    public TournamentResult(int seats) {
+        this.seats = seats;
+        this.winsBySeat = new long[seats];
+        this.turnHistogram = new long[128];
+        this.apHistogramBySeat = new long[seats][64];
+    }
+    
+    /**
+     * Records the outcome of one finished game.
+     * @param turnCount the number of turns the game took
+     * @param aps the final Automation Points of each seat
+     */
+    public void record(int turnCount, int[] aps) {
+        games++;
+        totalTurns += turnCount;
+        turnHistogram = increment(turnHistogram, turnCount);
+        
+        int best = 0;
+        int bestCount = 0;
+        for (int seat = 0; seat < seats; seat++) {
+            apHistogramBySeat[seat] = increment(apHistogramBySeat[seat], aps[seat]);
+            if (aps[seat] > aps[best]) {
+                best = seat;
+                bestCount = 1;
+            } else if (aps[seat] == aps[best]) {
+                bestCount++;
+            }
+        }
+        
+        if (bestCount > 1) {
+            ties++;
+        } else {
+            winsBySeat[best]++;
+        }
+    }
+    
+    /**
+     * Records the outcome of a finished game by reading its players' final state.
+     * @param game the finished game
+     */
+    public void record(Game game) {
+        int[] aps = new int[game.getPlayerCount()];
+        for (int seat = 0; seat < aps.length; seat++) {
+            aps[seat] = game.getPlayer(seat).calculateTotalAPs();
+        }
+        record(game.getTurnCount(), aps);
+    }
+    
+    /**
+     * Adds all statistics from another result into this one.
+     * @param other the result to merge in
+     */
+    public void merge(TournamentResult other) {
+        if (other.seats != seats) {
+            throw new IllegalArgumentException("Cannot merge results with different seat counts");
+        }
+        games += other.games;
+        ties += other.ties;
+        totalTurns += other.totalTurns;
+        for (int seat = 0; seat < seats; seat++) {
+            winsBySeat[seat] += other.winsBySeat[seat];
+            apHistogramBySeat[seat] = add(apHistogramBySeat[seat], other.apHistogramBySeat[seat]);
+        }
+        turnHistogram = add(turnHistogram, other.turnHistogram);
+    }
+    
+    /**
+     * Increments one bucket of a histogram, growing it if needed.
+     */
+    private static long[] increment(long[] histogram, int bucket) {
+        if (bucket >= histogram.length) {
+            histogram = Arrays.copyOf(histogram, Math.max(bucket + 1, histogram.length * 2));
+        }
+        histogram[bucket]++;
+        return histogram;
+    }
+    
+    /**
+     * Adds one histogram into another, growing the target if needed.
+     */
+    private static long[] add(long[] target, long[] source) {
+        if (source.length > target.length) {
+            target = Arrays.copyOf(target, source.length);
+        }
+        for (int i = 0; i < source.length; i++) {
+            target[i] += source[i];
+        }
+        return target;
+    }
+    
+    /**
+     * Gets the number of seats per game.
+     * @return the seat count
+     */
+    public int getSeats() {
+        return seats;
+    }
+    
+    /**
+     * Gets the number of games recorded.
+     * @return the game count
+     */
+    public long getGames() {
+        return games;
+    }
+    
+    /**
+     * Gets the number of games won outright by a seat.
+     * @param seat the zero-based seat index
+     * @return the win count
+     */
+    public long getWins(int seat) {
+        return winsBySeat[seat];
+    }
+    
+    /**
+     * Gets the number of games in which the top AP total was shared.
+     * @return the tie count
+     */
+    public long getTies() {
+        return ties;
+    }
+    
+    /**
+     * Gets the mean number of turns per game.
+     * @return the average turn count, or 0 if no games were recorded
+     */
+    public double getAverageTurns() {
+        return games == 0 ? 0 : (double) totalTurns / games;
+    }
+    
+    /**
+     * Gets how many games lasted exactly the given number of turns.
+     * @param turns the turn count
+     * @return the number of games
+     */
+    public long getTurnFrequency(int turns) {
+        return turns < turnHistogram.length ? turnHistogram[turns] : 0;
+    }
+    
+    /**
+     * Gets how many games a seat finished with exactly the given AP total.
+     * @param seat the zero-based seat index
+     * @param aps the AP total
+     * @return the number of games
+     */
+    public long getApFrequency(int seat, int aps) {
+        long[] histogram = apHistogramBySeat[seat];
+        return aps < histogram.length ? histogram[aps] : 0;
+    }
+    
+    /**
+     * Gets the mean final AP total of a seat.
+     * @param seat the zero-based seat index
+     * @return the average APs, or 0 if no games were recorded
+     */
+    public double getAverageAps(int seat) {
+        if (games == 0) {
+            return 0;
+        }
+        long[] histogram = apHistogramBySeat[seat];
+        long total = 0;
+        for (int aps = 0; aps < histogram.length; aps++) {
+            total += aps * histogram[aps];
+        }
+        return (double) total / games;
+    }
+    
+    /**
+     * Gets a printable summary of the aggregated statistics.
+     * @return a string with win rates, tie rate, and averages
+     */
+    public String getSummary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("=== TOURNAMENT RESULTS ===\n");
+        sb.append("Games played: ").append(games).append("\n");
+        for (int seat = 0; seat < seats; seat++) {
+            sb.append(String.format("Seat %d: %d wins (%.2f%%), average %.2f APs\n",
+                seat + 1, winsBySeat[seat], percent(winsBySeat[seat]), getAverageAps(seat)));
+        }
+        sb.append(String.format("Ties: %d (%.2f%%)\n", ties, percent(ties)));
+        sb.append(String.format("Average turns: %.2f\n", getAverageTurns()));
+        return sb.toString();
+    }
+    
+    private double percent(long count) {
+        return games == 0 ? 0 : 100.0 * count / games;
+    }
+}
@@ -0,0 +1,25 @@
+package edu.brandeis.cosi103a.ip2;
+
+import jdk.jfr.*;
+
+/**
+ * Flight Recorder event spanning one game turn.
+ */
+@Name("edu.brandeis.cosi103a.ip2.Turn")
+@Label("Turn")
+@Category("Automation")
+@StackTrace(false)
+@Description("One turn of Automation: buy phase and cleanup phase")
+final class TurnEvent extends Event {
+    @Label("Turn")
+    int turn;
+    
+    @Label("Seat")
+    int seat;
+    
+    @Label("Coins")
+    int coins;
+    
+    @Label("Purchase")
+    String purchase;
+}
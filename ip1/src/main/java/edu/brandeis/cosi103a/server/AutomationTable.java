@@ -0,0 +1,63 @@
+package edu.brandeis.cosi103a.server;
+
+import edu.brandeis.cosi103a.ip2.BuyStrategy;
+import edu.brandeis.cosi103a.ip2.CardType;
+import edu.brandeis.cosi103a.ip2.Game;
+import edu.brandeis.cosi103a.ip2.Player;
+import edu.brandeis.cosi103a.ip2.PriorityBuyStrategy;
+import edu.brandeis.cosi103a.ip2.Tournament;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * An Automation game where the client holds seat 0 and greedy bots fill the other seats.
+ * The client is prompted with BUY? on each of its turns and answers BUY with a
+ * card type or PASS. Unaffordable or unavailable purchases buy nothing.
+ */
+class AutomationTable extends Table implements BuyStrategy {
+    private final Game game;
+    
+    AutomationTable(int id, Connection connection, int players, long seed) {
+        super(id, connection);
+        if (players < Game.MIN_PLAYERS || players > Game.MAX_PLAYERS) {
+            // Checked before any seat array is sized from client input
+            throw new IllegalArgumentException(String.format(
+                "A game needs %d to %d players, got %d", Game.MIN_PLAYERS, Game.MAX_PLAYERS, players));
+        }
+        BuyStrategy[] strategies = new BuyStrategy[players];
+        Arrays.fill(strategies, PriorityBuyStrategy.greedy());
+        strategies[0] = this;
+        this.game = new Game(Tournament.playerNames(players), strategies, seed);
+    }
+    
+    @Override
+    protected void play() {
+        game.playGame();
+        StringBuilder result = new StringBuilder("OVER ").append(game.getWinnerIndex())
+            .append(' ').append(game.getTurnCount());
+        for (int seat = 0; seat < game.getPlayerCount(); seat++) {
+            result.append(' ').append(game.getPlayer(seat).calculateTotalAPs());
+        }
+        send(result.toString());
+    }
+    
+    @Override
+    public CardType chooseCardToBuy(Game game, Player player, int availableCoins) {
+        send("BUY? " + availableCoins + " " + game.getTurnCount());
+        while (true) {
+            String[] words = awaitMove().split("\\s+");
+            String verb = words[0].toUpperCase(Locale.ROOT);
+            if (verb.equals("PASS")) {
+                return null;
+            }
+            if (verb.equals("BUY") && words.length == 2) {
+                try {
+                    return CardType.valueOf(words[1].toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    // Fall through to the error reply
+                }
+            }
+            send("ERR expected BUY <CARD_TYPE> or PASS");
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package edu.brandeis.cosi103a.server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * One client connection: reads commands on its own virtual thread, opens
+ * tables, and forwards move lines to them.
+ * Output from the connection and all of its tables goes through one writer,
+ * guarded by a ReentrantLock rather than a monitor so a virtual thread
+ * blocked on a slow socket never pins its carrier.
+ */
+class Connection implements Runnable {
+    private final GameServer server;
+    private final Socket socket;
+    private final Writer out;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final Map<Integer, Table> tables = new ConcurrentHashMap<>();
+    private int nextTableId;
+    private volatile boolean closed;
+    
+    Connection(GameServer server, Socket socket) throws IOException {
+        this.server = server;
+        this.socket = socket;
+        this.out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+    }
+    
+    @Override
+    public void run() {
+        try (BufferedReader in = new BufferedReader(
+                new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null && handle(line.trim())) {
+                // Keep reading until the client quits or disconnects
+            }
+        } catch (IOException e) {
+            // The client went away; fall through to clean up
+        } finally {
+            close();
+            server.connectionClosed(this);
+        }
+    }
+    
+    /**
+     * Handles one command line.
+     * @return false if the client asked to quit
+     */
+    private boolean handle(String line) {
+        if (line.isEmpty()) {
+            return true;
+        }
+        String[] words = line.split("\\s+");
+        try {
+            switch (words[0].toUpperCase(Locale.ROOT)) {
+                case "QUIT":
+                    return false;
+                case "DICE":
+                    open(new DiceTable(nextTableId, this, seed(words, 1)));
+                    break;
+                case "AUTOMATION":
+                    int players = words.length > 1 ? Integer.parseInt(words[1]) : 2;
+                    open(new AutomationTable(nextTableId, this, players, seed(words, 2)));
+                    break;
+                default:
+                    forward(words[0], line.substring(words[0].length()).trim());
+                    break;
+            }
+        } catch (IllegalArgumentException e) {
+            send("ERR " + e.getMessage());
+        }
+        return true;
+    }
+    
+    private static long seed(String[] words, int index) {
+        return words.length > index ? Long.parseLong(words[index]) : ThreadLocalRandom.current().nextLong();
+    }
+    
+    private void open(Table table) {
+        nextTableId++;
+        tables.put(table.getId(), table);
+        server.tableOpened();
+        send("OK " + table.getId());
+        if (closed) {
+            // close() may have cancelled the other tables before this one was visible
+            table.cancel();
+        }
+        table.start();
+    }
+    
+    private void forward(String tableId, String move) {
+        Table table = tables.get(Integer.parseInt(tableId));
+        if (table == null) {
+            throw new IllegalArgumentException("No open table " + tableId);
+        }
+        table.offer(move);
+    }
+    
+    /**
+     * Called on a table's thread when its game ends or is abandoned.
+     */
+    void tableClosed(Table table, boolean finished) {
+        tables.remove(table.getId());
+        server.tableClosed(finished);
+    }
+    
+    /**
+     * Writes one line to the client. Write failures are ignored; the reader
+     * notices the broken connection and cleans up.
+     * @param line the line, without a terminator
+     */
+    void send(String line) {
+        writeLock.lock();
+        try {
+            out.write(line);
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            // Reported through the reading side
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    /**
+     * Closes the socket and abandons every open table.
+     */
+    void close() {
+        closed = true;
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Already closed
+        }
+        for (Table table : tables.values()) {
+            table.cancel();
+        }
+    }
+}
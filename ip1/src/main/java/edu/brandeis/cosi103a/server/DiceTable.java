@@ -0,0 +1,44 @@
+package edu.brandeis.cosi103a.server;
+
+import edu.brandeis.cosi103a.ip1.DiceGame;
+import edu.brandeis.cosi103a.ip1.DiceGameListener;
+import edu.brandeis.cosi103a.ip1.OptimalRerollSolver;
+import java.util.Locale;
+
+/**
+ * A dice game between the client (player 1) and the optimal re-roll policy (player 2).
+ * The client is prompted with ROLL for every decision and answers KEEP or REROLL.
+ */
+class DiceTable extends Table implements DiceGameListener {
+    private final DiceGame game;
+    
+    DiceTable(int id, Connection connection, long seed) {
+        super(id, connection);
+        this.game = new DiceGame(this::askClient, OptimalRerollSolver.standard().getPolicy(), seed);
+        game.setListener(this);
+    }
+    
+    @Override
+    protected void play() {
+        int winner = game.play();
+        send("OVER " + winner + " " + game.getScore(0) + " " + game.getScore(1));
+    }
+    
+    private boolean askClient(int currentValue, int rerollsUsed) {
+        send("ROLL " + currentValue + " " + rerollsUsed);
+        while (true) {
+            String move = awaitMove().toUpperCase(Locale.ROOT);
+            if (move.equals("KEEP")) {
+                return false;
+            } else if (move.equals("REROLL")) {
+                return true;
+            }
+            send("ERR expected KEEP or REROLL");
+        }
+    }
+    
+    @Override
+    public void onPlayerTurnEnd(int player, int value, int totalScore) {
+        send("KEPT " + player + " " + value + " " + totalScore);
+    }
+}
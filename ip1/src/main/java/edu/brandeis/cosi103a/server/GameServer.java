@@ -0,0 +1,168 @@
+package edu.brandeis.cosi103a.server;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A TCP server hosting live dice-game and Automation tables.
+ * <p>
+ * Every connection is served by its own virtual thread, and every table a
+ * connection opens runs its game on another virtual thread. A table's game,
+ * random source, and pending moves are touched only by that table's thread;
+ * the connection thread just hands it move lines through a queue. Threads
+ * waiting for a client park without holding a carrier, so idle connections
+ * and tables cost a few kilobytes each and the server needs no global locks.
+ * <p>
+ * The protocol is line based, one command or message per line:
+ * <pre>
+ * client                        server
+ * DICE [seed]                   OK &lt;id&gt;          you are player 1, the optimal solver player 2
+ *                               &lt;id&gt; ROLL &lt;value&gt; &lt;rerollsUsed&gt;
+ * &lt;id&gt; KEEP | &lt;id&gt; REROLL
+ *                               &lt;id&gt; KEPT &lt;player&gt; &lt;value&gt; &lt;total&gt;
+ * AUTOMATION &lt;players&gt; [seed]   OK &lt;id&gt;          you hold seat 0, greedy bots the others
+ *                               &lt;id&gt; BUY? &lt;coins&gt; &lt;turn&gt;
+ * &lt;id&gt; BUY &lt;CARD_TYPE&gt; | &lt;id&gt; PASS
+ *                               &lt;id&gt; OVER &lt;winner&gt; ...
+ * QUIT
+ * </pre>
+ * A dice table ends with {@code OVER <winner> <score1> <score2>}, an Automation
+ * table with {@code OVER <winnerSeat> <turns> <APs per seat...>}; a winner of -1 is a tie.
+ * Malformed commands are answered with {@code ERR <message>}.
+ */
+public class GameServer implements AutoCloseable {
+    private static final int ACCEPT_BACKLOG = 4096;
+    
+    private final int requestedPort;
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicLong nextConnectionId = new AtomicLong();
+    private final LongAdder openTables = new LongAdder();
+    private final LongAdder finishedTables = new LongAdder();
+    private ServerSocket serverSocket;
+    private Thread acceptor;
+    
+    /**
+     * Creates a server that will listen on a port.
+     * @param port the port to listen on, or 0 for any free port
+     */
+    public GameServer(int port) {
+        this.requestedPort = port;
+    }
+    
+    /**
+     * Binds the port and starts accepting connections on a virtual thread.
+     * @return this server
+     * @throws IOException if the port cannot be bound
+     */
+    public GameServer start() throws IOException {
+        if (serverSocket != null) {
+            throw new IllegalStateException("Server is already started");
+        }
+        serverSocket = new ServerSocket(requestedPort, ACCEPT_BACKLOG);
+        acceptor = Thread.ofVirtual().name("server-acceptor").start(this::acceptLoop);
+        return this;
+    }
+    
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                Connection connection = new Connection(this, socket);
+                connections.add(connection);
+                Thread.ofVirtual().name("connection-" + nextConnectionId.incrementAndGet()).start(connection);
+            } catch (SocketException e) {
+                // The server socket was closed
+                return;
+            } catch (IOException e) {
+                // A failed accept only loses that client
+            }
+        }
+    }
+    
+    void connectionClosed(Connection connection) {
+        connections.remove(connection);
+    }
+    
+    void tableOpened() {
+        openTables.increment();
+    }
+    
+    void tableClosed(boolean finished) {
+        openTables.decrement();
+        if (finished) {
+            finishedTables.increment();
+        }
+    }
+    
+    /**
+     * Gets the port the server is listening on.
+     * @return the bound port
+     */
+    public int getPort() {
+        if (serverSocket == null) {
+            throw new IllegalStateException("Server is not started");
+        }
+        return serverSocket.getLocalPort();
+    }
+    
+    /**
+     * Gets the number of open client connections.
+     * @return the connection count
+     */
+    public int getConnectionCount() {
+        return connections.size();
+    }
+    
+    /**
+     * Gets the number of tables whose game is still in progress.
+     * @return the open table count
+     */
+    public long getOpenTableCount() {
+        return openTables.sum();
+    }
+    
+    /**
+     * Gets the number of tables whose game was played to the end.
+     * @return the finished table count
+     */
+    public long getFinishedTableCount() {
+        return finishedTables.sum();
+    }
+    
+    /**
+     * Stops accepting connections and closes every open one, abandoning their tables.
+     */
+    @Override
+    public void close() throws IOException {
+        if (serverSocket == null) {
+            return;
+        }
+        serverSocket.close();
+        for (Connection connection : connections) {
+            connection.close();
+        }
+        try {
+            acceptor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * Runs a server until the process is stopped.
+     * @param args an optional port, 7103 by default
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 7103;
+        GameServer server = new GameServer(port).start();
+        System.out.printf("Game server listening on port %d%n", server.getPort());
+        server.acceptor.join();
+    }
+}
@@ -0,0 +1,199 @@
+package edu.brandeis.cosi103a.server;
+
+import edu.brandeis.cosi103a.ip2.CardType;
+import edu.brandeis.cosi103a.ip2.LatencyHistogram;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A load-generating client for GameServer.
+ * It first opens a number of idle connections that only sit on the server,
+ * then runs active clients on virtual threads, each playing games back to back
+ * with a simple fixed policy. The time from every line a client sends to the
+ * server's next line for that client is recorded as the response latency of a turn.
+ */
+public class LoadGenerator {
+    private static final CardType[] BUY_ORDER = {
+        CardType.FRAMEWORK, CardType.DOGECOIN, CardType.MODULE, CardType.ETHEREUM
+    };
+    private static final int DICE_KEEP_AT_LEAST = 4;
+    
+    private final String host;
+    private final int port;
+    private final String game;
+    private final int clients;
+    private final int gamesPerClient;
+    private final int idleConnections;
+    
+    /**
+     * Creates a load generator.
+     * @param host the server host
+     * @param port the server port
+     * @param game "dice" or "automation"
+     * @param clients the number of clients playing at the same time
+     * @param gamesPerClient the number of games each client plays
+     * @param idleConnections the number of extra connections held open without playing
+     */
+    public LoadGenerator(String host, int port, String game, int clients, int gamesPerClient, int idleConnections) {
+        if (!game.equals("dice") && !game.equals("automation")) {
+            throw new IllegalArgumentException("game must be dice or automation");
+        }
+        if (clients < 1 || gamesPerClient < 1 || idleConnections < 0) {
+            throw new IllegalArgumentException("clients and games must be positive, idle connections non-negative");
+        }
+        this.host = host;
+        this.port = port;
+        this.game = game;
+        this.clients = clients;
+        this.gamesPerClient = gamesPerClient;
+        this.idleConnections = idleConnections;
+    }
+    
+    /**
+     * Opens the idle connections, plays every client's games, then closes everything.
+     * @return the measured load report
+     * @throws IOException if a connection cannot be opened
+     */
+    public LoadReport run() throws IOException {
+        List<Socket> idle = new ArrayList<>(idleConnections);
+        try {
+            for (int i = 0; i < idleConnections; i++) {
+                idle.add(new Socket(host, port));
+            }
+            
+            LatencyHistogram latency = new LatencyHistogram();
+            LongAdder moves = new LongAdder();
+            long start = System.nanoTime();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<Void>> futures = new ArrayList<>();
+                for (int client = 0; client < clients; client++) {
+                    long seed = client;
+                    futures.add(executor.submit(() -> {
+                        playGames(seed, latency, moves);
+                        return null;
+                    }));
+                }
+                for (Future<Void> future : futures) {
+                    await(future);
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+            return new LoadReport((long) clients * gamesPerClient, moves.sum(), idle.size(), elapsed, latency);
+        } finally {
+            for (Socket socket : idle) {
+                socket.close();
+            }
+        }
+    }
+    
+    private static void await(Future<Void> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Load generation was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A load client failed", e.getCause());
+        }
+    }
+    
+    private void playGames(long clientSeed, LatencyHistogram latency, LongAdder moves) throws IOException {
+        try (Socket socket = new Socket(host, port);
+             BufferedReader in = new BufferedReader(
+                 new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             Writer out = new BufferedWriter(
+                 new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            socket.setTcpNoDelay(true);
+            for (int g = 0; g < gamesPerClient; g++) {
+                long seed = clientSeed * gamesPerClient + g;
+                long sent = send(out, game.equals("dice") ? "DICE " + seed : "AUTOMATION 2 " + seed);
+                boolean awaiting = true;
+                String tableId = null;
+                boolean over = false;
+                while (!over) {
+                    String line = in.readLine();
+                    if (line == null) {
+                        throw new IOException("Server closed the connection");
+                    }
+                    if (awaiting) {
+                        latency.record(System.nanoTime() - sent);
+                        awaiting = false;
+                    }
+                    String[] words = line.split(" ");
+                    if (words[0].equals("ERR") || (words.length > 1 && words[1].equals("ERR"))) {
+                        throw new IllegalStateException("Server rejected a move: " + line);
+                    }
+                    if (words[0].equals("OK")) {
+                        tableId = words[1];
+                        continue;
+                    }
+                    switch (words[1]) {
+                        case "ROLL":
+                            boolean keep = Integer.parseInt(words[2]) >= DICE_KEEP_AT_LEAST;
+                            sent = send(out, tableId + (keep ? " KEEP" : " REROLL"));
+                            awaiting = true;
+                            moves.increment();
+                            break;
+                        case "BUY?":
+                            sent = send(out, tableId + " " + chooseBuy(Integer.parseInt(words[2])));
+                            awaiting = true;
+                            moves.increment();
+                            break;
+                        case "OVER":
+                            over = true;
+                            break;
+                        default:
+                            break;
+                    }
+                }
+            }
+            send(out, "QUIT");
+        }
+    }
+    
+    private static long send(Writer out, String line) throws IOException {
+        out.write(line);
+        out.write('\n');
+        out.flush();
+        return System.nanoTime();
+    }
+    
+    private static String chooseBuy(int coins) {
+        for (CardType type : BUY_ORDER) {
+            if (type.getCost() <= coins) {
+                return "BUY " + type.name();
+            }
+        }
+        return "PASS";
+    }
+    
+    /**
+     * Runs a load test against a server.
+     * @param args host, port, game (dice or automation), clients, games per client, idle connections
+     */
+    public static void main(String[] args) throws IOException {
+        String host = args.length > 0 ? args[0] : "localhost";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : 7103;
+        String game = args.length > 2 ? args[2] : "automation";
+        int clients = args.length > 3 ? Integer.parseInt(args[3]) : 100;
+        int games = args.length > 4 ? Integer.parseInt(args[4]) : 10;
+        int idle = args.length > 5 ? Integer.parseInt(args[5]) : 0;
+        
+        System.out.printf("Connecting %d idle and %d active %s clients to %s:%d...%n",
+            idle, clients, game, host, port);
+        System.out.println(new LoadGenerator(host, port, game, clients, games, idle).run().getSummary());
+    }
+}
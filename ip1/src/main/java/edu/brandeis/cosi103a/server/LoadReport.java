@@ -0,0 +1,77 @@
+package edu.brandeis.cosi103a.server;
+
+import edu.brandeis.cosi103a.ip2.LatencyHistogram;
+
+/**
+ * The outcome of a LoadGenerator run: work done, elapsed time, and response latencies.
+ */
+public class LoadReport {
+    private final long games;
+    private final long moves;
+    private final int idleConnections;
+    private final long elapsedNanos;
+    private final LatencyHistogram latency;
+    
+    LoadReport(long games, long moves, int idleConnections, long elapsedNanos, LatencyHistogram latency) {
+        this.games = games;
+        this.moves = moves;
+        this.idleConnections = idleConnections;
+        this.elapsedNanos = elapsedNanos;
+        this.latency = latency;
+    }
+    
+    /**
+     * Gets the number of games played to the end.
+     * @return the game count
+     */
+    public long getGames() {
+        return games;
+    }
+    
+    /**
+     * Gets the number of moves the clients sent.
+     * @return the move count
+     */
+    public long getMoves() {
+        return moves;
+    }
+    
+    /**
+     * Gets the number of idle connections held open during the run.
+     * @return the idle connection count
+     */
+    public int getIdleConnections() {
+        return idleConnections;
+    }
+    
+    /**
+     * Gets the wall-clock time the active clients took.
+     * @return the elapsed time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+    
+    /**
+     * Gets the response latencies: from each line a client sent to the server's next line.
+     * @return the latency histogram
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+    
+    /**
+     * Gets a printable summary of the run.
+     * @return a multi-line summary
+     */
+    public String getSummary() {
+        double seconds = elapsedNanos / 1e9;
+        return String.format("=== LOAD REPORT ===%n"
+                + "Games: %d, moves: %d, idle connections: %d%n"
+                + "Elapsed: %.2f s (%.0f games/s, %.0f moves/s)%n"
+                + "Turn latency: mean %.1f us, p50 <= %.1f us, p99 <= %.1f us%n",
+            games, moves, idleConnections, seconds, games / seconds, moves / seconds,
+            latency.getMeanNanos() / 1e3, latency.getPercentileNanos(50) / 1e3,
+            latency.getPercentileNanos(99) / 1e3);
+    }
+}
@@ -0,0 +1,101 @@
+package edu.brandeis.cosi103a.server;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * A game hosted for one connection, played on its own virtual thread.
+ * The game state is confined to that thread. Moves arrive through a queue,
+ * and the game blocks in {@link #awaitMove()} whenever the client must decide.
+ * A table cancelled before or while it starts never plays: both sides check
+ * the volatile {@code cancelled} flag after publishing their own write, so
+ * either the thread sees the flag or the canceller sees the thread.
+ */
+abstract class Table implements Runnable {
+    private final int id;
+    private final Connection connection;
+    private final BlockingQueue<String> moves = new LinkedBlockingQueue<>();
+    private volatile Thread thread;
+    private volatile boolean cancelled;
+    
+    Table(int id, Connection connection) {
+        this.id = id;
+        this.connection = connection;
+    }
+    
+    int getId() {
+        return id;
+    }
+    
+    void start() {
+        Thread started = Thread.ofVirtual().name("table-" + id).unstarted(this);
+        thread = started;
+        started.start();
+        if (cancelled) {
+            started.interrupt();
+        }
+    }
+    
+    /**
+     * Queues a move line from the client.
+     * @param move the move, without the table id
+     */
+    void offer(String move) {
+        moves.add(move);
+    }
+    
+    /**
+     * Abandons the game; its thread stops at the next move it waits for,
+     * or skips the game if it has not started yet.
+     */
+    void cancel() {
+        cancelled = true;
+        Thread started = thread;
+        if (started != null) {
+            started.interrupt();
+        }
+    }
+    
+    @Override
+    public void run() {
+        boolean finished = false;
+        try {
+            if (!cancelled) {
+                play();
+                finished = true;
+            }
+        } catch (CancellationException e) {
+            // The connection closed mid-game
+        } finally {
+            connection.tableClosed(this, finished);
+        }
+    }
+    
+    /**
+     * Plays the game to the end, prompting the client and sending the result.
+     */
+    protected abstract void play();
+    
+    /**
+     * Sends one message about this table, prefixed with its id.
+     * @param message the message
+     */
+    protected void send(String message) {
+        connection.send(id + " " + message);
+    }
+    
+    /**
+     * Waits for the client's next move.
+     * @return the move line, without the table id
+     * @throws CancellationException if the table was abandoned
+     */
+    protected String awaitMove() {
+        try {
+            return moves.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Table " + id + " was abandoned");
+        }
+    }
+}
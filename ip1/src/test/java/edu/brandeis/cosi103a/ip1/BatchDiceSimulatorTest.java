@@ -0,0 +1,103 @@
+package edu.brandeis.cosi103a.ip1;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for the batch dice simulator and its kernels
+ */
+public class BatchDiceSimulatorTest 
+{
+    private static final int[] OPTIMAL = OptimalRerollSolver.standard().getKeepThresholds();
+    private static final int[] NEVER = {1, 1};
+    
+    /**
+     * Test that exactly the requested number of games is played
+     */
+    @Test
+    public void testPlaysRequestedGames()
+    {
+        BatchDiceSimulator simulator = new BatchDiceSimulator(DiceRules.STANDARD, OPTIMAL, NEVER, 100, true, 1L);
+        DiceBatchResult result = simulator.run(1234);
+        assertEquals(1234, result.getGames());
+        assertEquals(1234, result.getPlayer1Wins() + result.getTies() + result.getPlayer2Wins());
+    }
+    
+    /**
+     * Test that the vector and scalar kernels play identical games
+     */
+    @Test
+    public void testVectorMatchesScalar()
+    {
+        // An odd lane count leaves a scalar tail in the vector kernel
+        BatchDiceSimulator vector = new BatchDiceSimulator(DiceRules.STANDARD, OPTIMAL, NEVER, 1001, true, 7L);
+        BatchDiceSimulator scalar = new BatchDiceSimulator(DiceRules.STANDARD, OPTIMAL, NEVER, 1001, false, 7L);
+        assertFalse(scalar.isVectorized());
+        assertEquals(BatchDiceSimulator.isVectorApiAvailable(), vector.isVectorized());
+        
+        for (int round = 0; round < 3; round++) {
+            DiceBatchResult a = vector.run(5000);
+            DiceBatchResult b = scalar.run(5000);
+            assertEquals(b.getPlayer1Wins(), a.getPlayer1Wins());
+            assertEquals(b.getTies(), a.getTies());
+            assertEquals(b.getAverageScore(0), a.getAverageScore(0), 0);
+            assertEquals(b.getAverageScore(1), a.getAverageScore(1), 0);
+        }
+    }
+    
+    /**
+     * Test that the kernels agree when a later threshold is higher than an earlier one,
+     * so a lane that kept its value must not be re-tested after the keep
+     */
+    @Test
+    public void testVectorMatchesScalarWithRisingThresholds()
+    {
+        int[] rising = {3, 6};
+        int[] falling = {6, 2};
+        BatchDiceSimulator vector = new BatchDiceSimulator(DiceRules.STANDARD, rising, falling, 1001, true, 7L);
+        BatchDiceSimulator scalar = new BatchDiceSimulator(DiceRules.STANDARD, rising, falling, 1001, false, 7L);
+        
+        DiceBatchResult a = vector.run(100000);
+        DiceBatchResult b = scalar.run(100000);
+        assertEquals(b.getPlayer1Wins(), a.getPlayer1Wins());
+        assertEquals(b.getTies(), a.getTies());
+        assertEquals(b.getAverageScore(0), a.getAverageScore(0), 0);
+        assertEquals(b.getAverageScore(1), a.getAverageScore(1), 0);
+    }
+    
+    /**
+     * Test that simulated odds agree with the exact calculation
+     */
+    @Test
+    public void testAgreesWithExactOdds()
+    {
+        MatchupOdds exact = ScoreDistribution.matchup(DiceRules.STANDARD,
+            OptimalRerollSolver.standard().getPolicy(), RerollPolicy.never());
+        DiceBatchResult result = new BatchDiceSimulator(DiceRules.STANDARD, OPTIMAL, NEVER, 42L).run(200000);
+        
+        assertEquals(exact.getPlayer1Win(), result.toOdds().getPlayer1Win(), 0.005);
+        assertEquals(exact.getTie(), result.toOdds().getTie(), 0.003);
+        assertEquals(OptimalRerollSolver.standard().getExpectedGameScore(), result.getAverageScore(0), 0.1);
+        assertEquals(35.0, result.getAverageScore(1), 0.1);
+    }
+    
+    /**
+     * Test that custom rules are simulated
+     */
+    @Test
+    public void testCustomRules()
+    {
+        DiceRules rules = new DiceRules(20, 1, 3);
+        int[] keep = BatchDiceSimulator.thresholds(rules, 11);
+        DiceBatchResult result = new BatchDiceSimulator(rules, keep, keep, 5L).run(100000);
+        assertEquals(OptimalRerollSolver.forRules(rules).getExpectedGameScore(), result.getAverageScore(0), 0.2);
+        assertEquals(result.getPlayer1Wins(), result.getPlayer2Wins(), 1500);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testThresholdCountMustMatchRerolls()
+    {
+        new BatchDiceSimulator(DiceRules.STANDARD, new int[] {4}, NEVER, 1L);
+    }
+}
@@ -0,0 +1,170 @@
+package edu.brandeis.cosi103a.ip1;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for the headless DiceGame engine
+ */
+public class DiceGameTest 
+{
+    /**
+     * Counts events so tests can check what the engine reported
+     */
+    private static class CountingListener implements DiceGameListener {
+        int turns;
+        int rolls;
+        int rerolls;
+        int turnEnds;
+        int games;
+        
+        @Override
+        public void onTurnStart(int turn) {
+            turns++;
+        }
+        
+        @Override
+        public void onRoll(int player, int value, int rerollNumber) {
+            rolls++;
+            if (rerollNumber > 0) {
+                rerolls++;
+            }
+        }
+        
+        @Override
+        public void onPlayerTurnEnd(int player, int value, int totalScore) {
+            turnEnds++;
+        }
+        
+        @Override
+        public void onGameEnd(int player1Score, int player2Score) {
+            games++;
+        }
+    }
+    
+    /**
+     * Test that scores stay within the possible range
+     */
+    @Test
+    public void testScoresInRange()
+    {
+        DiceGame game = new DiceGame(RerollPolicy.threshold(4), RerollPolicy.never(), 1L);
+        for (int i = 0; i < 100; i++) {
+            game.play();
+            for (int player = 0; player < 2; player++) {
+                assertTrue(game.getScore(player) >= App.NUM_TURNS);
+                assertTrue(game.getScore(player) <= App.NUM_TURNS * App.DIE_FACES);
+            }
+        }
+    }
+    
+    /**
+     * Test that the same seed replays the same game
+     */
+    @Test
+    public void testSameSeedSameGame()
+    {
+        DiceGame first = new DiceGame(RerollPolicy.threshold(5), RerollPolicy.threshold(3), 42L);
+        DiceGame second = new DiceGame(RerollPolicy.threshold(5), RerollPolicy.threshold(3), 42L);
+        for (int i = 0; i < 20; i++) {
+            assertEquals(first.play(), second.play());
+            assertEquals(first.getScore(0), second.getScore(0));
+            assertEquals(first.getScore(1), second.getScore(1));
+        }
+    }
+    
+    /**
+     * Test that a never-reroll policy rolls exactly once per turn
+     */
+    @Test
+    public void testNeverRerollRollsOncePerTurn()
+    {
+        DiceGame game = new DiceGame(RerollPolicy.never(), RerollPolicy.never(), 7L);
+        CountingListener listener = new CountingListener();
+        game.setListener(listener);
+        game.play();
+        
+        assertEquals(App.NUM_TURNS, listener.turns);
+        assertEquals(2 * App.NUM_TURNS, listener.rolls);
+        assertEquals(0, listener.rerolls);
+        assertEquals(2 * App.NUM_TURNS, listener.turnEnds);
+        assertEquals(1, listener.games);
+    }
+    
+    /**
+     * Test that re-rolls are capped at MAX_REROLLS
+     */
+    @Test
+    public void testRerollsAreCapped()
+    {
+        RerollPolicy always = (value, used) -> true;
+        DiceGame game = new DiceGame(always, always, 7L);
+        CountingListener listener = new CountingListener();
+        game.setListener(listener);
+        game.play();
+        
+        assertEquals(2 * App.NUM_TURNS * (1 + App.MAX_REROLLS), listener.rolls);
+    }
+    
+    /**
+     * Test that the policy sees the current value and re-roll count
+     */
+    @Test
+    public void testPolicyReceivesState()
+    {
+        int[] lastUsed = {-1};
+        RerollPolicy recording = (value, used) -> {
+            assertTrue(value >= 1 && value <= App.DIE_FACES);
+            assertEquals(lastUsed[0] + 1, used);
+            lastUsed[0] = used;
+            return true;
+        };
+        DiceGame game = new DiceGame(recording, RerollPolicy.never(), 3L);
+        game.playTurn(0);
+        assertEquals(App.MAX_REROLLS - 1, lastUsed[0]);
+    }
+    
+    /**
+     * Test winner index agrees with the scores
+     */
+    @Test
+    public void testWinnerIndexMatchesScores()
+    {
+        DiceGame game = new DiceGame(RerollPolicy.threshold(6), RerollPolicy.never(), 11L);
+        for (int i = 0; i < 50; i++) {
+            int winner = game.play();
+            if (game.getScore(0) > game.getScore(1)) {
+                assertEquals(0, winner);
+            } else if (game.getScore(1) > game.getScore(0)) {
+                assertEquals(1, winner);
+            } else {
+                assertEquals(-1, winner);
+            }
+        }
+    }
+    
+    /**
+     * Test the console renderer shows the game's own turn count
+     */
+    @Test
+    public void testRendererShowsConfiguredTurns()
+    {
+        DiceGame game = new DiceGame(new DiceRules(6, 2, 3), RerollPolicy.never(), RerollPolicy.never(), 5L);
+        game.setListener(new ConsoleDiceRenderer("Alice", "Bob", game.getRules().getTurns()));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PrintStream original = System.out;
+        System.setOut(new PrintStream(output));
+        try {
+            game.play();
+        } finally {
+            System.setOut(original);
+        }
+        
+        assertTrue(output.toString().contains("TURN 3 / 3"));
+        assertFalse(output.toString().contains("/ " + App.NUM_TURNS));
+    }
+}
@@ -0,0 +1,109 @@
+package edu.brandeis.cosi103a.ip1;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for the optimal re-roll solver
+ */
+public class OptimalRerollSolverTest 
+{
+    /**
+     * Test the expected values for the standard rules: 3.5, 4.25, 14/3
+     */
+    @Test
+    public void testStandardExpectedValues()
+    {
+        OptimalRerollSolver solver = OptimalRerollSolver.standard();
+        assertEquals(3.5, solver.getExpectedTurnValue(0), 1e-12);
+        assertEquals(4.25, solver.getExpectedTurnValue(1), 1e-12);
+        assertEquals(14.0 / 3, solver.getExpectedTurnValue(), 1e-12);
+        assertEquals(140.0 / 3, solver.getExpectedGameScore(), 1e-9);
+    }
+    
+    /**
+     * Test the standard policy keeps 5+ on the first roll and 4+ on the second
+     */
+    @Test
+    public void testStandardPolicy()
+    {
+        OptimalRerollSolver solver = OptimalRerollSolver.standard();
+        assertEquals(5, solver.getKeepThreshold(0));
+        assertEquals(4, solver.getKeepThreshold(1));
+        
+        RerollPolicy policy = solver.getPolicy();
+        assertTrue(policy.shouldReroll(4, 0));
+        assertFalse(policy.shouldReroll(5, 0));
+        assertTrue(policy.shouldReroll(3, 1));
+        assertFalse(policy.shouldReroll(4, 1));
+    }
+    
+    /**
+     * Test that solvers are cached per rules
+     */
+    @Test
+    public void testSolverIsCached()
+    {
+        assertSame(OptimalRerollSolver.forRules(new DiceRules(20, 3, 5)),
+                   OptimalRerollSolver.forRules(new DiceRules(20, 3, 5)));
+        assertSame(OptimalRerollSolver.standard(),
+                   OptimalRerollSolver.forRules(new DiceRules(6, 2, 10)));
+    }
+    
+    /**
+     * Test that no re-rolls gives the mean face
+     */
+    @Test
+    public void testNoRerolls()
+    {
+        OptimalRerollSolver solver = OptimalRerollSolver.forRules(new DiceRules(8, 0, 3));
+        assertEquals(4.5, solver.getExpectedTurnValue(), 1e-12);
+        assertEquals(13.5, solver.getExpectedGameScore(), 1e-12);
+    }
+    
+    /**
+     * Test the optimal policy beats every fixed threshold on average
+     */
+    @Test
+    public void testOptimalBeatsThresholds()
+    {
+        DiceRules rules = new DiceRules(6, 2, 10);
+        RerollPolicy optimal = OptimalRerollSolver.forRules(rules).getPolicy();
+        double optimalMean = meanScore(rules, optimal);
+        assertEquals(OptimalRerollSolver.forRules(rules).getExpectedGameScore(), optimalMean, 0.2);
+        for (int keep = 1; keep <= 6; keep++) {
+            assertTrue(optimalMean > meanScore(rules, RerollPolicy.threshold(keep)) - 0.05);
+        }
+    }
+    
+    /**
+     * Test that custom rules are honoured by the engine
+     */
+    @Test
+    public void testCustomRulesInEngine()
+    {
+        DiceRules rules = new DiceRules(20, 1, 4);
+        DiceGame game = new DiceGame(rules, RerollPolicy.never(), RerollPolicy.never(), 5L);
+        game.play();
+        assertTrue(game.getScore(0) >= 4 && game.getScore(0) <= 80);
+        assertSame(rules, game.getRules());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidRules()
+    {
+        new DiceRules(0, 2, 10);
+    }
+    
+    private static double meanScore(DiceRules rules, RerollPolicy policy) {
+        DiceGame game = new DiceGame(rules, policy, policy, 123L);
+        long total = 0;
+        int games = 20000;
+        for (int i = 0; i < games; i++) {
+            game.play();
+            total += game.getScore(0) + game.getScore(1);
+        }
+        return total / (2.0 * games);
+    }
+}
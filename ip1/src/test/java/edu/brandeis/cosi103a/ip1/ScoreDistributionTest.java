@@ -0,0 +1,157 @@
+package edu.brandeis.cosi103a.ip1;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for the exact score distributions and matchup odds
+ */
+public class ScoreDistributionTest 
+{
+    /**
+     * Test that never re-rolling gives a uniform turn
+     */
+    @Test
+    public void testNeverRerollIsUniform()
+    {
+        ScoreDistribution turn = ScoreDistribution.ofTurn(DiceRules.STANDARD, RerollPolicy.never());
+        assertEquals(1, turn.getMinScore());
+        assertEquals(6, turn.getMaxScore());
+        for (int value = 1; value <= 6; value++) {
+            assertEquals(1.0 / 6, turn.getProbability(value), 1e-12);
+        }
+    }
+    
+    /**
+     * Test a threshold turn by hand: keep 6, re-roll anything else twice
+     */
+    @Test
+    public void testThresholdTurn()
+    {
+        ScoreDistribution turn = ScoreDistribution.ofTurn(DiceRules.STANDARD, RerollPolicy.threshold(6));
+        double missTwice = 25.0 / 36;
+        assertEquals(1 - missTwice * 5 / 6, turn.getProbability(6), 1e-12);
+        assertEquals(missTwice / 6, turn.getProbability(1), 1e-12);
+    }
+    
+    /**
+     * Test that game totals sum to one and agree with the solver's mean
+     */
+    @Test
+    public void testGameDistributionMatchesSolver()
+    {
+        OptimalRerollSolver solver = OptimalRerollSolver.standard();
+        ScoreDistribution game = ScoreDistribution.ofGame(DiceRules.STANDARD, solver.getPolicy());
+        
+        assertEquals(10, game.getMinScore());
+        assertEquals(60, game.getMaxScore());
+        assertEquals(1.0, game.getCumulativeProbability(60), 1e-12);
+        assertEquals(solver.getExpectedGameScore(), game.getMean(), 1e-9);
+    }
+    
+    /**
+     * Test odd turn counts use the binary decomposition correctly
+     */
+    @Test
+    public void testOddTurnCounts()
+    {
+        for (int turns = 1; turns <= 13; turns++) {
+            DiceRules rules = new DiceRules(6, 2, turns);
+            ScoreDistribution game = ScoreDistribution.ofGame(rules, RerollPolicy.never());
+            assertEquals(turns, game.getMinScore());
+            assertEquals(6 * turns, game.getMaxScore());
+            assertEquals(3.5 * turns, game.getMean(), 1e-9);
+        }
+    }
+    
+    /**
+     * Test that a policy against itself is symmetric
+     */
+    @Test
+    public void testMirrorMatchupIsSymmetric()
+    {
+        MatchupOdds odds = ScoreDistribution.matchup(DiceRules.STANDARD,
+            RerollPolicy.threshold(4), RerollPolicy.threshold(4));
+        assertEquals(odds.getPlayer1Win(), odds.getPlayer2Win(), 1e-12);
+        assertEquals(1.0, odds.getPlayer1Win() + odds.getTie() + odds.getPlayer2Win(), 1e-12);
+        assertTrue(odds.getTie() > 0);
+    }
+    
+    /**
+     * Test the exact odds against a long simulation with the engine
+     */
+    @Test
+    public void testMatchupAgreesWithSimulation()
+    {
+        RerollPolicy optimal = OptimalRerollSolver.standard().getPolicy();
+        RerollPolicy never = RerollPolicy.never();
+        MatchupOdds odds = ScoreDistribution.matchup(DiceRules.STANDARD, optimal, never);
+        
+        DiceGame game = new DiceGame(optimal, never, 99L);
+        int games = 50000;
+        int wins = 0;
+        int ties = 0;
+        for (int i = 0; i < games; i++) {
+            int winner = game.play();
+            if (winner == 0) {
+                wins++;
+            } else if (winner == -1) {
+                ties++;
+            }
+        }
+        assertEquals(odds.getPlayer1Win(), (double) wins / games, 0.01);
+        assertEquals(odds.getTie(), (double) ties / games, 0.005);
+    }
+    
+    /**
+     * Test that policies deciding identically share the cached result
+     */
+    @Test
+    public void testEquivalentPoliciesShareCache()
+    {
+        RerollPolicy lambda = (value, used) -> value <= 4;
+        assertSame(ScoreDistribution.ofGame(DiceRules.STANDARD, RerollPolicy.threshold(5)),
+                   ScoreDistribution.ofGame(DiceRules.STANDARD, lambda));
+    }
+    
+    /**
+     * Test that the matchup odds agree with summing over every pair of scores
+     */
+    @Test
+    public void testAgainstMatchesPairwiseSum()
+    {
+        ScoreDistribution first = ScoreDistribution.ofGame(DiceRules.STANDARD, RerollPolicy.threshold(5));
+        ScoreDistribution second = ScoreDistribution.ofGame(new DiceRules(6, 2, 7), RerollPolicy.never());
+        MatchupOdds odds = first.against(second);
+        
+        double win = 0;
+        double tie = 0;
+        for (int mine = first.getMinScore(); mine <= first.getMaxScore(); mine++) {
+            for (int theirs = second.getMinScore(); theirs <= second.getMaxScore(); theirs++) {
+                double p = first.getProbability(mine) * second.getProbability(theirs);
+                if (mine > theirs) {
+                    win += p;
+                } else if (mine == theirs) {
+                    tie += p;
+                }
+            }
+        }
+        assertEquals(win, odds.getPlayer1Win(), 1e-12);
+        assertEquals(tie, odds.getTie(), 1e-12);
+        assertEquals(0.0, second.getCumulativeProbability(6), 0);
+        assertEquals(1.0, second.getCumulativeProbability(100), 1e-12);
+    }
+    
+    /**
+     * Test that the policy cache stays bounded when many rules are swept
+     */
+    @Test
+    public void testPolicyCacheIsBounded()
+    {
+        for (int faces = 1; faces <= 2 * ScoreDistribution.MAX_POLICIES; faces++) {
+            ScoreDistribution.ofTurn(new DiceRules(faces, 1, 1), RerollPolicy.never());
+        }
+        assertEquals(ScoreDistribution.MAX_POLICIES, ScoreDistribution.cachedPolicies());
+    }
+}
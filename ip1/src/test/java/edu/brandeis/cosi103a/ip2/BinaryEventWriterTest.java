@@ -0,0 +1,205 @@
+package edu.brandeis.cosi103a.ip2;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for game events and the BinaryEventWriter/BinaryEventReader pair.
+ */
+public class BinaryEventWriterTest {
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    /**
+     * Records every event as a short string for comparison.
+     */
+    private static class RecordingListener implements GameEventListener {
+        final List<String> events = new ArrayList<>();
+        
+        @Override
+        public void onTurnStart(int turn, int seat) {
+            events.add("turn " + turn + " " + seat);
+        }
+        
+        @Override
+        public void onDraw(int seat, CardType card) {
+            events.add("draw " + seat + " " + card);
+        }
+        
+        @Override
+        public void onPlay(int seat, CardType card) {
+            events.add("play " + seat + " " + card);
+        }
+        
+        @Override
+        public void onBuy(int seat, CardType card, int coins) {
+            events.add("buy " + seat + " " + card + " " + coins);
+        }
+        
+        @Override
+        public void onReshuffle(int seat, int cardCount) {
+            events.add("reshuffle " + seat + " " + cardCount);
+        }
+        
+        @Override
+        public void onGameEnd(int turns, int winnerSeat) {
+            events.add("end " + turns + " " + winnerSeat);
+        }
+    }
+    
+    @Test
+    public void testGameEmitsEvents() {
+        Game game = new Game("Alice", "Bob", 8L);
+        RecordingListener listener = new RecordingListener();
+        game.setEventListener(listener);
+        game.playGame();
+        
+        List<String> events = listener.events;
+        assertEquals("end " + game.getTurnCount() + " " + game.getWinnerIndex(),
+            events.get(events.size() - 1));
+        assertTrue(events.stream().anyMatch(e -> e.startsWith("turn 1 ")));
+        assertTrue(events.stream().anyMatch(e -> e.startsWith("reshuffle")));
+        assertTrue(events.stream().anyMatch(e -> e.startsWith("play")));
+        assertTrue(events.stream().anyMatch(e -> e.startsWith("buy 0 FRAMEWORK")));
+    }
+    
+    @Test
+    public void testListenerDoesNotChangeOutcome() {
+        Game plain = new Game("Alice", "Bob", 21L);
+        Game observed = new Game("Alice", "Bob", 21L);
+        observed.setEventListener(new RecordingListener());
+        plain.playGame();
+        observed.playGame();
+        
+        assertEquals(plain.getGameSummary(), observed.getGameSummary());
+    }
+    
+    @Test
+    public void testRoundTripThroughFile() throws IOException {
+        File file = folder.newFile("events.bin");
+        Game game = new Game(new String[] {"A", "B", "C"}, 13L);
+        RecordingListener direct = new RecordingListener();
+        BinaryEventWriter writer = BinaryEventWriter.open(file.toPath());
+        game.setEventListener(new GameEventListener() {
+            @Override
+            public void onTurnStart(int turn, int seat) {
+                direct.onTurnStart(turn, seat);
+                writer.onTurnStart(turn, seat);
+            }
+            
+            @Override
+            public void onDraw(int seat, CardType card) {
+                direct.onDraw(seat, card);
+                writer.onDraw(seat, card);
+            }
+            
+            @Override
+            public void onPlay(int seat, CardType card) {
+                direct.onPlay(seat, card);
+                writer.onPlay(seat, card);
+            }
+            
+            @Override
+            public void onBuy(int seat, CardType card, int coins) {
+                direct.onBuy(seat, card, coins);
+                writer.onBuy(seat, card, coins);
+            }
+            
+            @Override
+            public void onReshuffle(int seat, int cardCount) {
+                direct.onReshuffle(seat, cardCount);
+                writer.onReshuffle(seat, cardCount);
+            }
+            
+            @Override
+            public void onGameEnd(int turns, int winnerSeat) {
+                direct.onGameEnd(turns, winnerSeat);
+                writer.onGameEnd(turns, winnerSeat);
+            }
+        });
+        game.playGame();
+        writer.close();
+        
+        assertEquals(direct.events.size() * (long) BinaryEventWriter.RECORD_SIZE, file.length());
+        
+        RecordingListener replayed = new RecordingListener();
+        long records = BinaryEventReader.replay(file.toPath(), replayed);
+        
+        assertEquals(direct.events.size(), records);
+        assertEquals(direct.events, replayed.events);
+    }
+    
+    @Test
+    public void testSmallBufferFlushesInBatches() throws IOException {
+        File file = folder.newFile("small.bin");
+        try (BinaryEventWriter writer = new BinaryEventWriter(
+                FileChannel.open(file.toPath(), StandardOpenOption.WRITE), 8)) {
+            for (int i = 0; i < 5; i++) {
+                writer.onDraw(1, CardType.ETHEREUM);
+            }
+            assertEquals(5, writer.getRecordsWritten());
+        }
+        
+        RecordingListener replayed = new RecordingListener();
+        assertEquals(5, BinaryEventReader.replay(file.toPath(), replayed));
+        assertEquals("draw 1 ETHEREUM", replayed.events.get(4));
+    }
+    
+    @Test
+    public void testLargestValuesRoundTrip() throws IOException {
+        File file = folder.newFile("range.bin");
+        try (BinaryEventWriter writer = BinaryEventWriter.open(file.toPath())) {
+            writer.onBuy(0, CardType.FRAMEWORK, 255);
+            writer.onReshuffle(1, 0xFFFF);
+        }
+        
+        RecordingListener replayed = new RecordingListener();
+        BinaryEventReader.replay(file.toPath(), replayed);
+        assertEquals("buy 0 FRAMEWORK 255", replayed.events.get(0));
+        assertEquals("reshuffle 1 65535", replayed.events.get(1));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooManyCoinsRejected() throws IOException {
+        try (BinaryEventWriter writer = BinaryEventWriter.open(folder.newFile("coins.bin").toPath())) {
+            writer.onBuy(0, CardType.FRAMEWORK, 256);
+        }
+    }
+    
+    @Test
+    public void testLongGameTurnsRoundTrip() throws IOException {
+        File file = folder.newFile("long.bin");
+        try (BinaryEventWriter writer = BinaryEventWriter.open(file.toPath())) {
+            writer.onTurnStart(0xFFFF, 0);
+            writer.onTurnStart(0x10000, 1);
+            writer.onDraw(1, CardType.BITCOIN);
+            writer.onGameEnd(Integer.MAX_VALUE, -1);
+            assertEquals(6, writer.getRecordsWritten());
+        }
+        assertEquals(6 * BinaryEventWriter.RECORD_SIZE, file.length());
+        
+        RecordingListener replayed = new RecordingListener();
+        assertEquals(6, BinaryEventReader.replay(file.toPath(), replayed));
+        assertEquals(4, replayed.events.size());
+        assertEquals("turn 65535 0", replayed.events.get(0));
+        assertEquals("turn 65536 1", replayed.events.get(1));
+        assertEquals("draw 1 BITCOIN", replayed.events.get(2));
+        assertEquals("end 2147483647 -1", replayed.events.get(3));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativePayloadRejected() throws IOException {
+        try (BinaryEventWriter writer = BinaryEventWriter.open(folder.newFile("payload.bin").toPath())) {
+            writer.onReshuffle(0, -1);
+        }
+    }
+}
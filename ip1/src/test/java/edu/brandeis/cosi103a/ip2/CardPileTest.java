@@ -0,0 +1,144 @@
+package edu.brandeis.cosi103a.ip2;
+
+import org.junit.Test;
+import org.junit.Before;
+import static org.junit.Assert.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Unit tests for the CardPile class.
+ */
+public class CardPileTest {
+
+    private CardPile pile;
+    
+    @Before
+    public void setUp() {
+        pile = new CardPile();
+    }
+    
+    @Test
+    public void testNewPileIsEmpty() {
+        assertTrue(pile.isEmpty());
+        assertEquals(0, pile.size());
+    }
+    
+    @Test
+    public void testAddAndRemoveKeepOrder() {
+        pile.addLast(CardType.BITCOIN.ordinal());
+        pile.addLast(CardType.METHOD.ordinal());
+        pile.addLast(CardType.FRAMEWORK.ordinal());
+        
+        assertEquals(3, pile.size());
+        assertEquals(CardType.BITCOIN.ordinal(), pile.removeFirst());
+        assertEquals(CardType.METHOD.ordinal(), pile.removeFirst());
+        assertEquals(CardType.FRAMEWORK.ordinal(), pile.removeFirst());
+        assertTrue(pile.isEmpty());
+    }
+    
+    @Test
+    public void testWrapsAroundAndGrows() {
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 12; i++) {
+                pile.addLast(i % 6);
+            }
+            for (int i = 0; i < 12; i++) {
+                assertEquals(i % 6, pile.removeFirst());
+            }
+        }
+        
+        for (int i = 0; i < 100; i++) {
+            pile.addLast(i % 6);
+        }
+        assertEquals(100, pile.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i % 6, pile.get(i));
+        }
+    }
+    
+    @Test
+    public void testMoveAllTo() {
+        CardPile target = new CardPile();
+        target.addLast(CardType.METHOD.ordinal());
+        pile.addLast(CardType.BITCOIN.ordinal());
+        pile.addLast(CardType.ETHEREUM.ordinal());
+        
+        pile.moveAllTo(target);
+        
+        assertTrue(pile.isEmpty());
+        assertEquals(3, target.size());
+        assertEquals(CardType.METHOD.ordinal(), target.get(0));
+        assertEquals(CardType.BITCOIN.ordinal(), target.get(1));
+        assertEquals(CardType.ETHEREUM.ordinal(), target.get(2));
+    }
+    
+    @Test
+    public void testTruncate() {
+        pile.addLast(1);
+        pile.addLast(2);
+        pile.addLast(3);
+        pile.truncate(1);
+        
+        assertEquals(1, pile.size());
+        assertEquals(1, pile.get(0));
+    }
+    
+    @Test
+    public void testShuffleMatchesCollectionsShuffle() {
+        List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            pile.addLast(i % 6);
+            list.add(i % 6);
+        }
+        
+        pile.shuffle(new Random(99));
+        Collections.shuffle(list, new Random(99));
+        
+        for (int i = 0; i < list.size(); i++) {
+            assertEquals((int) list.get(i), pile.get(i));
+        }
+    }
+    
+    @Test
+    public void testCountsFollowEveryOperation() {
+        int bitcoin = CardType.BITCOIN.ordinal();
+        int method = CardType.METHOD.ordinal();
+        for (int i = 0; i < 7; i++) {
+            pile.addLast(bitcoin);
+        }
+        pile.addLast(method);
+        pile.addLast(method);
+        assertEquals(7, pile.count(bitcoin));
+        assertEquals(2, pile.count(method));
+        
+        pile.shuffle(new Random(5));
+        assertEquals(7, pile.count(bitcoin));
+        
+        pile.removeFirst();
+        pile.set(0, CardType.FRAMEWORK.ordinal());
+        pile.truncate(4);
+        int total = 0;
+        for (CardType type : CardType.values()) {
+            total += pile.count(type.ordinal());
+        }
+        assertEquals(4, total);
+        
+        CardPile target = new CardPile();
+        target.addLast(bitcoin);
+        int before = pile.count(bitcoin);
+        pile.moveAllTo(target);
+        assertEquals(0, pile.count(bitcoin));
+        assertEquals(before + 1, target.count(bitcoin));
+        
+        byte[] copy = new byte[target.size()];
+        target.copyTo(copy, 0);
+        pile.copyFrom(copy, 0, copy.length);
+        assertEquals(target.count(bitcoin), pile.count(bitcoin));
+        
+        target.clear();
+        assertEquals(0, target.count(bitcoin));
+    }
+}
@@ -0,0 +1,204 @@
+package edu.brandeis.cosi103a.ip2;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.SplittableRandom;
+
+/**
+ * Unit tests for the CardSet class and games played with custom card sets.
+ */
+public class CardSetTest {
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    private static void assertSameNumbers(CardSet expected, CardSet actual) {
+        for (CardType type : CardType.values()) {
+            assertEquals(expected.getCost(type), actual.getCost(type));
+            assertEquals(expected.getCoinValue(type), actual.getCoinValue(type));
+            assertEquals(expected.getApValue(type), actual.getApValue(type));
+            assertEquals(expected.getSupplyCount(type), actual.getSupplyCount(type));
+            assertEquals(expected.isCryptocurrency(type), actual.isCryptocurrency(type));
+            assertEquals(expected.getStartingCount(type), actual.getStartingCount(type));
+            assertEquals(expected.getDisplayName(type), actual.getDisplayName(type));
+        }
+    }
+    
+    @Test
+    public void testStandardMatchesCardTypes() {
+        CardSet standard = CardSet.STANDARD;
+        for (CardType type : CardType.values()) {
+            assertEquals(type.getCost(), standard.getCost(type));
+            assertEquals(type.getSupplyCount(), standard.getSupplyCount(type));
+            assertEquals(type.isCryptocurrency(), standard.isCryptocurrency(type));
+            int value = type.isCryptocurrency() ? standard.getCoinValue(type) : standard.getApValue(type);
+            assertEquals(type.getValue(), value);
+        }
+        assertEquals(7, standard.getStartingCount(CardType.BITCOIN));
+        assertEquals(3, standard.getStartingCount(CardType.METHOD));
+    }
+    
+    @Test
+    public void testBundledStandardFileMatchesStandard() throws IOException {
+        assertSameNumbers(CardSet.STANDARD, CardSet.loadResource("cardsets/standard.properties"));
+    }
+    
+    @Test
+    public void testLoadFromFile() throws IOException {
+        Path file = folder.newFile("variant.properties").toPath();
+        Files.write(file, Arrays.asList("name=Variant", "MODULE.value=4", "start.DOGECOIN=1"),
+            StandardCharsets.UTF_8);
+        
+        CardSet variant = CardSet.load(file);
+        assertEquals("Variant", variant.getName());
+        assertEquals(4, variant.getApValue(CardType.MODULE));
+        assertEquals(1, variant.getStartingCount(CardType.DOGECOIN));
+        assertEquals(8, variant.getCost(CardType.FRAMEWORK));
+    }
+    
+    @Test
+    public void testGameUsesCardSet() throws IOException {
+        CardSet shortGame = CardSet.loadResource("cardsets/short-game.properties");
+        Game game = new Game(Tournament.playerNames(2),
+            new BuyStrategy[] {PriorityBuyStrategy.greedy(), PriorityBuyStrategy.greedy()}, shortGame, 5L);
+        game.initialize();
+        
+        assertSame(shortGame, game.getCardSet());
+        assertEquals(5, game.getSupply().getCount(CardType.FRAMEWORK));
+        Player player = game.getPlayer(0);
+        assertEquals(10, player.getDeckSize());
+        assertEquals(1, player.getCardCount(CardType.ETHEREUM));
+        
+        game.playGame();
+        assertFalse(game.isGameInProgress());
+    }
+    
+    @Test
+    public void testCheaperFrameworkIsBoughtWithSevenCoins() {
+        Properties properties = new Properties();
+        properties.setProperty("FRAMEWORK.cost", "7");
+        CardSet cheap = CardSet.fromProperties(properties);
+        
+        PriorityBuyStrategy greedy = PriorityBuyStrategy.greedy();
+        Game standardGame = new Game("Alice", "Bob", 1L);
+        Game cheapGame = new Game(new String[] {"Alice", "Bob"},
+            new BuyStrategy[] {greedy, greedy}, cheap, 1L);
+        
+        assertEquals(CardType.MODULE, greedy.chooseCardToBuy(standardGame, standardGame.getPlayer1(), 7));
+        assertEquals(CardType.FRAMEWORK, greedy.chooseCardToBuy(cheapGame, cheapGame.getPlayer1(), 7));
+    }
+    
+    @Test
+    public void testCardSetsCompareByValue() throws IOException {
+        CardSet first = CardSet.loadResource("cardsets/short-game.properties");
+        CardSet second = CardSet.loadResource("cardsets/short-game.properties");
+        
+        assertNotSame(first, second);
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+        assertEquals(CardSet.STANDARD, CardSet.loadResource("cardsets/standard.properties"));
+        assertNotEquals(CardSet.STANDARD, first);
+    }
+    
+    @Test
+    public void testPlayerValuesFollowCardSet() {
+        Properties properties = new Properties();
+        properties.setProperty("METHOD.value", "5");
+        properties.setProperty("BITCOIN.value", "2");
+        Player player = new Player("Alice", new SplittableRandom(1), CardSet.fromProperties(properties));
+        player.addStartingCard(Card.of(CardType.METHOD));
+        player.addStartingCard(Card.of(CardType.BITCOIN));
+        player.drawCards(2);
+        
+        assertEquals(5, player.calculateTotalAPs());
+        assertEquals(2, player.calculateTotalCoins());
+        assertEquals(2, player.playAllCryptocurrencyCards());
+    }
+    
+    @Test
+    public void testLockstepMatchesObjectsWithCardSet() throws IOException {
+        CardSet shortGame = CardSet.loadResource("cardsets/short-game.properties");
+        PriorityBuyStrategy greedy = PriorityBuyStrategy.greedy();
+        TournamentResult objects = new Tournament(8L, 2, seed -> new Game(Tournament.playerNames(2),
+            new BuyStrategy[] {greedy, greedy}, shortGame, seed), 2).run(100);
+        TournamentResult lockstep = new LockstepSimulator(8L, 2, greedy, shortGame, 64).run(100);
+        
+        assertEquals(objects.getWins(0), lockstep.getWins(0));
+        assertEquals(objects.getTies(), lockstep.getTies());
+        assertEquals(objects.getAverageTurns(), lockstep.getAverageTurns(), 1e-9);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownKeyIsRejected() {
+        Properties properties = new Properties();
+        properties.setProperty("FRAMEWORK.price", "7");
+        CardSet.fromProperties(properties);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeNumberIsRejected() {
+        Properties properties = new Properties();
+        properties.setProperty("MODULE.cost", "-1");
+        CardSet.fromProperties(properties);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmptyFrameworkSupplyIsRejected() {
+        Properties properties = new Properties();
+        properties.setProperty("FRAMEWORK.supply", "0");
+        CardSet.fromProperties(properties);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnaffordableFrameworkIsRejected() {
+        Properties properties = new Properties();
+        properties.setProperty("FRAMEWORK.cost", "100");
+        CardSet.fromProperties(properties);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testWorthlessStartingDeckIsRejected() {
+        Properties properties = new Properties();
+        properties.setProperty("BITCOIN.value", "0");
+        CardSet.fromProperties(properties);
+    }
+    
+    @Test
+    public void testFrameworkReachableThroughPurchasesIsAccepted() {
+        Properties properties = new Properties();
+        // A starting hand holds at most 5 coins, but Dogecoins bought with it reach 15
+        properties.setProperty("FRAMEWORK.cost", "15");
+        properties.setProperty("DOGECOIN.cost", "5");
+        assertEquals(15, CardSet.fromProperties(properties).getCost(CardType.FRAMEWORK));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testStartingCountsBeyondSupplyAreRejected() {
+        Properties properties = new Properties();
+        // 7 Bitcoins for each of six players need 42 of the 30 a supply of 10 scales to
+        properties.setProperty("BITCOIN.supply", "10");
+        CardSet.fromProperties(properties);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testDealingEveryFrameworkIsRejected() {
+        Properties properties = new Properties();
+        properties.setProperty("start.FRAMEWORK", "4");
+        CardSet.fromProperties(properties);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testMisspelledBooleanIsRejected() {
+        Properties properties = new Properties();
+        properties.setProperty("BITCOIN.cryptocurrency", "ture");
+        CardSet.fromProperties(properties);
+    }
+}
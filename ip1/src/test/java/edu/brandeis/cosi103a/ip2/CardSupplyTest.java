@@ -89,6 +89,36 @@ public class CardSupplyTest {
         assertFalse(supply.getAvailableCardTypes().contains(CardType.FRAMEWORK));
     }
     
+    @Test
+    public void testSupplyForFourPlayers() {
+        CardSupply fourPlayerSupply = new CardSupply(4);
+        assertEquals(120, fourPlayerSupply.getCount(CardType.BITCOIN));
+        assertEquals(16, fourPlayerSupply.getCount(CardType.FRAMEWORK));
+        assertEquals(28, fourPlayerSupply.getCount(CardType.METHOD));
+    }
+    
+    @Test
+    public void testAvailableMaskTracksEmptyPiles() {
+        int allTypes = (1 << CardType.values().length) - 1;
+        assertEquals(allTypes, supply.getAvailableMask());
+        
+        for (int i = 0; i < 8; i++) {
+            supply.buyCard(CardType.MODULE);
+        }
+        
+        assertEquals(allTypes & ~(1 << CardType.MODULE.ordinal()), supply.getAvailableMask());
+        assertFalse(supply.isAvailable(CardType.MODULE));
+        assertTrue(supply.isAvailable(CardType.FRAMEWORK));
+    }
+    
+    @Test
+    public void testGetAvailableCardTypesIsReusedUntilPileEmpties() {
+        assertSame(supply.getAvailableCardTypes(), supply.getAvailableCardTypes());
+        supply.buyCard(CardType.BITCOIN);
+        assertSame(supply.getAvailableCardTypes(), supply.getAvailableCardTypes());
+        assertEquals(6, supply.getAvailableCardTypes().size());
+    }
+    
     @Test
     public void testIsGameOverWhenFrameworksExist() {
         assertFalse(supply.isGameOver());
@@ -111,4 +141,9 @@ public class CardSupplyTest {
         assertTrue(status.contains("60"));
         assertTrue(status.contains("8"));
     }
+    
+    @Test
+    public void testBuyCardReturnsSharedInstance() {
+        assertSame(supply.buyCard(CardType.METHOD), supply.buyCard(CardType.METHOD));
+    }
 }
@@ -76,4 +76,13 @@ public class CardTest {
         
         assertEquals(card1.hashCode(), card2.hashCode());
     }
+    
+    @Test
+    public void testOfReturnsSharedInstance() {
+        for (CardType type : CardType.values()) {
+            assertSame(Card.of(type), Card.of(type));
+            assertEquals(type, Card.of(type).getType());
+            assertEquals(new Card(type), Card.of(type));
+        }
+    }
 }
@@ -0,0 +1,131 @@
+package edu.brandeis.cosi103a.ip2;
+
+import org.junit.Test;
+import org.junit.Before;
+import static org.junit.Assert.*;
+import java.util.SplittableRandom;
+
+/**
+ * Unit tests for the DrawProbability and CoinDistribution classes.
+ */
+public class DrawProbabilityTest {
+    
+    private DrawProbability service;
+    
+    @Before
+    public void setUp() {
+        service = new DrawProbability();
+    }
+    
+    private static int[] counts(int bitcoin, int ethereum, int dogecoin, int method, int module, int framework) {
+        return new int[] {bitcoin, ethereum, dogecoin, method, module, framework};
+    }
+    
+    @Test
+    public void testStartingDeck() {
+        CoinDistribution dist = service.distribution(counts(7, 0, 0, 3, 0, 0), new int[6], 5);
+        
+        assertEquals(21.0 / 252, dist.getProbability(5), 1e-12);
+        assertEquals(3.5, dist.getMean(), 1e-12);
+        assertEquals(1.0, dist.getProbabilityAtLeast(0), 1e-12);
+        assertEquals(0.0, dist.getProbability(1), 1e-12);
+        assertEquals(5, dist.getMaxCoins());
+    }
+    
+    @Test
+    public void testReshuffleBoundary() {
+        // Both bitcoins are drawn, then 3 of the 5 discards: 3 ethereum and 2 methods
+        CoinDistribution dist = service.distribution(counts(2, 0, 0, 0, 0, 0), counts(0, 3, 0, 2, 0, 0), 5);
+        
+        assertEquals(0.0, dist.getProbability(2), 1e-12);
+        assertEquals(3.0 / 10, dist.getProbability(4), 1e-12);
+        assertEquals(6.0 / 10, dist.getProbability(6), 1e-12);
+        assertEquals(1.0 / 10, dist.getProbability(8), 1e-12);
+    }
+    
+    @Test
+    public void testNotEnoughCardsAnywhere() {
+        CoinDistribution dist = service.distribution(counts(1, 0, 0, 0, 0, 0), counts(0, 0, 1, 0, 0, 0), 5);
+        assertEquals(1.0, dist.getProbability(4), 1e-12);
+    }
+    
+    @Test
+    public void testNextHandMatchesSimulation() {
+        Player player = new Player("Alice", new SplittableRandom(3));
+        for (int i = 0; i < 7; i++) {
+            player.addStartingCard(Card.of(CardType.BITCOIN));
+        }
+        for (int i = 0; i < 3; i++) {
+            player.addStartingCard(Card.of(CardType.METHOD));
+        }
+        player.shuffleDrawPile();
+        player.drawCards(8);
+        player.purchaseCard(Card.of(CardType.DOGECOIN));
+        player.purchaseCard(Card.of(CardType.ETHEREUM));
+        
+        CoinDistribution exact = service.nextHand(player);
+        
+        PlayerSnapshot snapshot = player.snapshot();
+        int samples = 40000;
+        int atLeastSix = 0;
+        double total = 0;
+        for (int i = 0; i < samples; i++) {
+            player.restore(snapshot);
+            player.shuffleDrawPile();
+            player.discardHand();
+            player.drawCards(5);
+            int coins = player.calculateTotalCoins();
+            total += coins;
+            if (coins >= 6) {
+                atLeastSix++;
+            }
+        }
+        assertEquals(exact.getMean(), total / samples, 0.03);
+        assertEquals(exact.getProbabilityAtLeast(6), (double) atLeastSix / samples, 0.01);
+    }
+    
+    @Test
+    public void testRepeatedQueriesHitTheCache() {
+        service.distribution(counts(7, 0, 0, 3, 0, 0), new int[6], 5);
+        // Automation cards all count as zero coins, so this is the same composition
+        CoinDistribution again = service.distribution(counts(7, 0, 0, 1, 1, 1), new int[6], 5);
+        
+        assertEquals(1, service.getMisses());
+        assertEquals(1, service.getHits());
+        assertEquals(3.5, again.getMean(), 1e-12);
+    }
+    
+    @Test
+    public void testDiscardsIgnoredWithoutReshuffle() {
+        CoinDistribution first = service.distribution(counts(7, 0, 0, 3, 0, 0), new int[6], 5);
+        CoinDistribution second = service.distribution(counts(7, 0, 0, 3, 0, 0), counts(0, 4, 2, 0, 0, 1), 5);
+        
+        assertSame(first, second);
+        assertEquals(1, service.getMisses());
+        assertEquals(1, service.getHits());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeHandSizeIsRejected() {
+        service.distribution(counts(7, 0, 0, 3, 0, 0), new int[6], -1);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testShortCountArrayIsRejected() {
+        service.distribution(new int[] {7, 0, 0}, new int[6], 5);
+    }
+    
+    @Test
+    public void testCacheIsBounded() {
+        DrawProbability small = new DrawProbability(2);
+        small.distribution(counts(5, 0, 0, 0, 0, 0), new int[6], 5);
+        small.distribution(counts(6, 0, 0, 0, 0, 0), new int[6], 5);
+        small.distribution(counts(5, 0, 0, 0, 0, 0), new int[6], 5);
+        small.distribution(counts(7, 0, 0, 0, 0, 0), new int[6], 5);
+        assertEquals(2, small.getCacheSize());
+        
+        // The composition with 6 was least recently used and has been evicted
+        small.distribution(counts(6, 0, 0, 0, 0, 0), new int[6], 5);
+        assertEquals(4, small.getMisses());
+    }
+}
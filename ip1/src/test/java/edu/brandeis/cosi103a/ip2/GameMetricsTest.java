@@ -0,0 +1,201 @@
+package edu.brandeis.cosi103a.ip2;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+import java.nio.file.Path;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Unit tests for the GameMetrics and LatencyHistogram classes.
+ */
+public class GameMetricsTest {
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    @Before
+    public void setUp() {
+        GameMetrics.reset();
+    }
+    
+    @After
+    public void tearDown() {
+        GameMetrics.disable();
+        GameMetrics.disableTiming();
+        GameMetrics.reset();
+    }
+    
+    private static long totalBuys() {
+        long buys = 0;
+        for (CardType type : CardType.values()) {
+            buys += GameMetrics.getBuys(type);
+        }
+        return buys;
+    }
+    
+    @Test
+    public void testDisabledRecordsNothing() {
+        GameMetrics.disable();
+        new Game("Alice", "Bob", 42L).playGame();
+        
+        assertEquals(0, GameMetrics.getGames());
+        assertEquals(0, GameMetrics.getTurns());
+        assertEquals(0, GameMetrics.getReshuffles());
+        assertEquals(0, totalBuys());
+        assertEquals(0, GameMetrics.getBuyPhaseLatency().getCount());
+    }
+    
+    @Test
+    public void testEnabledCountsMatchGame() {
+        GameMetrics.enable();
+        GameMetrics.enableTiming();
+        Game game = new Game("Alice", "Bob", 42L);
+        game.playGame();
+        
+        assertEquals(1, GameMetrics.getGames());
+        assertEquals(game.getTurnCount(), GameMetrics.getTurns());
+        assertEquals(game.getTurnCount(), GameMetrics.getBuyPhaseLatency().getCount());
+        assertEquals(game.getTurnCount(), GameMetrics.getCleanupPhaseLatency().getCount());
+        assertTrue(GameMetrics.getReshuffles() > 0);
+        
+        int purchased = game.getPlayer1().getDeckSize() + game.getPlayer2().getDeckSize() - 20;
+        assertEquals(purchased, totalBuys());
+        assertEquals(CardType.FRAMEWORK.getSupplyCount(), GameMetrics.getBuys(CardType.FRAMEWORK));
+    }
+    
+    @Test
+    public void testSearchPlayoutsAreNotCounted() {
+        GameMetrics.enable();
+        BuyStrategy search = new MonteCarloBuyStrategy(20, 3L);
+        Game game = new Game("Alice", search, "Bob", PriorityBuyStrategy.greedy(), 42L);
+        game.initialize();
+        for (int i = 0; i < 10; i++) {
+            game.executeTurn();
+        }
+        
+        assertEquals(10, GameMetrics.getTurns());
+        assertEquals(0, GameMetrics.getGames());
+    }
+    
+    @Test
+    public void testComparisonGamesAreNotCounted() {
+        GameMetrics.enable();
+        BuyStrategy greedy = PriorityBuyStrategy.greedy();
+        new StrategyComparison(greedy, greedy, 1L, 1).compare(0.1, 0.05, 0.05, 50);
+        new PairedEvaluation(greedy, greedy, 1L, 1).run(25);
+        
+        assertEquals(0, GameMetrics.getGames());
+        assertEquals(0, GameMetrics.getTurns());
+        assertEquals(0, GameMetrics.getReshuffles());
+    }
+    
+    @Test
+    public void testCountersWithoutTiming() {
+        GameMetrics.enable();
+        Game game = new Game("Alice", "Bob", 42L);
+        game.playGame();
+        
+        assertEquals(1, GameMetrics.getGames());
+        assertEquals(game.getTurnCount(), GameMetrics.getTurns());
+        assertEquals(0, GameMetrics.getBuyPhaseLatency().getCount());
+        assertEquals(0, GameMetrics.getCleanupPhaseLatency().getCount());
+    }
+    
+    @Test
+    public void testInstrumentationDoesNotChangeOutcome() {
+        Game plain = new Game("Alice", "Bob", 7L);
+        plain.playGame();
+        GameMetrics.enable();
+        Game instrumented = new Game("Alice", "Bob", 7L);
+        instrumented.playGame();
+        
+        assertEquals(plain.getTurnCount(), instrumented.getTurnCount());
+        assertEquals(plain.getWinnerIndex(), instrumented.getWinnerIndex());
+        assertEquals(plain.getPlayer1().calculateTotalAPs(), instrumented.getPlayer1().calculateTotalAPs());
+    }
+    
+    @Test
+    public void testSwitchingMidGame() {
+        Game game = new Game("Alice", "Bob", 3L);
+        game.initialize();
+        for (int i = 0; i < 10; i++) {
+            game.executeTurn();
+        }
+        GameMetrics.enable();
+        while (game.isGameInProgress()) {
+            game.executeTurn();
+        }
+        
+        assertEquals(game.getTurnCount() - 10, GameMetrics.getTurns());
+        assertEquals(1, GameMetrics.getGames());
+    }
+    
+    @Test
+    public void testFlightRecorderEvents() throws Exception {
+        Path file = folder.newFile("game.jfr").toPath();
+        GameMetrics.enable();
+        Game game = new Game("Alice", "Bob", 42L);
+        try (Recording recording = new Recording()) {
+            recording.enable("edu.brandeis.cosi103a.ip2.Turn").withoutThreshold();
+            recording.enable("edu.brandeis.cosi103a.ip2.Buy").withoutThreshold();
+            recording.enable("edu.brandeis.cosi103a.ip2.Reshuffle").withoutThreshold();
+            recording.start();
+            game.playGame();
+            recording.stop();
+            recording.dump(file);
+        }
+        
+        int turns = 0;
+        int buys = 0;
+        int reshuffles = 0;
+        for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+            String name = event.getEventType().getName();
+            if (name.equals("edu.brandeis.cosi103a.ip2.Turn")) {
+                turns++;
+            } else if (name.equals("edu.brandeis.cosi103a.ip2.Buy")) {
+                buys++;
+            } else if (name.equals("edu.brandeis.cosi103a.ip2.Reshuffle")) {
+                reshuffles++;
+            }
+        }
+        assertEquals(game.getTurnCount(), turns);
+        assertEquals(totalBuys(), buys);
+        assertEquals(GameMetrics.getReshuffles(), reshuffles);
+    }
+    
+    @Test
+    public void testSummaryListsCounters() {
+        GameMetrics.enable();
+        new Game("Alice", "Bob", 42L).playGame();
+        String summary = GameMetrics.getSummary();
+        
+        assertTrue(summary.contains("Games: 1"));
+        assertTrue(summary.contains("Buy phase"));
+        assertTrue(summary.contains("Cleanup phase"));
+    }
+    
+    @Test
+    public void testHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(100);
+        }
+        histogram.record(10_000);
+        
+        assertEquals(100, histogram.getCount());
+        assertEquals(128, histogram.getPercentileNanos(50));
+        assertEquals(128, histogram.getPercentileNanos(99));
+        assertEquals(16_384, histogram.getPercentileNanos(100));
+        assertEquals(199, histogram.getMeanNanos(), 1e-9);
+        
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentileNanos(50));
+    }
+}
@@ -0,0 +1,141 @@
+package edu.brandeis.cosi103a.ip2;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for snapshot, restore, and copy of Game, Player, and CardSupply.
+ */
+public class GameSnapshotTest {
+    
+    private static Game midGame(long seed, int turns) {
+        Game game = new Game("Alice", "Bob", seed);
+        game.initialize();
+        for (int i = 0; i < turns; i++) {
+            game.executeTurn();
+        }
+        return game;
+    }
+    
+    @Test
+    public void testRestoreRewindsGame() {
+        Game game = midGame(3L, 20);
+        GameSnapshot snapshot = game.snapshot();
+        String before = game.getGameSummary();
+        int handBefore = game.getPlayer1().getHandSize();
+        
+        for (int i = 0; i < 15; i++) {
+            game.executeTurn();
+        }
+        assertNotEquals(before, game.getGameSummary());
+        
+        game.restore(snapshot);
+        
+        assertEquals(20, game.getTurnCount());
+        assertEquals(snapshot.getCurrentPlayerIndex(), game.getCurrentPlayerIndex());
+        assertEquals(before, game.getGameSummary());
+        assertEquals(handBefore, game.getPlayer1().getHandSize());
+    }
+    
+    @Test
+    public void testRestoreCopiesPileOrder() {
+        Game game = midGame(4L, 11);
+        GameSnapshot snapshot = game.snapshot();
+        String hand = game.getPlayer2().getHand().toString();
+        String deck = game.getPlayer2().getAllCards().toString();
+        
+        game.executeTurn();
+        game.executeTurn();
+        game.restore(snapshot);
+        
+        assertEquals(hand, game.getPlayer2().getHand().toString());
+        assertEquals(deck, game.getPlayer2().getAllCards().toString());
+    }
+    
+    @Test
+    public void testSnapshotIntoReusesBuffers() {
+        Game game = midGame(5L, 10);
+        GameSnapshot snapshot = game.snapshot();
+        byte[] cards = snapshot.getPlayer(0).cards;
+        
+        game.executeTurn();
+        assertSame(snapshot, game.snapshot(snapshot));
+        assertSame(cards, snapshot.getPlayer(0).cards);
+        assertEquals(11, snapshot.getTurnCount());
+    }
+    
+    @Test
+    public void testCopyIsIndependent() {
+        Game game = midGame(6L, 10);
+        Game copy = game.copy(99L);
+        
+        assertEquals(game.getGameSummary(), copy.getGameSummary());
+        copy.executeTurn();
+        
+        assertEquals(10, game.getTurnCount());
+        assertEquals(11, copy.getTurnCount());
+    }
+    
+    @Test
+    public void testCopyOnWriteKeepsBothSidesIndependent() {
+        Game game = midGame(8L, 10);
+        Game copy = game.copy(5L);
+        String gameBefore = game.getGameSummary() + game.getPlayer1().getAllCards();
+        
+        for (int i = 0; i < 20; i++) {
+            copy.executeTurn();
+        }
+        assertEquals(gameBefore, game.getGameSummary() + game.getPlayer1().getAllCards());
+        
+        String copyBefore = copy.getGameSummary() + copy.getPlayer1().getAllCards();
+        for (int i = 0; i < 20; i++) {
+            game.executeTurn();
+        }
+        assertEquals(copyBefore, copy.getGameSummary() + copy.getPlayer1().getAllCards());
+    }
+    
+    @Test
+    public void testCopyPlaysToCompletion() {
+        Game copy = midGame(7L, 30).copy(1L);
+        while (copy.isGameInProgress()) {
+            copy.executeTurn();
+        }
+        assertEquals(0, copy.getSupply().getCount(CardType.FRAMEWORK));
+    }
+    
+    @Test
+    public void testSupplyRestoreRecomputesAvailability() {
+        CardSupply supply = new CardSupply();
+        int[] counts = supply.snapshot(new int[CardType.values().length]);
+        for (int i = 0; i < 8; i++) {
+            supply.buyCard(CardType.FRAMEWORK);
+        }
+        assertTrue(supply.isGameOver());
+        
+        supply.restore(counts);
+        
+        assertFalse(supply.isGameOver());
+        assertTrue(supply.isAvailable(CardType.FRAMEWORK));
+        assertEquals(8, supply.getCount(CardType.FRAMEWORK));
+    }
+    
+    @Test
+    public void testPlayerSnapshotGrowsForLargeDecks() {
+        Player player = new Player("Big");
+        for (int i = 0; i < 200; i++) {
+            player.purchaseCard(new Card(CardType.BITCOIN));
+        }
+        PlayerSnapshot snapshot = player.snapshot();
+        assertEquals(200, snapshot.getDeckSize());
+        
+        Player other = new Player("Other");
+        other.restore(snapshot);
+        assertEquals(200, other.getAllCards().size());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testRestoreRejectsDifferentPlayerCount() {
+        Game game = new Game(new String[] {"A", "B", "C"}, 1L);
+        game.restore(new GameSnapshot(2));
+    }
+}
@@ -175,6 +175,79 @@ public class GameTest {
         assertTrue(game2Player1APs >= 0);
     }
     
+    @Test
+    public void testSameSeedReplaysSameGame() {
+        Game first = new Game("Alice", "Bob", 12345L);
+        Game second = new Game("Alice", "Bob", 12345L);
+        first.playGame();
+        second.playGame();
+        
+        assertEquals(12345L, first.getSeed());
+        assertEquals(first.getTurnCount(), second.getTurnCount());
+        assertEquals(first.getPlayer1().calculateTotalAPs(), second.getPlayer1().calculateTotalAPs());
+        assertEquals(first.getPlayer2().calculateTotalAPs(), second.getPlayer2().calculateTotalAPs());
+        assertEquals(first.getGameSummary(), second.getGameSummary());
+    }
+    
+    @Test
+    public void testMultiPlayerGameCompletes() {
+        Game sixPlayers = new Game(new String[] {"A", "B", "C", "D", "E", "F"}, 77L);
+        sixPlayers.playGame();
+        
+        assertEquals(6, sixPlayers.getPlayerCount());
+        assertFalse(sixPlayers.isGameInProgress());
+        for (int seat = 0; seat < 6; seat++) {
+            assertEquals(5, sixPlayers.getPlayer(seat).getHandSize());
+        }
+        assertTrue(sixPlayers.getGameSummary().contains("F's Deck"));
+    }
+    
+    @Test
+    public void testSupplyScalesWithPlayerCount() {
+        Game threePlayers = new Game(new String[] {"A", "B", "C"}, 1L);
+        threePlayers.initialize();
+        
+        assertEquals(12, threePlayers.getSupply().getCount(CardType.FRAMEWORK));
+        assertEquals(90 - 21, threePlayers.getSupply().getCount(CardType.BITCOIN));
+    }
+    
+    @Test
+    public void testTurnsRotateThroughAllSeats() {
+        Game fourPlayers = new Game(new String[] {"A", "B", "C", "D"}, 3L);
+        fourPlayers.initialize();
+        int first = fourPlayers.getCurrentPlayerIndex();
+        
+        for (int turn = 1; turn <= 8; turn++) {
+            fourPlayers.executeTurn();
+            assertEquals((first + turn) % 4, fourPlayers.getCurrentPlayerIndex());
+        }
+    }
+    
+    @Test
+    public void testWinnerAmongManyPlayers() {
+        Game threePlayers = new Game(new String[] {"A", "B", "C"}, 1L);
+        threePlayers.getPlayer(0).purchaseCard(new Card(CardType.MODULE));
+        threePlayers.getPlayer(2).purchaseCard(new Card(CardType.FRAMEWORK));
+        
+        assertEquals(2, threePlayers.getWinnerIndex());
+        assertTrue(threePlayers.getWinner().startsWith("C wins with 6 APs (vs 3 APs)"));
+    }
+    
+    @Test
+    public void testTieAmongSomePlayers() {
+        Game threePlayers = new Game(new String[] {"A", "B", "C"}, 1L);
+        threePlayers.getPlayer(0).purchaseCard(new Card(CardType.MODULE));
+        threePlayers.getPlayer(1).purchaseCard(new Card(CardType.MODULE));
+        
+        assertEquals(-1, threePlayers.getWinnerIndex());
+        assertEquals("Tie! A and B have 3 APs", threePlayers.getWinner());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooManyPlayers() {
+        new Game(new String[] {"A", "B", "C", "D", "E", "F", "G"}, 1L);
+    }
+    
     @Test
     public void testGameReachesCompletion() {
         long startTime = System.currentTimeMillis();
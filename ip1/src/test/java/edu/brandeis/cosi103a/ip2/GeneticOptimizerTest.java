@@ -0,0 +1,107 @@
+package edu.brandeis.cosi103a.ip2;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for the GeneticOptimizer and GenerationReport classes.
+ */
+public class GeneticOptimizerTest {
+    
+    @Test
+    public void testRunReportsEveryGeneration() {
+        List<GenerationReport> reports = new ArrayList<>();
+        try (GeneticOptimizer optimizer = new GeneticOptimizer(1L, 8, 50, PriorityBuyStrategy.greedy(), 100, 2)) {
+            GenerationReport last = optimizer.run(4, reports::add);
+            
+            assertEquals(5, reports.size());
+            assertSame(last, reports.get(4));
+            for (int i = 0; i < reports.size(); i++) {
+                assertEquals(i, reports.get(i).getGeneration());
+            }
+            assertEquals(optimizer.getEvaluatedGenomes() * 50L, optimizer.getGamesPlayed());
+        }
+    }
+    
+    @Test
+    public void testBestFitnessNeverDecreases() {
+        List<GenerationReport> reports = new ArrayList<>();
+        try (GeneticOptimizer optimizer = new GeneticOptimizer(2L, 10, 40, PriorityBuyStrategy.greedy(), 100, 2)) {
+            optimizer.run(5, reports::add);
+        }
+        for (int i = 1; i < reports.size(); i++) {
+            assertTrue(reports.get(i).getBestFitness() >= reports.get(i - 1).getBestFitness());
+        }
+    }
+    
+    @Test
+    public void testGreedySelfPlayScoresAboutHalf() {
+        try (GeneticOptimizer optimizer = new GeneticOptimizer(3L, 4, 400, PriorityBuyStrategy.greedy(), 1, 2)) {
+            optimizer.run(0, null);
+            double fitness = optimizer.getFitness(StrategyGenome.greedy());
+            assertTrue("fitness " + fitness, fitness > 0.4 && fitness < 0.6);
+        }
+    }
+    
+    @Test
+    public void testValidateUsesHeldOutGames() {
+        try (GeneticOptimizer optimizer = new GeneticOptimizer(3L, 4, 400, PriorityBuyStrategy.greedy(), 1, 2)) {
+            optimizer.run(0, null);
+            long played = optimizer.getGamesPlayed();
+            double heldOut = optimizer.validate(StrategyGenome.greedy(), 400);
+            
+            assertEquals(played + 400, optimizer.getGamesPlayed());
+            assertTrue("held-out " + heldOut, heldOut > 0.4 && heldOut < 0.6);
+            assertNotEquals(optimizer.getFitness(StrategyGenome.greedy()), heldOut, 0);
+        }
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testValidateNeedsGames() {
+        try (GeneticOptimizer optimizer = new GeneticOptimizer(1L, 4, 10)) {
+            optimizer.validate(StrategyGenome.greedy(), 0);
+        }
+    }
+    
+    @Test
+    public void testEliteComeFromCache() {
+        List<GenerationReport> reports = new ArrayList<>();
+        try (GeneticOptimizer optimizer = new GeneticOptimizer(4L, 6, 20, PriorityBuyStrategy.greedy(), 100, 1)) {
+            optimizer.run(2, reports::add);
+        }
+        assertEquals(0, reports.get(0).getCacheHits());
+        assertTrue(reports.get(1).getCacheHits() >= 2);
+        assertEquals(reports.get(1).getDistinctGenomes(),
+            reports.get(1).getCacheHits() + reports.get(1).getEvaluated());
+    }
+    
+    @Test
+    public void testStopsWhenStalled() {
+        try (GeneticOptimizer optimizer = new GeneticOptimizer(5L, 4, 10, PriorityBuyStrategy.greedy(), 2, 1)) {
+            GenerationReport last = optimizer.run(1000, null);
+            assertEquals(2, last.getStalledGenerations());
+            assertTrue(last.getGeneration() < 1000);
+        }
+    }
+    
+    @Test
+    public void testSameSeedSameResult() {
+        GenerationReport first;
+        GenerationReport second;
+        try (GeneticOptimizer optimizer = new GeneticOptimizer(6L, 6, 30, PriorityBuyStrategy.greedy(), 100, 3)) {
+            first = optimizer.run(3, null);
+        }
+        try (GeneticOptimizer optimizer = new GeneticOptimizer(6L, 6, 30, PriorityBuyStrategy.greedy(), 100, 1)) {
+            second = optimizer.run(3, null);
+        }
+        assertEquals(first.getBest(), second.getBest());
+        assertEquals(first.getBestFitness(), second.getBestFitness(), 0);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testPopulationMustExceedElite() {
+        new GeneticOptimizer(1L, 2, 10);
+    }
+}
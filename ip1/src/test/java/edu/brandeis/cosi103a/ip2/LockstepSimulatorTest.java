@@ -0,0 +1,59 @@
+package edu.brandeis.cosi103a.ip2;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the LockstepSimulator class.
+ */
+public class LockstepSimulatorTest {
+    
+    private static void assertSameStatistics(TournamentResult expected, TournamentResult actual) {
+        assertEquals(expected.getGames(), actual.getGames());
+        assertEquals(expected.getTies(), actual.getTies());
+        for (int seat = 0; seat < expected.getSeats(); seat++) {
+            assertEquals(expected.getWins(seat), actual.getWins(seat));
+            assertEquals(expected.getAverageAps(seat), actual.getAverageAps(seat), 1e-9);
+        }
+        for (int turns = 0; turns < 1000; turns++) {
+            assertEquals(expected.getTurnFrequency(turns), actual.getTurnFrequency(turns));
+        }
+    }
+    
+    @Test
+    public void testMatchesObjectEngineForTwoPlayers() {
+        TournamentResult objects = new Tournament(11L, 2).run(300);
+        TournamentResult lockstep = new LockstepSimulator(11L, 2).run(300);
+        assertSameStatistics(objects, lockstep);
+    }
+    
+    @Test
+    public void testMatchesObjectEngineForSixPlayers() {
+        TournamentResult objects = new Tournament(12L, 6).run(60);
+        TournamentResult lockstep = new LockstepSimulator(12L, 6).run(60);
+        assertSameStatistics(objects, lockstep);
+    }
+    
+    @Test
+    public void testMatchesObjectEngineWithCustomStrategy() {
+        PriorityBuyStrategy bigMoney = new PriorityBuyStrategy(
+            new CardType[] {CardType.FRAMEWORK, CardType.DOGECOIN, CardType.ETHEREUM, CardType.MODULE},
+            new int[] {0, 0, 0, 0, 7, 0});
+        TournamentResult objects = new Tournament(13L, 3, seed -> new Game(
+            Tournament.playerNames(3), new BuyStrategy[] {bigMoney, bigMoney, bigMoney}, seed), 2).run(100);
+        TournamentResult lockstep = new LockstepSimulator(13L, 3, bigMoney, 32).run(100);
+        assertSameStatistics(objects, lockstep);
+    }
+    
+    @Test
+    public void testBatchSizeDoesNotChangeResults() {
+        TournamentResult small = new LockstepSimulator(14L, 2, PriorityBuyStrategy.greedy(), 7).run(50);
+        TournamentResult large = new LockstepSimulator(14L, 2, PriorityBuyStrategy.greedy(), 1024).run(50);
+        assertSameStatistics(small, large);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsTooManyPlayers() {
+        new LockstepSimulator(1L, 7);
+    }
+}
@@ -0,0 +1,125 @@
+package edu.brandeis.cosi103a.ip2;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the MonteCarloBuyStrategy class.
+ */
+public class MonteCarloBuyStrategyTest {
+    
+    /**
+     * Plays a few turns and returns a game paused in the current player's Buy Phase.
+     */
+    private static Game pausedInBuyPhase(long seed) {
+        Game game = new Game("Alice", "Bob", seed);
+        game.initialize();
+        for (int i = 0; i < 12; i++) {
+            game.executeTurn();
+        }
+        return game;
+    }
+    
+    @Test
+    public void testChoosesLegalPurchase() {
+        Game game = pausedInBuyPhase(1L);
+        Player player = game.getPlayer(game.getCurrentPlayerIndex());
+        int coins = player.playAllCryptocurrencyCards();
+        
+        MonteCarloBuyStrategy strategy = new MonteCarloBuyStrategy(60, 2L);
+        CardType choice = strategy.chooseCardToBuy(game, player, coins);
+        
+        if (choice != null) {
+            assertTrue(choice.getCost() <= coins);
+            assertTrue(game.getSupply().isAvailable(choice));
+        }
+        assertEquals(60, strategy.getLastPlayouts());
+        assertTrue(strategy.getLastPlayoutsPerSecond() > 0);
+    }
+    
+    @Test
+    public void testSearchLeavesGameUntouched() {
+        Game game = pausedInBuyPhase(2L);
+        Player player = game.getPlayer(game.getCurrentPlayerIndex());
+        int coins = player.playAllCryptocurrencyCards();
+        String before = game.getGameSummary();
+        String hand = player.getHand().toString();
+        
+        new MonteCarloBuyStrategy(40, 3L).chooseCardToBuy(game, player, coins);
+        
+        assertEquals(before, game.getGameSummary());
+        assertEquals(hand, player.getHand().toString());
+        assertEquals(12, game.getTurnCount());
+    }
+    
+    @Test
+    public void testSingleThreadedSearchIsDeterministic() {
+        Game first = pausedInBuyPhase(3L);
+        Game second = pausedInBuyPhase(3L);
+        Player firstPlayer = first.getPlayer(first.getCurrentPlayerIndex());
+        Player secondPlayer = second.getPlayer(second.getCurrentPlayerIndex());
+        int coins = firstPlayer.playAllCryptocurrencyCards();
+        secondPlayer.playAllCryptocurrencyCards();
+        
+        assertEquals(new MonteCarloBuyStrategy(80, 9L).chooseCardToBuy(first, firstPlayer, coins),
+                     new MonteCarloBuyStrategy(80, 9L).chooseCardToBuy(second, secondPlayer, coins));
+    }
+    
+    @Test
+    public void testParallelSearchPlaysFullGame() {
+        try (MonteCarloBuyStrategy strategy =
+                 new MonteCarloBuyStrategy(24, 0, 3, PriorityBuyStrategy.greedy(), 4L)) {
+            Game game = new Game("Search", strategy, "Greedy", PriorityBuyStrategy.greedy(), 5L);
+            game.playGame();
+            
+            assertFalse(game.isGameInProgress());
+            assertTrue(strategy.getTotalPlayouts() > 0);
+            assertTrue(strategy.getPlayoutsPerSecond() > 0);
+        }
+    }
+    
+    @Test
+    public void testTimeBudgetStopsSearch() {
+        Game game = pausedInBuyPhase(4L);
+        Player player = game.getPlayer(game.getCurrentPlayerIndex());
+        int coins = player.playAllCryptocurrencyCards();
+        MonteCarloBuyStrategy strategy =
+            new MonteCarloBuyStrategy(Integer.MAX_VALUE, 20, 1, PriorityBuyStrategy.greedy(), 5L);
+        
+        long start = System.nanoTime();
+        strategy.chooseCardToBuy(game, player, coins);
+        
+        assertTrue((System.nanoTime() - start) / 1_000_000 < 2000);
+        assertTrue(strategy.getLastPlayouts() < Integer.MAX_VALUE);
+    }
+    
+    @Test
+    public void testSmallParallelBudgetVisitsEveryCandidate() {
+        Game game = pausedInBuyPhase(6L);
+        Player player = game.getPlayer(game.getCurrentPlayerIndex());
+        player.playAllCryptocurrencyCards();
+        try (MonteCarloBuyStrategy strategy =
+                 new MonteCarloBuyStrategy(4, 0, 2, PriorityBuyStrategy.greedy(), 7L)) {
+            // Eight coins make every available card type and passing legal
+            strategy.chooseCardToBuy(game, player, 8);
+            
+            long[] visits = strategy.getLastVisits();
+            assertTrue(visits.length > 4);
+            for (long count : visits) {
+                assertTrue(count > 0);
+            }
+        }
+    }
+    
+    @Test
+    public void testUnvisitedCandidatesAreNeverChosen() {
+        assertEquals(-1, MonteCarloBuyStrategy.mostVisited(new long[3], new double[3]));
+        assertEquals(2, MonteCarloBuyStrategy.mostVisited(new long[] {0, 0, 1}, new double[] {0, 0, 0}));
+        assertEquals(1, MonteCarloBuyStrategy.mostVisited(new long[] {2, 2, 1}, new double[] {0.5, 1.5, 1}));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidBudget() {
+        new MonteCarloBuyStrategy(0, 1L);
+    }
+}
@@ -0,0 +1,82 @@
+package edu.brandeis.cosi103a.ip2;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the PairedEvaluation and PairedResult classes.
+ */
+public class PairedEvaluationTest {
+    
+    private static final BuyStrategy BIG_MONEY = new PriorityBuyStrategy(new CardType[] {
+        CardType.FRAMEWORK, CardType.DOGECOIN, CardType.ETHEREUM
+    });
+    private static final BuyStrategy BIG_MONEY_WITH_MODULES = new PriorityBuyStrategy(new CardType[] {
+        CardType.FRAMEWORK, CardType.DOGECOIN, CardType.MODULE, CardType.ETHEREUM
+    });
+    
+    @Test
+    public void testSelfPlayCancelsExactly() {
+        BuyStrategy greedy = PriorityBuyStrategy.greedy();
+        PairedResult result = new PairedEvaluation(greedy, greedy, 1L, 2).run(200);
+        
+        assertEquals(200, result.getPairs());
+        assertEquals(400, result.getGames());
+        assertEquals(0.5, result.getScoreRate(), 1e-12);
+        assertEquals(0.0, result.getStandardError(), 1e-12);
+        assertTrue(result.getUnpairedStandardError() > 0);
+        assertEquals(0, result.getSweeps());
+        assertEquals(0, result.getLosses());
+    }
+    
+    @Test
+    public void testMirroredGamesShareShuffles() {
+        String[] names = Tournament.playerNames(2);
+        Game straight = new Game(names, new BuyStrategy[] {BIG_MONEY, BIG_MONEY}, 9L);
+        Game swapped = new Game(names, new BuyStrategy[] {BIG_MONEY, BIG_MONEY}, 9L);
+        straight.initialize();
+        swapped.initialize();
+        
+        assertEquals(straight.getCurrentPlayerIndex(), swapped.getCurrentPlayerIndex());
+        for (int seat = 0; seat < 2; seat++) {
+            assertEquals(straight.getPlayer(seat).getHand(), swapped.getPlayer(seat).getHand());
+        }
+    }
+    
+    @Test
+    public void testPairingReducesVariance() {
+        PairedResult result = new PairedEvaluation(BIG_MONEY, BIG_MONEY_WITH_MODULES, 2L, 2).run(2000);
+        
+        assertTrue(result.getStandardError() < result.getUnpairedStandardError());
+        assertTrue(result.getVarianceReduction() > 1);
+        assertEquals(result.getGames() * result.getVarianceReduction(), result.getEquivalentUnpairedGames(), 1e-6);
+        assertEquals(result.getPairs(), result.getSweeps() + result.getSplits() + result.getLosses());
+    }
+    
+    @Test
+    public void testResultIndependentOfThreads() {
+        PairedResult one = new PairedEvaluation(BIG_MONEY, BIG_MONEY_WITH_MODULES, 3L, 1).run(300);
+        PairedResult three = new PairedEvaluation(BIG_MONEY, BIG_MONEY_WITH_MODULES, 3L, 3).run(300);
+        
+        assertEquals(one.getScoreRate(), three.getScoreRate(), 1e-12);
+        assertEquals(one.getSweeps(), three.getSweeps());
+        assertEquals(one.getStandardError(), three.getStandardError(), 1e-12);
+    }
+    
+    @Test
+    public void testRecordAndMerge() {
+        PairedResult a = new PairedResult();
+        a.record(1, 1);
+        a.record(1, 0);
+        PairedResult b = new PairedResult();
+        b.record(0, 0.5);
+        a.merge(b);
+        
+        assertEquals(3, a.getPairs());
+        assertEquals(1, a.getSweeps());
+        assertEquals(2, a.getSplits());
+        assertEquals(0, a.getLosses());
+        assertEquals((1 + 0.5 + 0.25) / 3, a.getScoreRate(), 1e-12);
+        assertTrue(a.getSummary().contains("Pairs: 3 (6 games)"));
+    }
+}
@@ -229,4 +229,55 @@ public class PlayerTest {
         // Original hand should still have the card
         assertEquals(1, player.getHandSize());
     }
+    
+    @Test
+    public void testCompositionCountsThroughATurn() {
+        for (int i = 0; i < 7; i++) {
+            player.addStartingCard(Card.of(CardType.BITCOIN));
+        }
+        for (int i = 0; i < 3; i++) {
+            player.addStartingCard(Card.of(CardType.METHOD));
+        }
+        player.shuffleDrawPile();
+        player.drawCards(5);
+        
+        assertEquals(10, player.getDeckSize());
+        assertEquals(5, player.getDrawPileSize());
+        assertEquals(5, player.getHandCount(CardType.BITCOIN) + player.getHandCount(CardType.METHOD));
+        assertEquals(7, player.getHandCount(CardType.BITCOIN) + player.getDrawPileCount(CardType.BITCOIN));
+        assertEquals(player.getHandCount(CardType.BITCOIN), player.calculateTotalCoins());
+        
+        player.playAllCryptocurrencyCards();
+        assertEquals(0, player.getHandCount(CardType.BITCOIN));
+        assertEquals(0, player.calculateTotalCoins());
+        
+        player.purchaseCard(Card.of(CardType.FRAMEWORK));
+        player.discardHand();
+        assertEquals(0, player.getHandSize());
+        assertEquals(1, player.getCardCount(CardType.FRAMEWORK));
+        assertEquals(1, player.getDiscardPileCount(CardType.FRAMEWORK));
+        assertEquals(6, player.getDiscardPileSize());
+        assertEquals(3 + CardType.FRAMEWORK.getValue(), player.calculateTotalAPs());
+        
+        // Drawing past the draw pile reshuffles the discards
+        player.drawCards(7);
+        assertEquals(0, player.getDiscardPileSize());
+        assertEquals(4, player.getDrawPileSize());
+        assertEquals(1, player.getHandCount(CardType.FRAMEWORK) + player.getDrawPileCount(CardType.FRAMEWORK));
+    }
+    
+    @Test
+    public void testCountsSurviveRestore() {
+        player.addStartingCard(Card.of(CardType.ETHEREUM));
+        player.addStartingCard(Card.of(CardType.MODULE));
+        player.drawCards(1);
+        PlayerSnapshot snapshot = player.snapshot();
+        
+        Player other = new Player("Other");
+        other.restore(snapshot);
+        assertEquals(player.calculateTotalCoins(), other.calculateTotalCoins());
+        assertEquals(player.calculateTotalAPs(), other.calculateTotalAPs());
+        assertEquals(1, other.getCardCount(CardType.MODULE));
+        assertEquals(player.getHandCount(CardType.ETHEREUM), other.getHandCount(CardType.ETHEREUM));
+    }
 }
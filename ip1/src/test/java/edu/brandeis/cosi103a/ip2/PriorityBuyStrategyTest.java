@@ -0,0 +1,133 @@
+package edu.brandeis.cosi103a.ip2;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.Properties;
+
+/**
+ * Unit tests for the PriorityBuyStrategy and DecisionTable classes.
+ */
+public class PriorityBuyStrategyTest {
+    
+    private static final CardType[] GREEDY_ORDER = {
+        CardType.FRAMEWORK, CardType.MODULE, CardType.METHOD,
+        CardType.DOGECOIN, CardType.ETHEREUM, CardType.BITCOIN
+    };
+    
+    @Test
+    public void testGreedyBuysMostValuableAffordableCard() {
+        Game game = new Game("Alice", "Bob", 1L);
+        BuyStrategy greedy = PriorityBuyStrategy.greedy();
+        
+        assertEquals(CardType.FRAMEWORK, greedy.chooseCardToBuy(game, game.getPlayer1(), 8));
+        assertEquals(CardType.FRAMEWORK, greedy.chooseCardToBuy(game, game.getPlayer1(), 20));
+        assertEquals(CardType.MODULE, greedy.chooseCardToBuy(game, game.getPlayer1(), 7));
+        assertEquals(CardType.METHOD, greedy.chooseCardToBuy(game, game.getPlayer1(), 2));
+        assertEquals(CardType.BITCOIN, greedy.chooseCardToBuy(game, game.getPlayer1(), 1));
+    }
+    
+    @Test
+    public void testGreedySkipsEmptyPiles() {
+        Game game = new Game("Alice", "Bob", 1L);
+        for (int i = 0; i < 8; i++) {
+            game.getSupply().buyCard(CardType.MODULE);
+        }
+        
+        assertEquals(CardType.METHOD,
+            PriorityBuyStrategy.greedy().chooseCardToBuy(game, game.getPlayer1(), 7));
+    }
+    
+    @Test
+    public void testTableMatchesDirectRuleForEveryInput() {
+        DecisionTable table = DecisionTable.compile(8, (coins, mask) -> {
+            for (CardType type : GREEDY_ORDER) {
+                if ((mask & (1 << type.ordinal())) != 0 && type.getCost() <= coins) {
+                    return type;
+                }
+            }
+            return null;
+        });
+        
+        for (int coins = 0; coins <= 15; coins++) {
+            for (int mask = 0; mask < 1 << DecisionTable.MASK_BITS; mask++) {
+                CardType expected = null;
+                for (CardType type : GREEDY_ORDER) {
+                    if ((mask & (1 << type.ordinal())) != 0 && type.getCost() <= coins) {
+                        expected = type;
+                        break;
+                    }
+                }
+                assertEquals(expected, table.lookup(coins, mask));
+            }
+        }
+    }
+    
+    @Test
+    public void testMinCoinThresholds() {
+        int[] minCoins = new int[CardType.values().length];
+        minCoins[CardType.METHOD.ordinal()] = 4;
+        PriorityBuyStrategy strategy = new PriorityBuyStrategy(GREEDY_ORDER, minCoins);
+        Game game = new Game("Alice", "Bob", 1L);
+        
+        assertEquals(CardType.BITCOIN, strategy.chooseCardToBuy(game, game.getPlayer1(), 2));
+        assertEquals(CardType.ETHEREUM, strategy.chooseCardToBuy(game, game.getPlayer1(), 3));
+        assertEquals(CardType.METHOD, strategy.chooseCardToBuy(game, game.getPlayer1(), 4));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidThresholdLength() {
+        new PriorityBuyStrategy(GREEDY_ORDER, new int[2]);
+    }
+    
+    @Test
+    public void testGameUsesEachPlayersStrategy() {
+        BuyStrategy nothing = (game, player, coins) -> null;
+        Game game = new Game("Alice", nothing, "Bob", nothing, 5L);
+        game.initialize();
+        
+        for (int i = 0; i < 10; i++) {
+            game.executeTurn();
+        }
+        
+        assertEquals(10, game.getPlayer1().getAllCards().size());
+        assertEquals(10, game.getPlayer2().getAllCards().size());
+    }
+    
+    @Test
+    public void testGameIgnoresUnaffordableChoice() {
+        BuyStrategy framework = (game, player, coins) -> CardType.FRAMEWORK;
+        Game game = new Game("Alice", framework, "Bob", framework, 5L);
+        game.initialize();
+        game.executeTurn();  // a starting hand holds at most 5 coins
+        
+        assertEquals(8, game.getSupply().getCount(CardType.FRAMEWORK));
+    }
+    
+    @Test
+    public void testCustomTablesAreSharedByEqualCardSets() {
+        PriorityBuyStrategy greedy = PriorityBuyStrategy.greedy();
+        Properties properties = new Properties();
+        properties.setProperty("FRAMEWORK.cost", "7");
+        DecisionTable first = greedy.getDecisionTable(CardSet.fromProperties(properties));
+        
+        for (int i = 0; i < 2 * PriorityBuyStrategy.MAX_CUSTOM_TABLES; i++) {
+            assertSame(first, greedy.getDecisionTable(CardSet.fromProperties(properties)));
+        }
+        assertSame(greedy.getDecisionTable(), greedy.getDecisionTable(CardSet.fromProperties(new Properties())));
+    }
+    
+    @Test
+    public void testRecentlyUsedTableSurvivesASweep() {
+        PriorityBuyStrategy strategy = new PriorityBuyStrategy(GREEDY_ORDER);
+        Properties cheap = new Properties();
+        cheap.setProperty("FRAMEWORK.cost", "7");
+        DecisionTable kept = strategy.getDecisionTable(CardSet.fromProperties(cheap));
+        
+        for (int supply = 1; supply <= 2 * PriorityBuyStrategy.MAX_CUSTOM_TABLES; supply++) {
+            Properties variant = new Properties();
+            variant.setProperty("FRAMEWORK.supply", Integer.toString(supply));
+            strategy.getDecisionTable(CardSet.fromProperties(variant));
+            assertSame(kept, strategy.getDecisionTable(CardSet.fromProperties(cheap)));
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package edu.brandeis.cosi103a.ip2;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Unit tests for the ResultStore and ResultRecord classes.
+ */
+public class ResultStoreTest {
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    private Path newPath() throws IOException {
+        return folder.newFile().toPath();
+    }
+    
+    private static long[] sumTurnsAndCount(ResultStore store, int threads) {
+        return store.scan(() -> new long[2], (acc, record) -> {
+            acc[0] += record.getTurnCount();
+            acc[1]++;
+        }, (a, b) -> {
+            a[0] += b[0];
+            a[1] += b[1];
+            return a;
+        }, threads);
+    }
+    
+    @Test
+    public void testRecordFieldsRoundTrip() throws IOException {
+        Path path = newPath();
+        try (ResultStore store = ResultStore.create(path)) {
+            assertEquals(0, store.append(42L, new int[] {3, 7, 11}, 55, new int[] {20, 31, 4}, 1));
+            assertEquals(1, store.append(-1L, new int[] {0, 1}, 12, new int[] {9, 9}, -1));
+        }
+        assertEquals(64 + 2 * ResultStore.RECORD_SIZE, Files.size(path));
+        
+        try (ResultStore store = ResultStore.open(path)) {
+            assertEquals(2, store.size());
+            String first = store.scan(StringBuilder::new, (sb, record) -> sb.append(record).append('\n'),
+                StringBuilder::append, 1).toString();
+            assertEquals("seed 42, 55 turns, winner 1, strategy:APs 3:20 7:31 11:4\n"
+                + "seed -1, 12 turns, winner -1, strategy:APs 0:9 1:9\n", first);
+        }
+    }
+    
+    @Test
+    public void testAppendAfterReopen() throws IOException {
+        Path path = newPath();
+        try (ResultStore store = ResultStore.create(path, 4)) {
+            for (int i = 0; i < 10; i++) {
+                store.append(i, new int[] {0, 1}, i, new int[] {i, 0}, 0);
+            }
+        }
+        try (ResultStore store = ResultStore.open(path, 4)) {
+            for (int i = 10; i < 15; i++) {
+                store.append(i, new int[] {0, 1}, i, new int[] {i, 0}, 0);
+            }
+            long[] totals = sumTurnsAndCount(store, 2);
+            assertEquals(15, totals[1]);
+            assertEquals(14 * 15 / 2, totals[0]);
+        }
+    }
+    
+    @Test
+    public void testSlackAfterLastRecordIsIgnored() throws IOException {
+        Path path = newPath();
+        try (ResultStore store = ResultStore.create(path, 4)) {
+            for (int i = 0; i < 6; i++) {
+                store.append(i, new int[] {0, 1}, i, new int[] {i, 0}, 0);
+            }
+        }
+        // What an untrimmed close leaves behind: the zeroed rest of the last window
+        Files.write(path, new byte[2 * ResultStore.RECORD_SIZE], StandardOpenOption.APPEND);
+        
+        try (ResultStore store = ResultStore.open(path, 4)) {
+            assertEquals(6, store.size());
+            assertEquals(6, store.append(6, new int[] {0, 1}, 6, new int[] {6, 0}, 0));
+            long[] totals = sumTurnsAndCount(store, 2);
+            assertEquals(7, totals[1]);
+            assertEquals(6 * 7 / 2, totals[0]);
+        }
+        assertEquals(64 + 7 * ResultStore.RECORD_SIZE, Files.size(path));
+    }
+    
+    @Test
+    public void testParallelScanAcrossWindowsMatchesSequential() throws IOException {
+        try (ResultStore store = ResultStore.create(newPath(), 100)) {
+            for (int i = 0; i < 1234; i++) {
+                store.append(i, new int[] {0, 1}, i % 97, new int[] {i % 13, i % 7}, i % 2);
+            }
+            long[] sequential = sumTurnsAndCount(store, 1);
+            long[] parallel = sumTurnsAndCount(store, 4);
+            assertArrayEquals(sequential, parallel);
+            assertEquals(1234, parallel[1]);
+        }
+    }
+    
+    @Test
+    public void testTournamentResultMatchesTournament() throws IOException {
+        long seed = 17L;
+        int games = 500;
+        TournamentResult expected = new Tournament(seed).run(games);
+        
+        try (ResultStore store = ResultStore.create(newPath(), 64)) {
+            for (int i = 0; i < games; i++) {
+                Game game = new Game(Tournament.playerNames(2), Tournament.gameSeed(seed, i));
+                game.playGame();
+                store.append(game, new int[] {0, 0});
+            }
+            TournamentResult actual = store.toTournamentResult(2);
+            
+            assertEquals(expected.getGames(), actual.getGames());
+            assertEquals(expected.getTies(), actual.getTies());
+            assertEquals(expected.getWins(0), actual.getWins(0));
+            assertEquals(expected.getAverageTurns(), actual.getAverageTurns(), 1e-9);
+            assertEquals(expected.getAverageAps(1), actual.getAverageAps(1), 1e-9);
+        }
+    }
+    
+    @Test
+    public void testAppendGameStoresSeedAndWinner() throws IOException {
+        Game game = new Game("Alice", "Bob", 99L);
+        game.playGame();
+        try (ResultStore store = ResultStore.create(newPath())) {
+            store.append(game, new int[] {5, 6});
+            long[] seedAndWinner = store.scan(() -> new long[2], (acc, record) -> {
+                acc[0] = record.getSeed();
+                acc[1] = record.getWinner();
+            }, (a, b) -> b[0] != 0 ? b : a, 1);
+            assertEquals(99L, seedAndWinner[0]);
+            assertEquals(game.getWinnerIndex(), seedAndWinner[1]);
+        }
+    }
+    
+    @Test(expected = IOException.class)
+    public void testOpenRejectsOtherFiles() throws IOException {
+        Path path = newPath();
+        Files.write(path, new byte[100]);
+        ResultStore.open(path);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testMismatchedSeatsRejected() throws IOException {
+        try (ResultStore store = ResultStore.create(newPath())) {
+            store.append(1L, new int[] {0}, 10, new int[] {1, 2}, 0);
+        }
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeApsRejected() throws IOException {
+        try (ResultStore store = ResultStore.create(newPath())) {
+            store.append(1L, new int[] {0, 1}, 10, new int[] {-1, 2}, 0);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package edu.brandeis.cosi103a.ip2;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the StrategyComparison and ComparisonResult classes.
+ */
+public class StrategyComparisonTest {
+    
+    private static final BuyStrategy NEVER_BUY = new PriorityBuyStrategy(new CardType[0]);
+    
+    @Test
+    public void testStopsEarlyOnClearWinner() {
+        StrategyComparison comparison = new StrategyComparison(PriorityBuyStrategy.greedy(), NEVER_BUY, 1L, 2);
+        ComparisonResult result = comparison.compare(0.1, 0.05, 0.05, 10_000);
+        
+        assertEquals(ComparisonResult.Verdict.FIRST_BETTER, result.getVerdict());
+        assertEquals(0, result.getSecondWins());
+        assertTrue(result.getGames() < 20);
+        assertEquals(10_000 - result.getGamesPlayed(), result.getGamesSaved());
+        assertTrue(result.getLogLikelihoodRatio() >= Math.log(0.95 / 0.05));
+    }
+    
+    @Test
+    public void testPlayedGamesIncludeTheWholeDecidingBatch() {
+        StrategyComparison comparison = new StrategyComparison(PriorityBuyStrategy.greedy(), NEVER_BUY, 1L, 2);
+        ComparisonResult result = comparison.compare(0.1, 0.05, 0.05, 10_000);
+        
+        // The deciding batch of 64 finishes before the stop is noticed; at most 4 batches are in flight
+        assertTrue(result.getGamesPlayed() >= 64);
+        assertTrue(result.getGamesPlayed() <= 4 * 64);
+        assertTrue(result.getGamesPlayed() > result.getGames());
+    }
+    
+    @Test
+    public void testSecondStrategyCanWin() {
+        StrategyComparison comparison = new StrategyComparison(NEVER_BUY, PriorityBuyStrategy.greedy(), 2L, 2);
+        ComparisonResult result = comparison.compare(0.1, 0.05, 0.05, 10_000);
+        
+        assertEquals(ComparisonResult.Verdict.SECOND_BETTER, result.getVerdict());
+        assertEquals(0.0, result.getFirstWinRate(), 0);
+    }
+    
+    @Test
+    public void testEqualStrategiesHitTheLimit() {
+        BuyStrategy greedy = PriorityBuyStrategy.greedy();
+        ComparisonResult result = new StrategyComparison(greedy, greedy, 3L, 2).compare(0.02, 0.05, 0.05, 300);
+        
+        assertEquals(ComparisonResult.Verdict.INCONCLUSIVE, result.getVerdict());
+        assertEquals(300, result.getGames());
+        assertEquals(300, result.getGamesPlayed());
+        assertEquals(0, result.getGamesSaved());
+        assertEquals(300, result.getFirstWins() + result.getSecondWins() + result.getTies());
+    }
+    
+    @Test
+    public void testVerdictIndependentOfThreads() {
+        BuyStrategy greedy = PriorityBuyStrategy.greedy();
+        BuyStrategy bigMoney = new PriorityBuyStrategy(new CardType[] {
+            CardType.FRAMEWORK, CardType.DOGECOIN, CardType.ETHEREUM
+        });
+        ComparisonResult one = new StrategyComparison(greedy, bigMoney, 4L, 1).compare(0.05, 0.05, 0.05, 5000);
+        ComparisonResult four = new StrategyComparison(greedy, bigMoney, 4L, 4).compare(0.05, 0.05, 0.05, 5000);
+        
+        assertEquals(one.getVerdict(), four.getVerdict());
+        assertEquals(one.getGames(), four.getGames());
+        assertEquals(one.getFirstWins(), four.getFirstWins());
+    }
+    
+    @Test
+    public void testSummaryReportsSavings() {
+        ComparisonResult result = new StrategyComparison(PriorityBuyStrategy.greedy(), NEVER_BUY, 5L, 1)
+            .compare(0.1, 0.05, 0.05, 1000);
+        assertTrue(result.getSummary().contains(result.getGamesSaved() + " saved"));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testDeltaOutOfRangeRejected() {
+        new StrategyComparison(NEVER_BUY, NEVER_BUY, 1L, 1).compare(0.5, 0.05, 0.05, 100);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testErrorRateOutOfRangeRejected() {
+        new StrategyComparison(NEVER_BUY, NEVER_BUY, 1L, 1).compare(0.1, 0, 0.05, 100);
+    }
+}
@@ -0,0 +1,84 @@
+package edu.brandeis.cosi103a.ip2;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Unit tests for the StrategyGenome class.
+ */
+public class StrategyGenomeTest {
+    
+    private static void assertValid(StrategyGenome genome) {
+        int[] parameters = genome.toParameters();
+        assertEquals(genome, StrategyGenome.fromParameters(parameters));
+    }
+    
+    @Test
+    public void testGreedyMatchesGreedyStrategy() {
+        StrategyGenome greedy = StrategyGenome.greedy();
+        assertArrayEquals(PriorityBuyStrategy.greedy().getPriorityOrder(), greedy.getPriorityOrder());
+        assertArrayEquals(new int[CardType.values().length], greedy.getMinCoins());
+        assertEquals("Framework > Module > Method > Dogecoin > Ethereum > Bitcoin", greedy.toString());
+    }
+    
+    @Test
+    public void testParametersRoundTrip() {
+        StrategyGenome genome = StrategyGenome.random(new SplittableRandom(1));
+        StrategyGenome copy = StrategyGenome.fromParameters(genome.toParameters());
+        assertEquals(genome, copy);
+        assertEquals(genome.hashCode(), copy.hashCode());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testRepeatedPriorityRejected() {
+        StrategyGenome.fromParameters(new int[] {0, 0, 2, 3, 4, 5, 0, 0, 0, 0, 0, 0});
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testThresholdOutOfRangeRejected() {
+        StrategyGenome.fromParameters(new int[] {0, 1, 2, 3, 4, 5, 0, 0, 0, 0, 0, StrategyGenome.MAX_MIN_COINS + 1});
+    }
+    
+    @Test
+    public void testMutationAndCrossoverStayValid() {
+        SplittableRandom random = new SplittableRandom(7);
+        StrategyGenome a = StrategyGenome.random(random);
+        StrategyGenome b = StrategyGenome.random(random);
+        for (int i = 0; i < 1000; i++) {
+            StrategyGenome child = a.crossover(b, random).mutate(random, 0.5);
+            assertValid(child);
+            a = b;
+            b = child;
+        }
+    }
+    
+    @Test
+    public void testMutationWithZeroRateIsIdentity() {
+        StrategyGenome genome = StrategyGenome.random(new SplittableRandom(3));
+        assertEquals(genome, genome.mutate(new SplittableRandom(4), 0));
+    }
+    
+    @Test
+    public void testCrossoverOfIdenticalParents() {
+        StrategyGenome genome = StrategyGenome.random(new SplittableRandom(5));
+        assertEquals(genome, genome.crossover(genome, new SplittableRandom(6)));
+    }
+    
+    @Test
+    public void testToStrategyUsesGenes() {
+        int[] minCoins = new int[CardType.values().length];
+        minCoins[CardType.METHOD.ordinal()] = 4;
+        CardType[] order = {
+            CardType.METHOD, CardType.FRAMEWORK, CardType.MODULE,
+            CardType.DOGECOIN, CardType.ETHEREUM, CardType.BITCOIN
+        };
+        PriorityBuyStrategy strategy = StrategyGenome.of(order, minCoins).toStrategy();
+        
+        assertTrue(Arrays.equals(order, strategy.getPriorityOrder()));
+        assertArrayEquals(minCoins, strategy.getMinCoins());
+        assertEquals("Method@4 > Framework > Module > Dogecoin > Ethereum > Bitcoin",
+            StrategyGenome.of(order, minCoins).toString());
+    }
+}
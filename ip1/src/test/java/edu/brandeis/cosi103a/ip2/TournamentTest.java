@@ -0,0 +1,143 @@
+package edu.brandeis.cosi103a.ip2;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for the Tournament and TournamentResult classes.
+ */
+public class TournamentTest {
+
+    @Test
+    public void testRunPlaysRequestedNumberOfGames() {
+        Tournament tournament = new Tournament(1L, 2, seed -> new Game("Alice", "Bob", seed), 4);
+        TournamentResult result = tournament.run(50);
+        
+        assertEquals(50, result.getGames());
+        assertEquals(50, result.getWins(0) + result.getWins(1) + result.getTies());
+    }
+    
+    @Test
+    public void testRunWithFewerGamesThanThreads() {
+        Tournament tournament = new Tournament(2L, 2, seed -> new Game("Alice", "Bob", seed), 8);
+        assertEquals(3, tournament.run(3).getGames());
+    }
+    
+    @Test
+    public void testHistogramsCoverEveryGame() {
+        TournamentResult result = new Tournament(3L, 2, seed -> new Game("Alice", "Bob", seed), 2).run(20);
+        
+        long turnTotal = 0;
+        for (int turns = 0; turns < 1000; turns++) {
+            turnTotal += result.getTurnFrequency(turns);
+        }
+        assertEquals(20, turnTotal);
+        
+        long apTotal = 0;
+        for (int aps = 0; aps < 200; aps++) {
+            apTotal += result.getApFrequency(0, aps);
+        }
+        assertEquals(20, apTotal);
+        assertTrue(result.getAverageTurns() > 0);
+    }
+    
+    @Test
+    public void testRecordCountsWinsAndTies() {
+        TournamentResult result = new TournamentResult(2);
+        result.record(10, new int[] {20, 12});
+        result.record(12, new int[] {5, 30});
+        result.record(14, new int[] {18, 18});
+        
+        assertEquals(3, result.getGames());
+        assertEquals(1, result.getWins(0));
+        assertEquals(1, result.getWins(1));
+        assertEquals(1, result.getTies());
+        assertEquals(12.0, result.getAverageTurns(), 1e-9);
+        assertEquals(1, result.getApFrequency(1, 30));
+    }
+    
+    @Test
+    public void testMergeAddsStatistics() {
+        TournamentResult a = new TournamentResult(2);
+        a.record(10, new int[] {20, 12});
+        TournamentResult b = new TournamentResult(2);
+        b.record(500, new int[] {300, 12});
+        
+        a.merge(b);
+        
+        assertEquals(2, a.getGames());
+        assertEquals(2, a.getWins(0));
+        assertEquals(1, a.getTurnFrequency(500));
+        assertEquals(1, a.getApFrequency(0, 300));
+        assertEquals(2, a.getApFrequency(1, 12));
+    }
+    
+    @Test
+    public void testResultDoesNotDependOnThreadCount() {
+        TournamentResult single = new Tournament(42L, 2, seed -> new Game("Alice", "Bob", seed), 1).run(30);
+        TournamentResult multi = new Tournament(42L, 2, seed -> new Game("Alice", "Bob", seed), 4).run(30);
+        
+        assertEquals(single.getWins(0), multi.getWins(0));
+        assertEquals(single.getWins(1), multi.getWins(1));
+        assertEquals(single.getTies(), multi.getTies());
+        assertEquals(single.getAverageTurns(), multi.getAverageTurns(), 1e-9);
+    }
+    
+    @Test
+    public void testGameSeedsDiffer() {
+        assertNotEquals(Tournament.gameSeed(7L, 0), Tournament.gameSeed(7L, 1));
+        assertEquals(Tournament.gameSeed(7L, 5), Tournament.gameSeed(7L, 5));
+    }
+    
+    @Test
+    public void testMultiPlayerTournament() {
+        TournamentResult result = new Tournament(9L, 4,
+            seed -> new Game(Tournament.playerNames(4), seed), 2).run(8);
+        
+        assertEquals(4, result.getSeats());
+        long decided = result.getTies();
+        for (int seat = 0; seat < 4; seat++) {
+            decided += result.getWins(seat);
+        }
+        assertEquals(8, decided);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidThreadCount() {
+        new Tournament(4L, 2, seed -> new Game("Alice", "Bob", seed), 0);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeGameCountIsRejected() {
+        new Tournament(5L, 2, seed -> new Game("Alice", "Bob", seed), 2).run(-1);
+    }
+    
+    @Test
+    public void testOnlyPlayedGamesAreCreated() {
+        AtomicInteger created = new AtomicInteger();
+        Tournament tournament = new Tournament(6L, 2, seed -> {
+            created.incrementAndGet();
+            return new Game("Alice", "Bob", seed);
+        }, 3);
+        
+        assertEquals(0, tournament.run(0).getGames());
+        assertEquals(0, created.get());
+        tournament.run(5);
+        assertEquals(5, created.get());
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void testSeatCountMismatchIsRejected() {
+        new Tournament(7L, 3, seed -> new Game("Alice", "Bob", seed), 1).run(1);
+    }
+    
+    @Test
+    public void testSummaryMentionsSeats() {
+        TournamentResult result = new TournamentResult(2);
+        result.record(10, new int[] {20, 12});
+        String summary = result.getSummary();
+        assertTrue(summary.contains("Seat 1"));
+        assertTrue(summary.contains("Ties"));
+    }
+}
@@ -0,0 +1,181 @@
+package edu.brandeis.cosi103a.server;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Unit tests for the GameServer class and its line protocol.
+ */
+public class GameServerTest {
+    
+    private GameServer server;
+    
+    @Before
+    public void setUp() throws IOException {
+        server = new GameServer(0).start();
+    }
+    
+    @After
+    public void tearDown() throws IOException {
+        server.close();
+    }
+    
+    /**
+     * A test client speaking the line protocol.
+     */
+    private final class Client implements AutoCloseable {
+        private final Socket socket;
+        private final BufferedReader in;
+        private final PrintWriter out;
+        
+        Client() throws IOException {
+            socket = new Socket("localhost", server.getPort());
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+        }
+        
+        String call(String line) throws IOException {
+            out.println(line);
+            return in.readLine();
+        }
+        
+        String read() throws IOException {
+            return in.readLine();
+        }
+        
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+    
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue("Timed out waiting for the server", System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+    }
+    
+    @Test
+    public void testDiceGamePlayedToTheEnd() throws Exception {
+        try (Client client = new Client()) {
+            assertEquals("OK 0", client.call("DICE 42"));
+            int kept = 0;
+            String line = client.read();
+            while (!line.startsWith("0 OVER")) {
+                if (line.startsWith("0 ROLL")) {
+                    line = client.call("0 KEEP");
+                } else {
+                    assertTrue(line, line.startsWith("0 KEPT"));
+                    kept++;
+                    line = client.read();
+                }
+            }
+            assertEquals(20, kept);
+            String[] result = line.split(" ");
+            assertEquals(5, result.length);
+        }
+        waitFor(() -> server.getFinishedTableCount() == 1);
+    }
+    
+    @Test
+    public void testAutomationGamePlayedToTheEnd() throws IOException {
+        try (Client client = new Client()) {
+            assertEquals("OK 0", client.call("AUTOMATION 3 7"));
+            String line = client.read();
+            int prompts = 0;
+            while (line.startsWith("0 BUY?")) {
+                prompts++;
+                line = client.call(prompts % 2 == 0 ? "0 PASS" : "0 BUY FRAMEWORK");
+            }
+            assertTrue(line, line.startsWith("0 OVER"));
+            assertTrue(prompts > 0);
+            assertEquals(7, line.split(" ").length);
+        }
+    }
+    
+    @Test
+    public void testMalformedCommandsAreRejected() throws IOException {
+        try (Client client = new Client()) {
+            assertTrue(client.call("HELLO").startsWith("ERR"));
+            assertTrue(client.call("AUTOMATION 9").startsWith("ERR"));
+            assertTrue(client.call("5 KEEP").startsWith("ERR"));
+            
+            assertEquals("OK 0", client.call("DICE 1"));
+            assertTrue(client.read().startsWith("0 ROLL"));
+            assertEquals("0 ERR expected KEEP or REROLL", client.call("0 MAYBE"));
+        }
+    }
+    
+    @Test
+    public void testPlayerCountOutOfRangeIsRejected() throws IOException {
+        try (Client client = new Client()) {
+            assertEquals("ERR A game needs 2 to 6 players, got 0", client.call("AUTOMATION 0"));
+            assertEquals("ERR A game needs 2 to 6 players, got 7", client.call("AUTOMATION 7"));
+            assertTrue(client.call("AUTOMATION -1").startsWith("ERR"));
+            assertTrue(client.call("AUTOMATION 2000000000").startsWith("ERR"));
+            assertEquals("OK 0", client.call("AUTOMATION 2 1"));
+        }
+    }
+    
+    @Test
+    public void testTablesOnOneConnectionAreIndependent() throws IOException {
+        try (Client client = new Client()) {
+            assertEquals("OK 0", client.call("AUTOMATION 2 1"));
+            assertTrue(client.read().startsWith("0 BUY?"));
+            assertEquals("OK 1", client.call("DICE 2"));
+            assertTrue(client.read().startsWith("1 ROLL"));
+            assertEquals(2, server.getOpenTableCount());
+        }
+    }
+    
+    @Test
+    public void testDisconnectAbandonsTables() throws Exception {
+        try (Client client = new Client()) {
+            assertEquals("OK 0", client.call("DICE 3"));
+            assertTrue(client.read().startsWith("0 ROLL"));
+        }
+        waitFor(() -> server.getOpenTableCount() == 0 && server.getConnectionCount() == 0);
+        assertEquals(0, server.getFinishedTableCount());
+    }
+    
+    @Test
+    public void testServerCloseWhileOpeningTables() throws Exception {
+        try (Client client = new Client()) {
+            for (int i = 0; i < 200; i++) {
+                client.out.println("DICE " + i);
+            }
+            assertEquals("OK 0", client.read());
+            server.close();
+            waitFor(() -> server.getOpenTableCount() == 0 && server.getConnectionCount() == 0);
+        }
+    }
+    
+    @Test
+    public void testManyIdleConnections() throws Exception {
+        List<Client> clients = new ArrayList<>();
+        try {
+            for (int i = 0; i < 500; i++) {
+                clients.add(new Client());
+            }
+            waitFor(() -> server.getConnectionCount() == 500);
+            assertEquals("OK 0", clients.get(499).call("DICE 4"));
+        } finally {
+            for (Client client : clients) {
+                client.close();
+            }
+        }
+    }
+}
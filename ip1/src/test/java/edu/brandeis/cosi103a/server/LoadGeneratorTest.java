@@ -0,0 +1,39 @@
+package edu.brandeis.cosi103a.server;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.io.IOException;
+
+/**
+ * Unit tests for the LoadGenerator and LoadReport classes.
+ */
+public class LoadGeneratorTest {
+    
+    @Test
+    public void testAutomationLoad() throws IOException {
+        try (GameServer server = new GameServer(0).start()) {
+            LoadReport report = new LoadGenerator("localhost", server.getPort(), "automation", 8, 3, 50).run();
+            
+            assertEquals(24, report.getGames());
+            assertEquals(50, report.getIdleConnections());
+            assertTrue(report.getMoves() > 0);
+            assertEquals(report.getGames() + report.getMoves(), report.getLatency().getCount());
+            assertTrue(report.getSummary().contains("Turn latency"));
+        }
+    }
+    
+    @Test
+    public void testDiceLoad() throws IOException {
+        try (GameServer server = new GameServer(0).start()) {
+            LoadReport report = new LoadGenerator("localhost", server.getPort(), "dice", 4, 2, 0).run();
+            
+            assertEquals(8, report.getGames());
+            assertTrue(report.getMoves() >= 8 * 10);
+        }
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownGameRejected() {
+        new LoadGenerator("localhost", 1, "poker", 1, 1, 0);
+    }
+}